@@ -0,0 +1,11 @@
+package io.github.ckmuun.edgar4j;
+
+/**
+ * Failure of a single item of a batch, reported without failing the batch.
+ *
+ * @param identifier Ticker or CIK the item belongs to, as passed to the batch
+ * @param filing     Filing that failed to download or parse, or null if the company itself failed
+ * @param error      The cause of the failure
+ */
+public record BatchError(String identifier, CompanyFilingMetadataDto filing, Throwable error) {
+}
@@ -0,0 +1,198 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Reads the nightly EDGAR bulk archives instead of crawling one CIK at a time.
+ * <p>
+ * SEC publishes {@code submissions.zip} and {@code companyfacts.zip} under
+ * {@code /Archives/edgar/daily-index/bulkdata/}. Given a local copy, the reader walks the
+ * archive entry by entry and parses the entries in parallel, each with the same streaming
+ * parser used by {@link FilingService#getCompanyFilings(String)}. At most {@code parallelism}
+ * entries are decompressed and parsed at the same time, so memory use is bounded by a few
+ * entries regardless of the archive size.
+ */
+@Slf4j
+public class BulkArchiveReader {
+
+    private static final Pattern SUBMISSIONS_ENTRY = Pattern.compile("CIK(\\d{10})(-submissions-\\d+)?\\.json");
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final int parallelism;
+    private final Scheduler scheduler;
+
+    /**
+     * Creates a new BulkArchiveReader parsing one entry per available processor.
+     */
+    public BulkArchiveReader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new BulkArchiveReader.
+     *
+     * @param parallelism Maximum number of archive entries parsed at the same time
+     */
+    public BulkArchiveReader(int parallelism) {
+        this(parallelism, Schedulers.boundedElastic());
+    }
+
+    BulkArchiveReader(int parallelism, Scheduler scheduler) {
+        this.parallelism = parallelism;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Reads all filings from a local copy of {@code submissions.zip}.
+     * The archive contains a {@code CIK##########.json} file per company plus
+     * {@code CIK##########-submissions-###.json} pages with older filings. Filings from
+     * pages carry the CIK taken from the file name, but no company name.
+     * Filings of different companies are emitted in no particular order.
+     *
+     * @param archive Path to the local submissions.zip
+     * @return Flux of CompanyFilingMetadataDto objects for every filing in the archive
+     */
+    public Flux<CompanyFilingMetadataDto> readSubmissionsArchive(Path archive) {
+        return readArchive(archive, this::parseSubmissionsEntry);
+    }
+
+    /**
+     * Reads the filings referenced by the XBRL facts in a local copy of {@code companyfacts.zip}.
+     * Every fact names the accession number, form and filing date it was reported in; each
+     * distinct accession number of a company is emitted once, newest first per company.
+     *
+     * @param archive Path to the local companyfacts.zip
+     * @return Flux of CompanyFilingMetadataDto objects with cik, name, accession number, form and filing date
+     */
+    public Flux<CompanyFilingMetadataDto> readCompanyFactsArchive(Path archive) {
+        return readArchive(archive, this::parseCompanyFactsEntry);
+    }
+
+    private Flux<CompanyFilingMetadataDto> readArchive(Path archive, EntryParser entryParser) {
+        return Flux.using(
+                () -> new ZipFile(archive.toFile()),
+                zip -> Flux.fromStream(zip::stream)
+                        .filter(entry -> !entry.isDirectory() && entry.getName().endsWith(".json"))
+                        .flatMap(entry -> Mono.fromCallable(() -> parseEntry(zip, entry, entryParser))
+                                .subscribeOn(scheduler), parallelism, 1)
+                        .concatMapIterable(rows -> rows, 1),
+                zip -> {
+                    try {
+                        zip.close();
+                    } catch (IOException ioe) {
+                        log.warn("Failed to close archive {}: {}", archive, ioe.getMessage());
+                    }
+                });
+    }
+
+    private List<CompanyFilingMetadataDto> parseEntry(ZipFile zip, ZipEntry entry, EntryParser entryParser) {
+        try (InputStream in = zip.getInputStream(entry)) {
+            return entryParser.parse(entry.getName(), in);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to read archive entry " + entry.getName(), ioe);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to parse archive entry " + entry.getName(), e);
+        }
+    }
+
+    protected List<CompanyFilingMetadataDto> parseSubmissionsEntry(String entryName, InputStream in) throws IOException {
+        Matcher matcher = SUBMISSIONS_ENTRY.matcher(Path.of(entryName).getFileName().toString());
+        if (!matcher.matches()) {
+            log.debug("Skipping unexpected entry {}", entryName);
+            return List.of();
+        }
+        boolean page = matcher.group(2) != null;
+        var parser = page
+                ? SubmissionsParser.forPage(FilingService.removeLeadingZeroesFromCik(matcher.group(1)), null)
+                : SubmissionsParser.forSubmissions();
+        return parser.parse(in);
+    }
+
+    /*
+        The company facts are nested as facts.{taxonomy}.{concept}.units.{unit}[],
+        where every element of the unit array is one reported value with the
+        accession number (accn), form and filing date (filed) it came from.
+     */
+    protected List<CompanyFilingMetadataDto> parseCompanyFactsEntry(String entryName, InputStream in) throws IOException {
+        String cik = null;
+        String name = null;
+        Map<String, CompanyFilingMetadataDto> filings = new LinkedHashMap<>();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            int depth = 0;
+            String field = null;
+            String accn = null, form = null, filed = null;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> depth++;
+                    case END_OBJECT, END_ARRAY -> {
+                        if (depth == 7 && token == JsonToken.END_OBJECT && accn != null) {
+                            filings.putIfAbsent(accn, CompanyFilingMetadataDto.builder()
+                                    .accessionNumber(accn).form(form).filingDate(filed).build());
+                            accn = form = filed = null;
+                        }
+                        depth--;
+                    }
+                    case FIELD_NAME -> field = parser.currentName();
+                    default -> {
+                        if (depth == 1 && "cik".equals(field)) {
+                            cik = parser.getText();
+                        } else if (depth == 1 && "entityName".equals(field)) {
+                            name = parser.getText();
+                        } else if (depth == 7) {
+                            switch (field) {
+                                case "accn" -> accn = parser.getText();
+                                case "form" -> form = parser.getText();
+                                case "filed" -> filed = parser.getText();
+                                default -> {
+                                    // values and periods are not needed for the filing list
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<CompanyFilingMetadataDto> result = new ArrayList<>(filings.size());
+        for (CompanyFilingMetadataDto filing : filings.values()) {
+            result.add(CompanyFilingMetadataDto.builder()
+                    .cik(cik)
+                    .name(name)
+                    .accessionNumber(filing.accessionNumber())
+                    .form(filing.form())
+                    .filingDate(filing.filingDate())
+                    .build());
+        }
+        result.sort(Comparator.comparing(CompanyFilingMetadataDto::filingDate,
+                Comparator.nullsLast(Comparator.reverseOrder())));
+        return result;
+    }
+
+    @FunctionalInterface
+    interface EntryParser {
+        List<CompanyFilingMetadataDto> parse(String entryName, InputStream in) throws IOException;
+    }
+}
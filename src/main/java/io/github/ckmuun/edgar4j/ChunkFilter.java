@@ -0,0 +1,21 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.Builder;
+
+/**
+ * Restricts a {@link ChunkIndex} search to chunks with the given metadata.
+ * Fields left null match every chunk.
+ *
+ * @param cik         Company CIK, with or without leading zeroes
+ * @param form        Form type, e.g. "10-K"
+ * @param itemTitle   Item title exactly as extracted, e.g. "Item 1A. Risk Factors"
+ * @param filingDates Range of filing dates
+ */
+@Builder
+public record ChunkFilter(String cik, String form, String itemTitle, DateRange filingDates) {
+
+    /**
+     * Filter matching every chunk.
+     */
+    public static final ChunkFilter ALL = new ChunkFilter(null, null, null, null);
+}
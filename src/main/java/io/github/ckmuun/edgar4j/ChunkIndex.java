@@ -0,0 +1,298 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory full-text index over parsed {@link DocumentChunk}s for phrase searches such as
+ * "going concern" or "material weakness" across many filings.
+ * <p>
+ * Added chunks are buffered and sealed into an immutable segment once {@code segmentSize} chunks
+ * have been added or {@link #flush()} is called; only sealed chunks are searchable. Each segment
+ * holds delta and varint compressed postings with term positions, so phrase queries only look at
+ * chunks containing all terms, plus int columns of the chunk metadata that searches can filter on.
+ * Whenever there are more than {@code mergeFactor} segments, the smallest ones are merged into one
+ * on a background thread, which keeps the number of segments a query has to visit small.
+ * <p>
+ * Terms are the lower-cased runs of letters and digits of the chunk content, so phrases match
+ * regardless of case, punctuation and line breaks. Adding chunks is synchronized; searches run
+ * concurrently on the segments sealed at the time of the call.
+ */
+@Slf4j
+public class ChunkIndex implements AutoCloseable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 10_000;
+    public static final int DEFAULT_MERGE_FACTOR = 8;
+
+    private final int segmentSize;
+    private final int mergeFactor;
+    private final Scheduler merger = Schedulers.newSingle("edgar4j-index-merge", true);
+    private final Object mergeLock = new Object();
+
+    private IndexSegment.Builder buffer = new IndexSegment.Builder();
+    private volatile List<IndexSegment> segments = List.of();
+    private boolean merging;
+
+    /**
+     * Creates an index with {@value #DEFAULT_SEGMENT_SIZE} chunks per segment and a merge factor of
+     * {@value #DEFAULT_MERGE_FACTOR}.
+     */
+    public ChunkIndex() {
+        this(DEFAULT_SEGMENT_SIZE, DEFAULT_MERGE_FACTOR);
+    }
+
+    /**
+     * Creates an index.
+     *
+     * @param segmentSize Number of added chunks after which they are sealed into a searchable segment
+     * @param mergeFactor Number of segments above which the smallest ones are merged in the background
+     */
+    public ChunkIndex(int segmentSize, int mergeFactor) {
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("segmentSize must be positive: " + segmentSize);
+        }
+        if (mergeFactor < 2) {
+            throw new IllegalArgumentException("mergeFactor must be at least 2: " + mergeFactor);
+        }
+        this.segmentSize = segmentSize;
+        this.mergeFactor = mergeFactor;
+    }
+
+    /**
+     * Adds the form item chunks of a parsed document. The XBRL header is not indexed.
+     */
+    public void add(Document document) {
+        addAll(document.chunks());
+    }
+
+    /**
+     * Adds the form item chunks of parsed documents.
+     */
+    public void addDocuments(Collection<Document> documents) {
+        for (Document document : documents) {
+            add(document);
+        }
+    }
+
+    /**
+     * Adds chunks. Their metadata fields cik, form, itemTitle and filingDate can be filtered on.
+     */
+    public synchronized void addAll(Collection<DocumentChunk> chunks) {
+        for (DocumentChunk chunk : chunks) {
+            add(chunk);
+        }
+    }
+
+    /**
+     * Adds a chunk. Its metadata fields cik, form, itemTitle and filingDate can be filtered on.
+     */
+    public synchronized void add(DocumentChunk chunk) {
+        buffer.add(chunk);
+        if (buffer.size() >= segmentSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Seals the chunks added since the last flush into a segment, making them searchable.
+     */
+    public synchronized void flush() {
+        if (buffer.size() == 0) {
+            return;
+        }
+        IndexSegment segment = buffer.build();
+        buffer = new IndexSegment.Builder();
+        List<IndexSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        segments = List.copyOf(updated);
+        if (!merging && segments.size() > mergeFactor) {
+            merging = true;
+            merger.schedule(this::mergeInBackground);
+        }
+    }
+
+    /**
+     * Flushes and merges all segments into one, e.g. once a bulk load is complete.
+     * Blocks until the merge is done.
+     */
+    public void forceMerge() {
+        flush();
+        synchronized (mergeLock) {
+            List<IndexSegment> all = segments;
+            if (all.size() > 1) {
+                replace(all, IndexSegment.merge(all));
+            }
+        }
+    }
+
+    /**
+     * Number of searchable chunks.
+     */
+    public int size() {
+        return segments.stream().mapToInt(IndexSegment::size).sum();
+    }
+
+    /**
+     * Number of segments a search currently visits.
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Finds all chunks containing a phrase.
+     *
+     * @param phrase One or more words, matched as consecutive terms
+     * @return The matching chunks
+     */
+    public List<SearchHit> search(String phrase) {
+        return search(phrase, ChunkFilter.ALL);
+    }
+
+    /**
+     * Finds all chunks containing a phrase whose metadata match a filter.
+     *
+     * @param phrase One or more words, matched as consecutive terms
+     * @param filter Restrictions on the chunk metadata
+     * @return The matching chunks
+     */
+    public List<SearchHit> search(String phrase, ChunkFilter filter) {
+        List<String> terms = IndexSegment.tokenize(phrase);
+        List<SearchHit> hits = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return hits;
+        }
+        for (IndexSegment segment : segments) {
+            search(segment, terms, filter, hits);
+        }
+        return hits;
+    }
+
+    @Override
+    public void close() {
+        merger.dispose();
+    }
+
+    private static void search(IndexSegment segment, List<String> terms, ChunkFilter filter, List<SearchHit> hits) {
+        IntPredicate accepted = segment.filter(filter);
+        if (accepted == null) {
+            return;
+        }
+        IndexSegment.Postings[] postings = new IndexSegment.Postings[terms.size()];
+        int lead = 0;
+        for (int t = 0; t < postings.length; t++) {
+            postings[t] = segment.postings(terms.get(t));
+            if (postings[t] == null) {
+                return;
+            }
+            if (postings[t].docFreq() < postings[lead].docFreq()) {
+                lead = t;
+            }
+        }
+
+        // walk the rarest term and skip the other terms to its chunks
+        int doc;
+        candidates:
+        while ((doc = postings[lead].nextDoc()) != Integer.MAX_VALUE) {
+            for (int t = 0; t < postings.length; t++) {
+                int other = postings[t].advance(doc);
+                if (other == Integer.MAX_VALUE) {
+                    return;
+                }
+                if (other != doc) {
+                    continue candidates;
+                }
+            }
+            if (!accepted.test(doc)) {
+                continue;
+            }
+            int occurrences = phraseOccurrences(postings);
+            if (occurrences > 0) {
+                hits.add(new SearchHit(segment.chunk(doc), occurrences));
+            }
+        }
+    }
+
+    /**
+     * Counts the positions of the first term that are followed by all other terms in order.
+     */
+    private static int phraseOccurrences(IndexSegment.Postings[] postings) {
+        int[] first = postings[0].positions();
+        int count = 0;
+        occurrences:
+        for (int i = 0; i < postings[0].freq(); i++) {
+            for (int t = 1; t < postings.length; t++) {
+                if (Arrays.binarySearch(postings[t].positions(), 0, postings[t].freq(), first[i] + t) < 0) {
+                    continue occurrences;
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private void mergeInBackground() {
+        try {
+            while (true) {
+                synchronized (mergeLock) {
+                    List<IndexSegment> smallest;
+                    synchronized (this) {
+                        // decided under the index lock, so a concurrent flush either sees merging or schedules anew
+                        if (segments.size() <= mergeFactor) {
+                            merging = false;
+                            return;
+                        }
+                        smallest = smallestSegments(segments, mergeFactor);
+                    }
+                    replace(smallest, IndexSegment.merge(smallest));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to merge index segments: {}", e.toString());
+            synchronized (this) {
+                merging = false;
+            }
+        }
+    }
+
+    /**
+     * The given number of smallest segments, in index order.
+     */
+    private static List<IndexSegment> smallestSegments(List<IndexSegment> segments, int count) {
+        return IntStream.range(0, segments.size())
+                .boxed()
+                .sorted(Comparator.comparingInt(i -> segments.get(i).size()))
+                .limit(count)
+                .sorted()
+                .map(segments::get)
+                .toList();
+    }
+
+    /**
+     * Replaces merged segments by their merge, at the position of the first of them.
+     */
+    private synchronized void replace(List<IndexSegment> merged, IndexSegment replacement) {
+        List<IndexSegment> updated = new ArrayList<>(segments.size());
+        boolean inserted = false;
+        for (IndexSegment segment : segments) {
+            if (merged.stream().anyMatch(m -> m == segment)) {
+                if (!inserted) {
+                    updated.add(replacement);
+                    inserted = true;
+                }
+            } else {
+                updated.add(segment);
+            }
+        }
+        segments = List.copyOf(updated);
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.ckmuun.edgar4j;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The XBRL facts of one company from the SEC company facts API
+ * ({@code /api/xbrl/companyfacts/CIK##########.json}), grouped into one {@link FactSeries}
+ * per concept and unit.
+ * <pre>{@code
+ * FactSeries revenues = companyFacts.series("us-gaap:Revenues", "USD");
+ * for (int i = 0; i < revenues.size(); i++) {
+ *     if ("FY".equals(revenues.fiscalPeriod(i)) && revenues.frame(i) != null) {
+ *         System.out.println(revenues.periodEndDate(i) + " " + revenues.value(i));
+ *     }
+ * }
+ * }</pre>
+ */
+public final class CompanyFacts {
+
+    private final String cik;
+    private final String entityName;
+    private final Map<String, Map<String, FactSeries>> series;
+    private final Dictionaries dictionaries;
+
+    CompanyFacts(String cik, String entityName, Map<String, Map<String, FactSeries>> series, Dictionaries dictionaries) {
+        this.cik = cik;
+        this.entityName = entityName;
+        this.series = series;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Company CIK without leading zeroes.
+     */
+    public String cik() {
+        return cik;
+    }
+
+    public String entityName() {
+        return entityName;
+    }
+
+    /**
+     * Names of all concepts the company reported, including their taxonomy, e.g. {@code us-gaap:Revenues}.
+     */
+    public Set<String> concepts() {
+        return series.keySet();
+    }
+
+    /**
+     * Values of a concept in one unit.
+     *
+     * @param concept Concept name including its taxonomy, e.g. {@code us-gaap:Revenues}
+     * @param unit    Unit, e.g. {@code USD}
+     * @return The series, or null if the company did not report the concept in that unit
+     */
+    public FactSeries series(String concept, String unit) {
+        Map<String, FactSeries> byUnit = series.get(concept);
+        return byUnit == null ? null : byUnit.get(unit);
+    }
+
+    /**
+     * Values of a concept by unit. Most concepts are reported in a single unit.
+     *
+     * @param concept Concept name including its taxonomy, e.g. {@code us-gaap:Revenues}
+     * @return Map from unit to series, empty if the company did not report the concept
+     */
+    public Map<String, FactSeries> series(String concept) {
+        return series.getOrDefault(concept, Map.of());
+    }
+
+    /**
+     * All series of the company.
+     */
+    public Collection<FactSeries> allSeries() {
+        List<FactSeries> all = new ArrayList<>();
+        series.values().forEach(byUnit -> all.addAll(byUnit.values()));
+        return all;
+    }
+
+    /**
+     * Total number of values over all series.
+     */
+    public int factCount() {
+        int count = 0;
+        for (Map<String, FactSeries> byUnit : series.values()) {
+            for (FactSeries factSeries : byUnit.values()) {
+                count += factSeries.size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Accession numbers of the filings the facts were reported in.
+     */
+    public StringDictionary accessions() {
+        return dictionaries.accessions();
+    }
+
+    /**
+     * Forms of the filings the facts were reported in.
+     */
+    public StringDictionary forms() {
+        return dictionaries.forms();
+    }
+
+    @Override
+    public String toString() {
+        return "CompanyFacts[" + cik + " " + entityName + ", " + series.size() + " concepts]";
+    }
+
+    /**
+     * Dictionaries shared by all series of a company.
+     */
+    record Dictionaries(StringDictionary accessions, StringDictionary forms,
+                        StringDictionary fiscalPeriods, StringDictionary frames) {
+
+        Dictionaries() {
+            this(new StringDictionary(), new StringDictionary(), new StringDictionary(), new StringDictionary());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremental parser for the SEC company facts JSON ({@code /api/xbrl/companyfacts/CIK##########.json}).
+ * <p>
+ * The facts are nested as {@code facts.{taxonomy}.{concept}.units.{unit}[]}, where every element
+ * of a unit array is one reported value. Like {@link SubmissionsParser}, the response is fed chunk
+ * by chunk into Jackson's non-blocking parser and each value is appended to the primitive columns
+ * of its {@link FactSeries} as soon as its object is complete, so the tens of MB of JSON of a large
+ * filer are never held as a String or tree. Dates are converted to epoch days straight from the
+ * parser's character buffer.
+ * <p>
+ * A parser instance holds the state of a single response and is not thread-safe.
+ */
+final class CompanyFactsParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_DEPTH = 8;
+    // depth of the unit arrays and of the value objects in facts.{taxonomy}.{concept}.units.{unit}[]
+    private static final int SERIES_DEPTH = 6;
+    private static final int VALUE_DEPTH = 7;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private final String[] path = new String[MAX_DEPTH];
+    private int depth;
+
+    private String cik;
+    private String entityName;
+    private final CompanyFacts.Dictionaries dictionaries = new CompanyFacts.Dictionaries();
+    private final Map<String, Map<String, FactSeries>> series = new HashMap<>();
+    private FactSeries currentSeries;
+
+    // fields of the value being parsed
+    private int start = FactSeries.NO_DATE;
+    private int end = FactSeries.NO_DATE;
+    private double value = Double.NaN;
+    private int accession = StringDictionary.NOT_FOUND;
+    private int form = StringDictionary.NOT_FOUND;
+    private int filed = FactSeries.NO_DATE;
+    private int fiscalYear = FactSeries.NO_FISCAL_YEAR;
+    private int fiscalPeriod = StringDictionary.NOT_FOUND;
+    private int frame = StringDictionary.NOT_FOUND;
+
+    CompanyFactsParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", ioe);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses a complete response body.
+     */
+    CompanyFacts parse(byte[] body) {
+        feed(ByteBuffer.wrap(body));
+        return endOfInput();
+    }
+
+    /**
+     * Parses a response body streamed as DataBuffers. Each buffer is released as soon as its
+     * tokens have been consumed.
+     */
+    Mono<CompanyFacts> parse(Flux<DataBuffer> body) {
+        return body
+                .map(this::feed)
+                .then(Mono.fromCallable(this::endOfInput))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Feeds one DataBuffer into the parser and releases it.
+     *
+     * @return the number of bytes fed
+     */
+    int feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            int fed = 0;
+            while (iterator.hasNext()) {
+                ByteBuffer chunk = iterator.next();
+                fed += chunk.remaining();
+                feed(chunk);
+            }
+            return fed;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private void feed(ByteBuffer chunk) {
+        try {
+            feeder.feedInput(chunk);
+            drain();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC company facts response", ioe);
+        }
+    }
+
+    /**
+     * Signals that the whole response body has been fed.
+     *
+     * @return the facts of the company
+     */
+    CompanyFacts endOfInput() {
+        try {
+            feeder.endOfInput();
+            drain();
+            parser.close();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC company facts response", ioe);
+        }
+        return new CompanyFacts(cik, entityName, series, dictionaries);
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth < MAX_DEPTH) path[depth] = null;
+                    if (token == JsonToken.START_ARRAY && isSeries()) {
+                        startSeries();
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (token == JsonToken.END_OBJECT && depth == VALUE_DEPTH && currentSeries != null) {
+                        endValue();
+                    } else if (token == JsonToken.END_ARRAY && depth == SERIES_DEPTH && currentSeries != null) {
+                        currentSeries.trimToSize();
+                        currentSeries = null;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth < MAX_DEPTH) path[depth] = parser.currentName();
+                }
+                default -> onScalar(token);
+            }
+        }
+    }
+
+    private void onScalar(JsonToken token) throws IOException {
+        if (depth == VALUE_DEPTH && currentSeries != null) {
+            boolean isNull = token == JsonToken.VALUE_NULL;
+            switch (path[VALUE_DEPTH]) {
+                case "start" -> start = isNull ? FactSeries.NO_DATE : epochDay();
+                case "end" -> end = isNull ? FactSeries.NO_DATE : epochDay();
+                case "val" -> value = token.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+                case "accn" -> accession = intern(dictionaries.accessions(), isNull);
+                case "form" -> form = intern(dictionaries.forms(), isNull);
+                case "filed" -> filed = isNull ? FactSeries.NO_DATE : epochDay();
+                case "fy" -> fiscalYear = fiscalYear(token);
+                case "fp" -> fiscalPeriod = intern(dictionaries.fiscalPeriods(), isNull);
+                case "frame" -> frame = intern(dictionaries.frames(), isNull);
+                default -> {
+                    // unknown value attribute
+                }
+            }
+        } else if (depth == 1 && path[1] != null) {
+            switch (path[1]) {
+                case "cik" -> cik = parser.getText();
+                case "entityName" -> entityName = parser.getText();
+                default -> {
+                    // other company level fields are not mapped
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the array just started is the array of values of one concept in one unit.
+     */
+    private boolean isSeries() {
+        return depth == SERIES_DEPTH && "facts".equals(path[1]) && "units".equals(path[4]);
+    }
+
+    private void startSeries() {
+        String concept = path[2] + ":" + path[3];
+        String unit = path[5];
+        currentSeries = new FactSeries(concept, unit, dictionaries);
+        series.computeIfAbsent(concept, c -> new HashMap<>(2)).put(unit, currentSeries);
+    }
+
+    private void endValue() {
+        if (!Double.isNaN(value)) {
+            currentSeries.add(start, end, value, accession, form, filed, fiscalYear, fiscalPeriod, frame);
+        }
+        start = end = filed = FactSeries.NO_DATE;
+        value = Double.NaN;
+        accession = form = fiscalPeriod = frame = StringDictionary.NOT_FOUND;
+        fiscalYear = FactSeries.NO_FISCAL_YEAR;
+    }
+
+    /**
+     * Reads a fiscal year, treating anything but a number that fits the fiscal year column as missing.
+     */
+    private int fiscalYear(JsonToken token) throws IOException {
+        if (token != JsonToken.VALUE_NUMBER_INT || parser.getNumberType() != JsonParser.NumberType.INT) {
+            return FactSeries.NO_FISCAL_YEAR;
+        }
+        int year = parser.getIntValue();
+        return year < Short.MIN_VALUE || year > Short.MAX_VALUE ? FactSeries.NO_FISCAL_YEAR : year;
+    }
+
+    private int intern(StringDictionary dictionary, boolean isNull) throws IOException {
+        return isNull ? StringDictionary.NOT_FOUND : dictionary.intern(parser.getText());
+    }
+
+    /**
+     * Converts the current {@code yyyy-MM-dd} string token to an epoch day without creating a String.
+     */
+    private int epochDay() throws IOException {
+        return epochDay(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    static int epochDay(char[] chars, int offset, int length) {
+        if (length != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return FactSeries.NO_DATE;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return FactSeries.NO_DATE;
+        }
+        try {
+            return (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return FactSeries.NO_DATE;
+        }
+    }
+
+    private static int digits(char[] chars, int offset, int count) {
+        int result = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+}
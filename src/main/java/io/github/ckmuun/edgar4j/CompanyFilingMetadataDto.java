@@ -6,7 +6,7 @@ import lombok.Builder;
 /**
  * Data transfer object representing metadata for a company filing from SEC.
  */
-@Builder
+@Builder(toBuilder = true)
 public record CompanyFilingMetadataDto(
         String cik,
         String name,
@@ -0,0 +1,62 @@
+package io.github.ckmuun.edgar4j;
+
+import java.time.LocalDate;
+
+/**
+ * Inclusive range of filing dates. A null bound leaves that side of the range open.
+ *
+ * @param from First filing date included, or null for no lower bound
+ * @param to   Last filing date included, or null for no upper bound
+ */
+public record DateRange(LocalDate from, LocalDate to) {
+
+    /**
+     * Range without bounds, matching every filing.
+     */
+    public static final DateRange ALL = new DateRange(null, null);
+
+    public DateRange {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("from %s is after to %s".formatted(from, to));
+        }
+    }
+
+    /**
+     * Range of all filings on or after the given date.
+     */
+    public static DateRange since(LocalDate from) {
+        return new DateRange(from, null);
+    }
+
+    /**
+     * Range of all filings between the given dates, both included.
+     */
+    public static DateRange between(LocalDate from, LocalDate to) {
+        return new DateRange(from, to);
+    }
+
+    /**
+     * Whether the given date lies within the range.
+     *
+     * @param date ISO date as used by SEC, e.g. 2024-11-01
+     * @return false if the date is null and the range is bounded
+     */
+    public boolean contains(String date) {
+        if (from == null && to == null) {
+            return true;
+        }
+        if (date == null) {
+            return false;
+        }
+        // ISO dates compare correctly as strings, which saves parsing every filing date
+        return (from == null || date.compareTo(from.toString()) >= 0)
+                && (to == null || date.compareTo(to.toString()) <= 0);
+    }
+
+    /**
+     * Whether the given date lies before the start of the range.
+     */
+    boolean isBefore(String date) {
+        return from != null && date != null && date.compareTo(from.toString()) < 0;
+    }
+}
@@ -9,18 +9,33 @@ import java.util.stream.Collectors;
 
 /**
  * Represents a logical document extracted from an Edgar filing.
- * A document consists of one or more content chunks and associated metadata.
+ * A document consists of one or more content chunks, associated metadata and
+ * the numeric XBRL facts of the filing.
  */
 @Getter
-public record Document(DocumentChunk xbrlHeader, List<DocumentChunk> chunks, Map<String, Object> metadata) {
+public record Document(DocumentChunk xbrlHeader, List<DocumentChunk> chunks, Map<String, Object> metadata,
+                       XbrlFactTable facts) {
     /**
-     * Creates a new Document with the given chunks and metadata.
+     * Creates a new Document with the given chunks and metadata and no XBRL facts.
      *
      * @param chunks   the list of content chunks
      * @param metadata the metadata for the document
      */
     public Document(DocumentChunk xbrlHeader, List<DocumentChunk> chunks, Map<String, Object> metadata) {
+        this(xbrlHeader, chunks, metadata, null);
+    }
+
+    /**
+     * Creates a new Document with the given chunks, metadata and XBRL facts.
+     *
+     * @param chunks   the list of content chunks
+     * @param metadata the metadata for the document
+     * @param facts    the numeric XBRL facts, null for none
+     */
+    public Document(DocumentChunk xbrlHeader, List<DocumentChunk> chunks, Map<String, Object> metadata,
+                    XbrlFactTable facts) {
         this.xbrlHeader = xbrlHeader;
+        this.facts = facts == null ? new XbrlFactTable() : facts;
         if (chunks == null) {
             this.chunks = List.of();
         } else {
@@ -33,6 +48,11 @@ public record Document(DocumentChunk xbrlHeader, List<DocumentChunk> chunks, Map
             this.metadata = Map.of();
             return;
         }
+        if (metadata instanceof FilingMetadata filing) {
+            // immutable and shared with the chunks, no copy needed
+            this.metadata = filing;
+            return;
+        }
         // Filter out null keys/values which Map.copyOf() doesn't support
         this.metadata = metadata.entrySet().stream()
                 .filter(entry -> entry.getKey() != null && entry.getValue() != null)
@@ -2,24 +2,38 @@ package io.github.ckmuun.edgar4j;
 
 import lombok.Getter;
 
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * Represents a chunk of content extracted from an Edgar document.
+ * <p>
+ * Chunks of a parsed filing reference the filing's shared {@link FilingMetadata} and only hold
+ * their own document type, item index and item title. {@link #getMetadata()} combines both
+ * into a read-only map view.
  */
 @Getter
 public class DocumentChunk {
+
+    public static final String FORM_ITEM = "FORM_ITEM";
+    public static final String XBRL_HEADER = "XBRL_HEADER";
+    public static final int NO_ITEM = -1;
+
     private final String content;
-    private final Map<String, Object> metadata;
+    private final FilingMetadata filing;
+    private final String documentType;
+    private final int itemIndex;
+    private final String itemTitle;
 
     /**
      * Creates a new DocumentChunk with the given content.
      * Metadata defaults to an empty, unmodifiable map.
      */
     public DocumentChunk(String content) {
-        this.content = content;
-        this.metadata = Map.of();
+        this(content, FilingMetadata.EMPTY, null, NO_ITEM, null);
     }
 
     /**
@@ -27,13 +41,76 @@ public class DocumentChunk {
      * Null metadata will be treated as an empty map. Null keys/values are filtered out.
      */
     public DocumentChunk(String content, Map<String, Object> metadata) {
+        this(content, FilingMetadata.of(metadata), null, NO_ITEM, null);
+    }
+
+    /**
+     * Creates a new DocumentChunk of a filing.
+     *
+     * @param content      the text or html of the chunk
+     * @param filing       the metadata shared by all chunks of the filing
+     * @param documentType {@link #FORM_ITEM}, {@link #XBRL_HEADER} or null
+     * @param itemIndex    index of the form item, {@link #NO_ITEM} for none
+     * @param itemTitle    title of the form item, or null
+     */
+    public DocumentChunk(String content, FilingMetadata filing, String documentType, int itemIndex, String itemTitle) {
         this.content = content;
-        if (metadata == null) {
-            this.metadata = Map.of();
-        } else {
-            this.metadata = metadata.entrySet().stream()
-                    .filter(e -> e.getKey() != null && e.getValue() != null)
-                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        this.filing = filing == null ? FilingMetadata.EMPTY : filing;
+        this.documentType = documentType;
+        this.itemIndex = itemIndex;
+        this.itemTitle = itemTitle;
+    }
+
+    /**
+     * The filing metadata together with documentType, itemIndex and itemTitle, where set.
+     * The map is an unmodifiable view and is not copied.
+     */
+    public Map<String, Object> getMetadata() {
+        if (documentType == null && itemIndex == NO_ITEM && itemTitle == null) {
+            return filing;
+        }
+        return new ChunkMetadata(this);
+    }
+
+    private static final class ChunkMetadata extends AbstractMap<String, Object> {
+
+        private final DocumentChunk chunk;
+
+        private ChunkMetadata(DocumentChunk chunk) {
+            this.chunk = chunk;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object own = own(key);
+            return own != null ? own : chunk.filing.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return own(key) != null || chunk.filing.containsKey(key);
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            // only built when the whole map is iterated or compared
+            Map<String, Object> all = new LinkedHashMap<>(chunk.filing);
+            if (chunk.documentType != null) all.put("documentType", chunk.documentType);
+            if (chunk.itemIndex != NO_ITEM) all.put("itemIndex", chunk.itemIndex);
+            if (chunk.itemTitle != null) all.put("itemTitle", chunk.itemTitle);
+            return Collections.unmodifiableMap(all).entrySet();
+        }
+
+        private Object own(Object key) {
+            if (!(key instanceof String name)) {
+                return null;
+            }
+            return switch (name) {
+                case "documentType" -> chunk.documentType;
+                case "itemIndex" -> chunk.itemIndex == NO_ITEM ? null : chunk.itemIndex;
+                case "itemTitle" -> chunk.itemTitle;
+                default -> null;
+            };
         }
     }
 }
@@ -0,0 +1,235 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Blocking facade over {@link EdgarService} and {@link FilingService} for callers that do not
+ * use Reactor, e.g. servlet or batch code.
+ * <p>
+ * Every call waits for its result on a virtual thread instead of blocking a platform thread
+ * inside the reactive pipeline. The bulk methods start one virtual thread per item, so thousands
+ * of lookups can be in flight at the same time. All calls of a client, single and bulk, share
+ * one concurrency limit; calls beyond the limit wait on their virtual thread for a free slot.
+ * SEC requests are additionally throttled by the WebClient's {@link SecRateLimiter}.
+ */
+@Slf4j
+public class EdgarClient implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_CONCURRENT_CALLS = 256;
+
+    private final EdgarService edgarService;
+    private final FilingService filingService;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+
+    /**
+     * Creates a new EdgarClient with default services using the provided user agent.
+     *
+     * @param userAgent User agent to use for SEC API requests (should be a real email for production)
+     */
+    public EdgarClient(String userAgent) {
+        this(new FilingService(userAgent), DEFAULT_MAX_CONCURRENT_CALLS);
+    }
+
+    /**
+     * Creates a new EdgarClient on top of the given FilingService.
+     *
+     * @param filingService      Service for downloading SEC data
+     * @param maxConcurrentCalls Maximum number of calls running at the same time
+     */
+    public EdgarClient(FilingService filingService, int maxConcurrentCalls) {
+        this(new EdgarService(filingService, new ParsingService()), filingService, maxConcurrentCalls);
+    }
+
+    /**
+     * Creates a new EdgarClient on top of the given services.
+     *
+     * @param edgarService       Service for loading and parsing filings
+     * @param filingService      Service for downloading SEC data, should be the one used by edgarService
+     * @param maxConcurrentCalls Maximum number of calls running at the same time
+     */
+    public EdgarClient(EdgarService edgarService, FilingService filingService, int maxConcurrentCalls) {
+        if (maxConcurrentCalls <= 0) {
+            throw new IllegalArgumentException("maxConcurrentCalls must be positive: " + maxConcurrentCalls);
+        }
+        this.edgarService = edgarService;
+        this.filingService = filingService;
+        this.permits = new Semaphore(maxConcurrentCalls);
+    }
+
+    /**
+     * Get all available company tickers.
+     *
+     * @return List of CompanyTickerDto objects
+     */
+    public List<CompanyTickerDto> getTickers() {
+        return call(() -> edgarService.getTickers().collectList().block());
+    }
+
+    /**
+     * Looks up a single company by its ticker symbol, ignoring case.
+     *
+     * @param ticker The stock ticker symbol (e.g., "AAPL")
+     * @return The matching CompanyTickerDto, or empty if the ticker is unknown
+     */
+    public Optional<CompanyTickerDto> getCompanyTicker(String ticker) {
+        return call(() -> filingService.getCompanyTicker(ticker).blockOptional());
+    }
+
+    /**
+     * Get all filings for a specific company.
+     *
+     * @param tickerOrCik The stock ticker symbol or the company's CIK
+     * @return List of CompanyFilingMetadataDto objects, newest first
+     */
+    public List<CompanyFilingMetadataDto> getFilings(String tickerOrCik) {
+        return call(() -> filings(tickerOrCik));
+    }
+
+    /**
+     * Download and parse the latest 10-K filing for a given ticker symbol.
+     *
+     * @param ticker The stock ticker symbol (e.g., "AAPL")
+     * @return The parsed Document
+     */
+    public Document loadLatest10K(String ticker) {
+        return call(() -> edgarService.loadLatest10KForTicker(ticker).block());
+    }
+
+    /**
+     * Download and parse any filing by its metadata.
+     *
+     * @param metadata The filing metadata
+     * @return The parsed Document
+     */
+    public Document downloadAndParseFiling(CompanyFilingMetadataDto metadata) {
+        return call(() -> edgarService.downloadAndParseFiling(metadata).block());
+    }
+
+    /**
+     * Looks up many companies by their ticker symbols at once.
+     *
+     * @param tickers The stock ticker symbols
+     * @return Map from ticker to CompanyTickerDto in the order of the given tickers, without unknown tickers
+     */
+    public Map<String, CompanyTickerDto> getCompanyTickers(Collection<String> tickers) {
+        return fanOut(tickers, ticker -> filingService.getCompanyTicker(ticker).block(), this::logError);
+    }
+
+    /**
+     * Get the filings of many companies at once, one virtual thread per company.
+     *
+     * @param tickersOrCiks Ticker symbols and/or CIKs of the companies
+     * @param onError       Receives the companies whose filings could not be loaded
+     * @return Map from identifier to its filings, newest first, in the order of the given identifiers
+     */
+    public Map<String, List<CompanyFilingMetadataDto>> getFilings(Collection<String> tickersOrCiks,
+                                                                  Consumer<BatchError> onError) {
+        return fanOut(tickersOrCiks, this::filings, onError);
+    }
+
+    /**
+     * Download and parse the latest 10-K filings of many companies at once, one virtual thread per company.
+     *
+     * @param tickers The stock ticker symbols
+     * @param onError Receives the companies whose latest 10-K could not be loaded
+     * @return Map from ticker to its parsed latest 10-K, in the order of the given tickers
+     */
+    public Map<String, Document> loadLatest10Ks(Collection<String> tickers, Consumer<BatchError> onError) {
+        return fanOut(tickers, ticker -> edgarService.loadLatest10KForTicker(ticker).block(), onError);
+    }
+
+    /**
+     * Stops accepting calls. Calls in progress are completed.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private List<CompanyFilingMetadataDto> filings(String tickerOrCik) {
+        var filings = !tickerOrCik.isEmpty() && tickerOrCik.chars().allMatch(Character::isDigit)
+                ? edgarService.getFilingsByCik(tickerOrCik)
+                : edgarService.getFilingsByTicker(tickerOrCik);
+        return filings.collectList().block();
+    }
+
+    private <T> T call(Callable<T> call) {
+        Future<T> future = executor.submit(() -> withPermit(call));
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw propagate(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for SEC data");
+        }
+    }
+
+    private <V> Map<String, V> fanOut(Collection<String> identifiers, Function<String, V> call, Consumer<BatchError> onError) {
+        Map<String, Future<V>> futures = new LinkedHashMap<>();
+        for (String identifier : identifiers) {
+            if (!futures.containsKey(identifier)) {
+                futures.put(identifier, executor.submit(() -> withPermit(() -> call.apply(identifier))));
+            }
+        }
+
+        Map<String, V> results = new LinkedHashMap<>();
+        try {
+            for (var entry : futures.entrySet()) {
+                try {
+                    V result = entry.getValue().get();
+                    if (result != null) {
+                        results.put(entry.getKey(), result);
+                    }
+                } catch (ExecutionException e) {
+                    onError.accept(new BatchError(entry.getKey(), null, e.getCause()));
+                }
+            }
+        } catch (InterruptedException e) {
+            futures.values().forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for SEC data");
+        }
+        return results;
+    }
+
+    private <T> T withPermit(Callable<T> call) throws Exception {
+        permits.acquire();
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void logError(BatchError error) {
+        log.warn("Failed to load {}: {}", error.identifier(), error.error().toString());
+    }
+
+    private static RuntimeException propagate(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new RuntimeException(cause);
+    }
+}
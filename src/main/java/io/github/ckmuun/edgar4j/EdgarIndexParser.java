@@ -0,0 +1,271 @@
+package io.github.ckmuun.edgar4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parser for the EDGAR index files below {@code /Archives/edgar/daily-index/} and {@code full-index/},
+ * which list every filing of a day or a quarter, one per line.
+ * <p>
+ * Both layouts SEC publishes are understood: the pipe-delimited {@code master} files
+ * ({@code CIK|Company Name|Form Type|Date Filed|Filename}) and the fixed-width {@code form} and
+ * {@code company} files, whose column offsets are taken from the header line. Dates may be
+ * written as {@code 2024-01-02} (quarterly files) or {@code 20240102} (daily files).
+ * <p>
+ * The file is scanned byte by byte in place, e.g. in a memory-mapped copy of a downloaded index.
+ * Only the date of a line is parsed to decide whether it is newer than the watermark; Strings are
+ * only decoded for the lines that are returned.
+ * <p>
+ * The index files do not name the primary document of a filing, so the returned filings have no
+ * {@code primaryDocument}. Their documents are available through
+ * {@link FilingService#getSubmissionDocuments} or {@link FilingService#getFilingDirectory}.
+ */
+final class EdgarIndexParser {
+
+    private static final byte PIPE = '|';
+    private static final byte NEWLINE = '\n';
+    private static final String[] FIXED_WIDTH_COLUMNS = {"Form Type", "Company Name", "CIK", "Date Filed", "File Name"};
+    private static final int FORM = 0;
+    private static final int COMPANY = 1;
+    private static final int CIK = 2;
+    private static final int DATE = 3;
+    private static final int FILE = 4;
+
+    private final ByteBuffer buffer;
+    private final int afterEpochDay;
+
+    private int position;
+    // field order of the file, mapped to FORM, COMPANY, CIK, DATE, FILE
+    private int[] fieldOrder;
+    private int[] fixedWidthOffsets;
+    private int[] fixedWidthEnds;
+
+    private final int[] fieldStart = new int[5];
+    private final int[] fieldEnd = new int[5];
+    private byte[] scratch = new byte[128];
+    private int lastYearMonthDay = -1;
+    private int lastEpochDay;
+
+    private EdgarIndexParser(ByteBuffer buffer, int afterEpochDay) {
+        this.buffer = buffer;
+        this.afterEpochDay = afterEpochDay;
+        this.position = buffer.position();
+    }
+
+    /**
+     * Parses an index file held in a buffer.
+     *
+     * @param buffer     The index file; its position and limit are not changed
+     * @param afterEpochDay Only filings filed after this epoch day are returned, e.g. the watermark
+     * @return The filings, in the order of the file
+     */
+    static List<CompanyFilingMetadataDto> parse(ByteBuffer buffer, int afterEpochDay) {
+        return new EdgarIndexParser(buffer, afterEpochDay).parse();
+    }
+
+    /**
+     * Parses a local index file through a memory mapping, so it is never copied onto the heap as a whole.
+     */
+    static List<CompanyFilingMetadataDto> parse(Path file, int afterEpochDay) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(mapped, afterEpochDay);
+        }
+    }
+
+    private List<CompanyFilingMetadataDto> parse() {
+        List<CompanyFilingMetadataDto> filings = new ArrayList<>();
+        if (!readHeader()) {
+            return filings;
+        }
+        int limit = buffer.limit();
+        while (position < limit) {
+            int end = lineEnd(position);
+            if (splitLine(position, end)) {
+                int epochDay = epochDay(fieldStart[DATE], fieldEnd[DATE]);
+                if (epochDay != FilingIndex.NO_DATE && epochDay > afterEpochDay) {
+                    filings.add(toFiling(epochDay));
+                }
+            }
+            position = end + 1;
+        }
+        return filings;
+    }
+
+    /**
+     * Skips the description block up to the dashed line below the column header,
+     * and determines the layout from the column header.
+     *
+     * @return false if the buffer holds no column header
+     */
+    private boolean readHeader() {
+        String header = null;
+        int limit = buffer.limit();
+        while (position < limit) {
+            int end = lineEnd(position);
+            String line = decode(position, end).stripTrailing();
+            position = end + 1;
+            if (line.startsWith("---") && header != null) {
+                return true;
+            }
+            if (line.contains("CIK") && line.contains("Company Name")) {
+                header = line;
+                layout(header);
+            }
+        }
+        return false;
+    }
+
+    private void layout(String header) {
+        if (header.indexOf('|') >= 0) {
+            String[] names = header.split("\\|");
+            fieldOrder = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                fieldOrder[i] = switch (names[i].trim()) {
+                    case "Form Type" -> FORM;
+                    case "Company Name" -> COMPANY;
+                    case "CIK" -> CIK;
+                    case "Date Filed" -> DATE;
+                    case "Filename", "File Name" -> FILE;
+                    default -> -1;
+                };
+            }
+            if (Arrays.stream(fieldOrder).filter(field -> field >= 0).distinct().count() != FIXED_WIDTH_COLUMNS.length) {
+                throw new IllegalArgumentException("Unknown EDGAR index header: " + header);
+            }
+            fixedWidthOffsets = null;
+        } else {
+            fieldOrder = null;
+            fixedWidthOffsets = new int[FIXED_WIDTH_COLUMNS.length];
+            for (int field = 0; field < FIXED_WIDTH_COLUMNS.length; field++) {
+                fixedWidthOffsets[field] = header.indexOf(FIXED_WIDTH_COLUMNS[field]);
+                if (fixedWidthOffsets[field] < 0) {
+                    throw new IllegalArgumentException("Unknown EDGAR index header: " + header);
+                }
+            }
+            // a column ends where the next one starts, the last one at the end of the line
+            fixedWidthEnds = new int[FIXED_WIDTH_COLUMNS.length];
+            for (int field = 0; field < FIXED_WIDTH_COLUMNS.length; field++) {
+                fixedWidthEnds[field] = -1;
+                for (int offset : fixedWidthOffsets) {
+                    if (offset > fixedWidthOffsets[field] && (fixedWidthEnds[field] < 0 || offset < fixedWidthEnds[field])) {
+                        fixedWidthEnds[field] = offset;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the fields of a line.
+     *
+     * @return false if the line is not a complete filing entry
+     */
+    private boolean splitLine(int start, int end) {
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end <= start) {
+            return false;
+        }
+        if (fixedWidthOffsets != null) {
+            for (int field = 0; field < fixedWidthOffsets.length; field++) {
+                int from = start + fixedWidthOffsets[field];
+                int to = fixedWidthEnds[field] < 0 ? end : start + fixedWidthEnds[field];
+                if (from >= end) {
+                    return false;
+                }
+                fieldStart[field] = from;
+                fieldEnd[field] = Math.min(to, end);
+            }
+            return true;
+        }
+        int found = 0;
+        int from = start;
+        for (int i = start; i <= end && found < fieldOrder.length; i++) {
+            if (i == end || buffer.get(i) == PIPE) {
+                int field = fieldOrder[found++];
+                if (field >= 0) {
+                    fieldStart[field] = from;
+                    fieldEnd[field] = i;
+                }
+                from = i + 1;
+            }
+        }
+        return found == fieldOrder.length;
+    }
+
+    private CompanyFilingMetadataDto toFiling(int epochDay) {
+        String file = decode(fieldStart[FILE], fieldEnd[FILE]).trim();
+        String fileName = file.substring(file.lastIndexOf('/') + 1);
+        String accessionNumber = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - 4) : fileName;
+        // the index only names the complete submission text file, not the primary document
+        return CompanyFilingMetadataDto.builder()
+                .cik(decode(fieldStart[CIK], fieldEnd[CIK]).trim())
+                .name(decode(fieldStart[COMPANY], fieldEnd[COMPANY]).trim())
+                .form(decode(fieldStart[FORM], fieldEnd[FORM]).trim())
+                .filingDate(LocalDate.ofEpochDay(epochDay).toString())
+                .accessionNumber(accessionNumber)
+                .build();
+    }
+
+    /**
+     * Parses a date written as yyyy-MM-dd or yyyyMMdd, surrounded by optional blanks.
+     */
+    private int epochDay(int start, int end) {
+        int yearMonthDay = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b >= '0' && b <= '9') {
+                yearMonthDay = yearMonthDay * 10 + (b - '0');
+                digits++;
+            } else if (b != '-' && b != ' ') {
+                return FilingIndex.NO_DATE;
+            }
+        }
+        if (digits != 8) {
+            return FilingIndex.NO_DATE;
+        }
+        // all lines of a daily file and runs of lines of a quarterly file share their date
+        if (yearMonthDay != lastYearMonthDay) {
+            try {
+                lastEpochDay = (int) LocalDate.of(yearMonthDay / 10000, yearMonthDay / 100 % 100, yearMonthDay % 100).toEpochDay();
+            } catch (DateTimeException e) {
+                return FilingIndex.NO_DATE;
+            }
+            lastYearMonthDay = yearMonthDay;
+        }
+        return lastEpochDay;
+    }
+
+    private int lineEnd(int start) {
+        int limit = buffer.limit();
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) == NEWLINE) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        // index files are ASCII, but some company names carry Latin-1 characters
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -1,8 +1,13 @@
 package io.github.ckmuun.edgar4j;
 
+import lombok.extern.slf4j.Slf4j;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Set;
+import java.util.function.Consumer;
+
 import static io.github.ckmuun.edgar4j.Constants.TEN_K_FORM;
 
 /**
@@ -10,20 +15,37 @@ import static io.github.ckmuun.edgar4j.Constants.TEN_K_FORM;
  * This service connects the edgar form download with functionality for parsing
  * documents into structured EdgarDocument objects.
  */
+@Slf4j
 public class EdgarService {
 
+    private static final int BATCH_METADATA_CONCURRENCY = 4;
+    private static final int BATCH_DOWNLOAD_CONCURRENCY = 8;
+
     private final FilingService filingService;
     private final ParsingService parsingService;
+    private final ParseScheduler parseScheduler;
 
     /**
-     * Creates a new EdgarService with the provided services.
+     * Creates a new EdgarService with the provided services, parsing on the shared parse scheduler.
      * 
      * @param filingService Service for downloading SEC data
      * @param parsingService Service for parsing SEC filings
      */
     public EdgarService(FilingService filingService, ParsingService parsingService) {
+        this(filingService, parsingService, ParseScheduler.shared());
+    }
+
+    /**
+     * Creates a new EdgarService with the provided services.
+     *
+     * @param filingService Service for downloading SEC data
+     * @param parsingService Service for parsing SEC filings
+     * @param parseScheduler Scheduler the filings are parsed on, off the HTTP client's event loop
+     */
+    public EdgarService(FilingService filingService, ParsingService parsingService, ParseScheduler parseScheduler) {
         this.filingService = filingService;
         this.parsingService = parsingService;
+        this.parseScheduler = parseScheduler;
     }
 
     /**
@@ -32,8 +54,7 @@ public class EdgarService {
      * @param userAgent User agent to use for SEC API requests (should be a real email for production)
      */
     public EdgarService(String userAgent) {
-        this.filingService = new FilingService(userAgent);
-        this.parsingService = new ParsingService();
+        this(new FilingService(userAgent), new ParsingService());
     }
 
     /**
@@ -41,8 +62,7 @@ public class EdgarService {
      * Note: For production use, provide a real email address as the user agent.
      */
     public EdgarService() {
-        this.filingService = new FilingService();
-        this.parsingService = new ParsingService();
+        this(new FilingService(), new ParsingService());
     }
 
     /**
@@ -53,14 +73,12 @@ public class EdgarService {
      */
     public Mono<Document> loadLatest10KForTicker(String ticker) {
         return filingService
-                .getCompanyTickers()
-                .filter(dto -> dto.ticker().equalsIgnoreCase(ticker))
+                .getCompanyTicker(ticker)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Ticker not found: " + ticker)))
-                .flatMap(dto -> filingService.getCompanyFilings(dto.cik()))
-                .filter(filingDto -> filingDto.form().equals(TEN_K_FORM))
-                .take(1) // Get the most recent 10-K
+                // Get the most recent 10-K, which stops reading the filing list right there
+                .flatMapMany(dto -> filingService.getCompanyFilings(dto.cik(), FilingQuery.latest(TEN_K_FORM)))
                 .flatMap(filingService::getCompanyFiling)
-                .map(parsingService::parseEdgarForm)
+                .flatMap(this::parse)
                 .single();
     }
 
@@ -73,12 +91,11 @@ public class EdgarService {
      */
     public Mono<Document> load10KByCikAndAccessionNumber(String cik, String accessionNumber) {
         return filingService
-                .getCompanyFilings(cik)
+                .getCompanyFilings(cik, FilingQuery.forms(TEN_K_FORM))
                 .filter(filingDto -> filingDto.accessionNumber().equals(accessionNumber))
-                .filter(filingDto -> filingDto.form().equals(TEN_K_FORM))
                 .take(1)
                 .flatMap(filingService::getCompanyFiling)
-                .map(parsingService::parseEdgarForm)
+                .flatMap(this::parse)
                 .single();
     }
 
@@ -98,11 +115,21 @@ public class EdgarService {
      * @return Flux of CompanyFilingMetadataDto objects
      */
     public Flux<CompanyFilingMetadataDto> getFilingsByTicker(String ticker) {
+        return getFilingsByTicker(ticker, FilingQuery.ALL);
+    }
+
+    /**
+     * Get the filings of a specific company by ticker that match a query.
+     *
+     * @param ticker The stock ticker symbol
+     * @param query  Forms, filing dates, XBRL flag and limit of the filings
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    public Flux<CompanyFilingMetadataDto> getFilingsByTicker(String ticker, FilingQuery query) {
         return filingService
-                .getCompanyTickers()
-                .filter(dto -> dto.ticker().equalsIgnoreCase(ticker))
+                .getCompanyTicker(ticker)
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("Ticker not found: " + ticker)))
-                .flatMap(dto -> filingService.getCompanyFilings(dto.cik()));
+                .flatMapMany(dto -> filingService.getCompanyFilings(dto.cik(), query));
     }
 
     /**
@@ -115,6 +142,17 @@ public class EdgarService {
         return filingService.getCompanyFilings(cik);
     }
 
+    /**
+     * Get the filings of a specific company by CIK that match a query.
+     *
+     * @param cik   The company's CIK (Central Index Key)
+     * @param query Forms, filing dates, XBRL flag and limit of the filings
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    public Flux<CompanyFilingMetadataDto> getFilingsByCik(String cik, FilingQuery query) {
+        return filingService.getCompanyFilings(cik, query);
+    }
+
     /**
      * Get all 10-K filings for a specific company by ticker.
      * 
@@ -122,8 +160,7 @@ public class EdgarService {
      * @return Flux of CompanyFilingMetadataDto objects for 10-K forms only
      */
     public Flux<CompanyFilingMetadataDto> get10KFilingsByTicker(String ticker) {
-        return getFilingsByTicker(ticker)
-                .filter(filingDto -> filingDto.form().equals(TEN_K_FORM));
+        return getFilingsByTicker(ticker, FilingQuery.forms(TEN_K_FORM));
     }
 
     /**
@@ -135,6 +172,133 @@ public class EdgarService {
     public Mono<Document> downloadAndParseFiling(CompanyFilingMetadataDto metadata) {
         return filingService
                 .getCompanyFiling(metadata)
-                .map(parsingService::parseEdgarForm);
+                .flatMap(this::parse);
+    }
+
+    /**
+     * Download any filing by its metadata and stream its chunks as they are parsed,
+     * without building a DOM of the whole filing.
+     *
+     * @param metadata The filing metadata
+     * @return Flux of DocumentChunk objects, the XBRL header followed by the form items
+     * @see ParsingService#streamEdgarForm(CompanyFilingDto)
+     */
+    public Flux<DocumentChunk> downloadAndStreamFiling(CompanyFilingMetadataDto metadata) {
+        return filingService
+                .getCompanyFiling(metadata)
+                .flatMapMany(filing -> parseScheduler.stream(filing, parsingService::streamEdgarForm));
+    }
+
+    /**
+     * Download selected files of a filing, such as the XBRL instance or single exhibits.
+     *
+     * @param metadata The filing metadata
+     * @param globs    File name globs, e.g. {@code "*_htm.xml"} or {@code "R*.htm"}
+     * @return Flux of CompanyFilingDto objects, one per matching file
+     * @see FilingService#getFilingFiles(CompanyFilingMetadataDto, String...)
+     */
+    public Flux<CompanyFilingDto> downloadFilingFiles(CompanyFilingMetadataDto metadata, String... globs) {
+        return filingService.getFilingFiles(metadata, globs);
+    }
+
+    /**
+     * Download the complete submission of a filing, split into the form and all its exhibits.
+     *
+     * @param metadata The filing metadata
+     * @return Flux of SubmissionDocument objects, e.g. to pick the EX-21 list of subsidiaries
+     * @see FilingService#getSubmissionDocuments(CompanyFilingMetadataDto)
+     */
+    public Flux<SubmissionDocument> downloadSubmissionDocuments(CompanyFilingMetadataDto metadata) {
+        return filingService.getSubmissionDocuments(metadata);
+    }
+
+    /**
+     * Load and parse the filings of many companies at once.
+     * Failures of single companies or filings are logged and skipped without failing the batch.
+     *
+     * @param tickersOrCiks Ticker symbols and/or CIKs of the companies
+     * @param forms         Forms to load, e.g. {@code Set.of("10-K")}, or empty for all forms
+     * @param dateRange     Filing dates to load
+     * @return Flux of parsed Documents, in no particular order
+     * @see #loadFilings(Collection, Set, DateRange, Consumer)
+     */
+    public Flux<Document> loadFilings(Collection<String> tickersOrCiks, Set<String> forms, DateRange dateRange) {
+        return loadFilings(tickersOrCiks, forms, dateRange, error -> log.warn("Skipping {}{}: {}",
+                error.identifier(),
+                error.filing() == null ? "" : " " + error.filing().accessionNumber(),
+                error.error().toString()));
+    }
+
+    /**
+     * Load and parse the filings of many companies at once.
+     * <p>
+     * The identifiers are resolved to CIKs once, then filing lists, downloads and parses run as a
+     * pipeline: up to {@value #BATCH_METADATA_CONCURRENCY} filing lists are read and up to
+     * {@value #BATCH_DOWNLOAD_CONCURRENCY} filings are downloaded at the same time, while the parse
+     * scheduler bounds the number of parses. Work is only started as the subscriber requests
+     * Documents, so a slow consumer holds back downloads instead of piling up parsed filings.
+     * Forms and date range are applied while the filing lists are parsed, and older submissions
+     * pages outside the date range are not fetched.
+     * <p>
+     * A company that cannot be resolved or whose filing list fails, and a filing that fails to
+     * download or parse, are passed to {@code onError} and skipped; the batch carries on.
+     *
+     * @param tickersOrCiks Ticker symbols and/or CIKs of the companies
+     * @param forms         Forms to load, e.g. {@code Set.of("10-K")}, or empty for all forms
+     * @param dateRange     Filing dates to load
+     * @param onError       Receives the failed items
+     * @return Flux of parsed Documents, in no particular order
+     */
+    public Flux<Document> loadFilings(Collection<String> tickersOrCiks, Set<String> forms, DateRange dateRange,
+                                      Consumer<BatchError> onError) {
+        var query = FilingQuery.builder().forms(forms).filingDates(dateRange).build();
+        return Flux.fromIterable(tickersOrCiks)
+                .concatMap(identifier -> resolveCik(identifier)
+                        .map(cik -> new BatchItem<>(identifier, cik))
+                        .onErrorResume(e -> skip(onError, identifier, null, e)))
+                .distinct(company -> FilingService.removeLeadingZeroesFromCik(company.value()))
+                .flatMap(company -> filingService.getCompanyFilings(company.value(), query)
+                                .map(filing -> new BatchItem<>(company.identifier(), filing))
+                                .onErrorResume(e -> skip(onError, company.identifier(), null, e)),
+                        BATCH_METADATA_CONCURRENCY, 1)
+                .flatMap(item -> filingService.getCompanyFiling(item.value())
+                                .map(filing -> new BatchItem<>(item.identifier(), filing))
+                                .onErrorResume(e -> skip(onError, item.identifier(), item.value(), e)),
+                        BATCH_DOWNLOAD_CONCURRENCY, 1)
+                .flatMap(item -> parse(item.value())
+                                .onErrorResume(e -> skip(onError, item.identifier(), item.value().metadata(), e)),
+                        parseScheduler.maxConcurrentParses(), 1)
+                // filings downloaded ahead of the parses are dropped on cancellation
+                .doOnDiscard(BatchItem.class, item -> {
+                    if (item.value() instanceof CompanyFilingDto filing) {
+                        FilingService.closeQuietly(filing.file());
+                    }
+                })
+                .doOnDiscard(CompanyFilingDto.class, filing -> FilingService.closeQuietly(filing.file()));
+    }
+
+    private Mono<String> resolveCik(String tickerOrCik) {
+        if (!tickerOrCik.isEmpty() && tickerOrCik.chars().allMatch(Character::isDigit)) {
+            return Mono.just(tickerOrCik);
+        }
+        return filingService.getCompanyTicker(tickerOrCik)
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("Ticker not found: " + tickerOrCik)))
+                .map(CompanyTickerDto::cik);
+    }
+
+    private static <T> Mono<T> skip(Consumer<BatchError> onError, String identifier,
+                                    CompanyFilingMetadataDto filing, Throwable error) {
+        onError.accept(new BatchError(identifier, filing, error));
+        return Mono.empty();
+    }
+
+    /**
+     * A value of a batch stage together with the identifier it was requested by.
+     */
+    private record BatchItem<T>(String identifier, T value) {
+    }
+
+    private Mono<Document> parse(CompanyFilingDto filing) {
+        return parseScheduler.parse(filing, parsingService::parseEdgarForm);
     }
 }
@@ -0,0 +1,251 @@
+package io.github.ckmuun.edgar4j;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * All values a company reported for one XBRL concept in one unit, as returned by the
+ * SEC company facts API, e.g. {@code us-gaap:Revenues} in {@code USD}.
+ * <p>
+ * The values are stored in primitive columns in the order SEC lists them, which is by period.
+ * Periods and filing dates are epoch days, the accession number, form, fiscal period and frame
+ * of each value are ids into dictionaries shared by all series of a {@link CompanyFacts}.
+ * A value takes about 35 bytes, so the facts of all filers fit into a few GB of heap.
+ */
+public final class FactSeries {
+
+    /**
+     * Period start of instant values, and any date that was missing or not a valid date.
+     */
+    public static final int NO_DATE = XbrlFactTable.NO_DATE;
+
+    /**
+     * Fiscal year of values without one.
+     */
+    public static final int NO_FISCAL_YEAR = 0;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String concept;
+    private final String unit;
+    private final CompanyFacts.Dictionaries dictionaries;
+
+    private int size;
+    private int[] periodStart = new int[INITIAL_CAPACITY];
+    private int[] periodEnd = new int[INITIAL_CAPACITY];
+    private double[] value = new double[INITIAL_CAPACITY];
+    private int[] accession = new int[INITIAL_CAPACITY];
+    private int[] filed = new int[INITIAL_CAPACITY];
+    private int[] frame = new int[INITIAL_CAPACITY];
+    private short[] form = new short[INITIAL_CAPACITY];
+    private short[] fiscalYear = new short[INITIAL_CAPACITY];
+    private byte[] fiscalPeriod = new byte[INITIAL_CAPACITY];
+
+    FactSeries(String concept, String unit, CompanyFacts.Dictionaries dictionaries) {
+        this.concept = concept;
+        this.unit = unit;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Concept name including its taxonomy, e.g. {@code us-gaap:Revenues}.
+     */
+    public String concept() {
+        return concept;
+    }
+
+    /**
+     * Unit of the values, e.g. {@code USD}, {@code shares} or {@code USD/shares}.
+     */
+    public String unit() {
+        return unit;
+    }
+
+    /**
+     * Number of values.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Start of the period of a duration value as epoch day, {@link #NO_DATE} for instant values.
+     */
+    public int periodStart(int index) {
+        checkIndex(index);
+        return periodStart[index];
+    }
+
+    /**
+     * End of the period of a duration value or date of an instant value as epoch day.
+     */
+    public int periodEnd(int index) {
+        checkIndex(index);
+        return periodEnd[index];
+    }
+
+    public LocalDate periodStartDate(int index) {
+        return toDate(periodStart(index));
+    }
+
+    public LocalDate periodEndDate(int index) {
+        return toDate(periodEnd(index));
+    }
+
+    public boolean isInstant(int index) {
+        return periodStart(index) == NO_DATE;
+    }
+
+    public double value(int index) {
+        checkIndex(index);
+        return value[index];
+    }
+
+    public int accessionId(int index) {
+        checkIndex(index);
+        return accession[index];
+    }
+
+    /**
+     * Accession number of the filing the value was reported in.
+     */
+    public String accessionNumber(int index) {
+        return dictionaries.accessions().get(accessionId(index));
+    }
+
+    public int formId(int index) {
+        checkIndex(index);
+        return form[index];
+    }
+
+    /**
+     * Form of the filing the value was reported in, e.g. {@code 10-K}, or null.
+     */
+    public String form(int index) {
+        return lookup(dictionaries.forms(), formId(index));
+    }
+
+    /**
+     * Filing date of the filing the value was reported in as epoch day.
+     */
+    public int filed(int index) {
+        checkIndex(index);
+        return filed[index];
+    }
+
+    public LocalDate filedDate(int index) {
+        return toDate(filed(index));
+    }
+
+    /**
+     * Fiscal year of the filing the value was reported in, {@link #NO_FISCAL_YEAR} if not given.
+     */
+    public int fiscalYear(int index) {
+        checkIndex(index);
+        return fiscalYear[index];
+    }
+
+    /**
+     * Fiscal period of the filing the value was reported in, e.g. {@code FY} or {@code Q1}, or null.
+     */
+    public String fiscalPeriod(int index) {
+        checkIndex(index);
+        return lookup(dictionaries.fiscalPeriods(), fiscalPeriod[index]);
+    }
+
+    /**
+     * Calendar frame SEC assigned to the value, e.g. {@code CY2023Q4I}, or null. Only one value
+     * per frame carries it, which makes it the value to use for cross-sectional comparisons.
+     */
+    public String frame(int index) {
+        checkIndex(index);
+        return lookup(dictionaries.frames(), frame[index]);
+    }
+
+    /**
+     * Index of the latest value for the given period, i.e. the one from the most recent filing,
+     * which reflects any restatements.
+     *
+     * @param start Period start as epoch day, {@link #NO_DATE} for instant values
+     * @param end   Period end as epoch day
+     * @return The index, or -1 if no value was reported for the period
+     */
+    public int indexOfPeriod(int start, int end) {
+        int latest = -1;
+        for (int i = 0; i < size; i++) {
+            if (periodEnd[i] == end && periodStart[i] == start && (latest == -1 || filed[i] >= filed[latest])) {
+                latest = i;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Appends a value. Form and fiscal period ids and the fiscal year are stored narrowed, so ids
+     * beyond the range of their column are rejected rather than silently wrapped.
+     *
+     * @throws IllegalArgumentException if the form id or fiscal year does not fit a short, or the
+     *                                  fiscal period id does not fit a byte
+     */
+    void add(int start, int end, double factValue, int accessionId, int formId, int filedDay,
+             int year, int fiscalPeriodId, int frameId) {
+        checkRange("form id", formId, Short.MIN_VALUE, Short.MAX_VALUE);
+        checkRange("fiscal year", year, Short.MIN_VALUE, Short.MAX_VALUE);
+        checkRange("fiscal period id", fiscalPeriodId, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        if (size == periodEnd.length) {
+            resize(size + (size >> 1) + 1);
+        }
+        periodStart[size] = start;
+        periodEnd[size] = end;
+        value[size] = factValue;
+        accession[size] = accessionId;
+        form[size] = (short) formId;
+        filed[size] = filedDay;
+        fiscalYear[size] = (short) year;
+        fiscalPeriod[size] = (byte) fiscalPeriodId;
+        frame[size] = frameId;
+        size++;
+    }
+
+    private void checkRange(String column, int value, int min, int max) {
+        if (value < min || value > max) {
+            throw new IllegalArgumentException("Value of " + concept + " in " + unit + " has " + column
+                    + " " + value + " outside of [" + min + ", " + max + "]");
+        }
+    }
+
+    void trimToSize() {
+        resize(size);
+    }
+
+    private void resize(int capacity) {
+        periodStart = Arrays.copyOf(periodStart, capacity);
+        periodEnd = Arrays.copyOf(periodEnd, capacity);
+        value = Arrays.copyOf(value, capacity);
+        accession = Arrays.copyOf(accession, capacity);
+        filed = Arrays.copyOf(filed, capacity);
+        frame = Arrays.copyOf(frame, capacity);
+        form = Arrays.copyOf(form, capacity);
+        fiscalYear = Arrays.copyOf(fiscalYear, capacity);
+        fiscalPeriod = Arrays.copyOf(fiscalPeriod, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size + " values");
+        }
+    }
+
+    private static String lookup(StringDictionary dictionary, int id) {
+        return id == StringDictionary.NOT_FOUND ? null : dictionary.get(id);
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public String toString() {
+        return "FactSeries[" + concept + " in " + unit + ", " + size + " values]";
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size-bounded on-disk cache of downloaded filing documents.
+ * <p>
+ * Filings never change once SEC has accepted them, so a document is identified by
+ * CIK, accession number and file name alone and never needs to be revalidated.
+ * Documents are stored gzip-compressed as {@code <cik>/<accessionNumber>/<filename>.gz}
+ * below the cache directory; file names in a subdirectory of the filing, such as the
+ * {@code xslF345X05/form4.xml} of ownership forms, keep that subdirectory. Once the compressed size of all documents exceeds the
+ * configured limit, the least recently used documents are deleted.
+ * <p>
+ * The cache is safe to use from several threads: new documents are written to a temporary
+ * file and atomically moved into place, so readers never see a partially written document,
+ * and a document evicted while it is being read stays readable through its memory mapping.
+ */
+@Slf4j
+public class FilingCache {
+
+    public static final long DEFAULT_MAX_BYTES = 1024L * 1024 * 1024;
+    public static final Path DEFAULT_DIRECTORY =
+            Path.of(System.getProperty("java.io.tmpdir"), "edgar4j", "filings");
+
+    private static final String SUFFIX = ".gz";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxBytes;
+
+    // compressed size per cached document, in access order (least recently used first)
+    private final LinkedHashMap<Path, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Creates a new FilingCache in the default directory, bounded to {@link #DEFAULT_MAX_BYTES}.
+     */
+    public FilingCache() {
+        this(DEFAULT_DIRECTORY, DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a new FilingCache. Documents already present in the directory are picked up,
+     * ordered by their last access.
+     *
+     * @param directory Directory to store the documents in, created if it does not exist
+     * @param maxBytes  Maximum compressed size of all cached documents
+     */
+    public FilingCache(Path directory, long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive: " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+            loadEntries();
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to open filing cache " + directory, ioe);
+        }
+    }
+
+    /**
+     * Opens a cached document. The returned stream decompresses a memory-mapped view of the
+     * cached file and does not hold a file handle.
+     *
+     * @param cik             Company CIK, without leading zeroes
+     * @param accessionNumber Accession number, without dashes
+     * @param filename        Name of the document within the filing
+     * @return Stream of the uncompressed document, or null if it is not cached
+     * @throws IllegalArgumentException if the key is not {@linkplain #isValidKey valid}
+     */
+    public InputStream get(String cik, String accessionNumber, String filename) {
+        Path file = resolve(cik, accessionNumber, filename);
+        synchronized (this) {
+            if (entries.get(file) == null) {
+                return null;
+            }
+        }
+        try {
+            MappedByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            touch(file);
+            return new GZIPInputStream(DefaultDataBufferFactory.sharedInstance.wrap(mapped).asInputStream());
+        } catch (NoSuchFileException e) {
+            // evicted or deleted between the lookup and the read
+            remove(file);
+            return null;
+        } catch (IOException ioe) {
+            log.warn("Failed to read cached filing {}: {}", file, ioe.getMessage());
+            remove(file);
+            return null;
+        }
+    }
+
+    /**
+     * Stores a document, compressing it on the way, and evicts the least recently used
+     * documents if the cache exceeds its size limit. The stream is read to the end but not closed.
+     *
+     * @param cik             Company CIK, without leading zeroes
+     * @param accessionNumber Accession number, without dashes
+     * @param filename        Name of the document within the filing
+     * @param content         Uncompressed document content
+     * @throws IllegalArgumentException if the key is not {@linkplain #isValidKey valid}
+     */
+    public void put(String cik, String accessionNumber, String filename, InputStream content) throws IOException {
+        Path file = resolve(cik, accessionNumber, filename);
+        Files.createDirectories(file.getParent());
+        Path tmp = Files.createTempFile(file.getParent(), file.getFileName().toString(), TMP_SUFFIX);
+        try {
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                content.transferTo(out);
+            }
+            long size = Files.size(tmp);
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            add(file, size);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Whether a document is cached.
+     */
+    public synchronized boolean contains(String cik, String accessionNumber, String filename) {
+        return entries.containsKey(resolve(cik, accessionNumber, filename));
+    }
+
+    /**
+     * Compressed size of all cached documents in bytes.
+     */
+    public synchronized long size() {
+        return totalBytes;
+    }
+
+    private synchronized void add(Path file, long size) {
+        Long previous = entries.put(file, size);
+        totalBytes += size - (previous == null ? 0 : previous);
+        evict();
+    }
+
+    private synchronized void remove(Path file) {
+        Long size = entries.remove(file);
+        if (size != null) {
+            totalBytes -= size;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Path, Long>> eldest = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            var entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue();
+            try {
+                Files.deleteIfExists(entry.getKey());
+            } catch (IOException ioe) {
+                log.warn("Failed to evict cached filing {}: {}", entry.getKey(), ioe.getMessage());
+            }
+        }
+    }
+
+    /*
+        The last modified time doubles as last access time, so the LRU order survives restarts.
+     */
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ioe) {
+            log.debug("Failed to update access time of {}: {}", file, ioe.getMessage());
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        record Found(Path file, long size, FileTime lastModified) {
+        }
+        List<Found> found = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) {
+                    // left behind by a writer that did not finish
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SUFFIX)) {
+                    var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    if (attributes.isRegularFile()) {
+                        found.add(new Found(file, attributes.size(), attributes.lastModifiedTime()));
+                    }
+                }
+            }
+        }
+        found.sort(Comparator.comparing(Found::lastModified));
+        synchronized (this) {
+            for (Found f : found) {
+                entries.put(f.file(), f.size());
+                totalBytes += f.size();
+            }
+            evict();
+        }
+    }
+
+    /**
+     * Whether a document can be cached under the given key: CIK and accession number must be
+     * single path segments, and the file name a relative path of such segments, separated by '/'.
+     */
+    public static boolean isValidKey(String cik, String accessionNumber, String filename) {
+        if (!isSegment(cik) || !isSegment(accessionNumber) || filename == null) {
+            return false;
+        }
+        for (String segment : filename.split("/", -1)) {
+            if (!isSegment(segment)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path resolve(String cik, String accessionNumber, String filename) {
+        if (!isValidKey(cik, accessionNumber, filename)) {
+            throw new IllegalArgumentException("Invalid filing cache key: %s/%s/%s".formatted(cik, accessionNumber, filename));
+        }
+        return directory.resolve(cik).resolve(accessionNumber).resolve(filename + SUFFIX);
+    }
+
+    private static boolean isSegment(String value) {
+        return value != null && !value.isEmpty() && !value.equals(".") && !value.equals("..")
+                && value.indexOf('/') < 0 && value.indexOf('\\') < 0;
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Listing of the files in the archive directory of one filing, read from its {@code index.json}
+ * ({@code /Archives/edgar/data/<cik>/<accession>/index.json}).
+ * <p>
+ * Besides the primary document the directory holds the exhibits, the XBRL instance
+ * ({@code *_htm.xml}) and schema files, the rendered financial reports ({@code R*.htm}) and the
+ * complete submission text file. {@link #files(String...)} selects files by glob, e.g. for
+ * {@link FilingService#getFilingFiles(CompanyFilingMetadataDto, String...)}.
+ *
+ * @param cik             Company CIK, without leading zeroes
+ * @param accessionNumber Accession number without dashes, as used in the directory path
+ * @param entries         The files and subdirectories, in the order of the listing
+ */
+public record FilingDirectory(String cik, String accessionNumber, List<Entry> entries) {
+
+    private static final String FOLDER_TYPE = "folder.gif";
+
+    public FilingDirectory {
+        entries = List.copyOf(entries);
+    }
+
+    /**
+     * One entry of the directory listing.
+     *
+     * @param name         File name, e.g. "aapl-20240928_htm.xml"
+     * @param type         Icon type SEC lists for the entry, e.g. "text.gif" or "folder.gif"
+     * @param size         Size in bytes, or -1 if not listed
+     * @param lastModified Modification time as listed, e.g. "2024-11-01 18:04:26"
+     */
+    public record Entry(String name, String type, long size, String lastModified) {
+
+        /**
+         * Whether the entry is a subdirectory rather than a file.
+         */
+        public boolean isDirectory() {
+            return FOLDER_TYPE.equals(type);
+        }
+    }
+
+    /**
+     * The files whose names match any of the globs, e.g. {@code "R*.htm"}, {@code "*_htm.xml"} or
+     * {@code "*ex21*"}. Without globs, all files are returned.
+     */
+    public List<Entry> files(String... globs) {
+        List<PathMatcher> matchers = new ArrayList<>(globs.length);
+        for (String glob : globs) {
+            matchers.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        }
+        List<Entry> files = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            Path name = Path.of(entry.name());
+            if (matchers.isEmpty() || matchers.stream().anyMatch(matcher -> matcher.matches(name))) {
+                files.add(entry);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Reads the {@code directory.item} array of an {@code index.json}.
+     */
+    static FilingDirectory of(String cik, String accessionNumber, JsonNode indexJson) {
+        List<Entry> entries = new ArrayList<>();
+        for (JsonNode item : indexJson.path("directory").path("item")) {
+            String name = item.path("name").asText(null);
+            if (name == null || name.isEmpty()) {
+                continue;
+            }
+            entries.add(new Entry(name,
+                    item.path("type").asText(null),
+                    // sizes are listed as strings, and empty for some files
+                    item.path("size").asLong(-1),
+                    item.path("last-modified").asText(null)));
+        }
+        return new FilingDirectory(cik, accessionNumber, entries);
+    }
+}
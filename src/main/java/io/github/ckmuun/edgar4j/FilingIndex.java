@@ -0,0 +1,511 @@
+package io.github.ckmuun.edgar4j;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Compact, column-oriented store of filing metadata, e.g. the complete filing history of one or
+ * of many companies.
+ * <p>
+ * Instead of one {@link CompanyFilingMetadataDto} with 15 Strings per filing, every field is a
+ * primitive column: dates as epoch days, the acceptance time as epoch millis, accession and film
+ * numbers and sizes as longs, the XBRL flags as bit sets. Strings that repeat across filings, like
+ * company names, forms, acts and file numbers, are dictionary-encoded into int columns.
+ * <p>
+ * Rows are sorted by filing date, oldest first, so the filings of a date range are found by binary
+ * search. A {@link CompanyFilingMetadataDto} is only created when a row is accessed through
+ * {@link #get(int)}; empty values of the submissions file are returned as null there.
+ * Instances are immutable and can be read from several threads.
+ */
+public final class FilingIndex {
+
+    public static final int NO_DATE = XbrlFactTable.NO_DATE;
+    public static final long NO_NUMBER = -1;
+
+    private static final DateTimeFormatter ACCEPTANCE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    private final int size;
+    private final int[] cik;
+    private final int[] companyName;
+    private final long[] accessionNumber;
+    private final int[] filingDate;
+    private final int[] reportDate;
+    private final long[] acceptanceDateTime;
+    private final int[] act;
+    private final int[] form;
+    private final int[] fileNumber;
+    private final long[] filmNumber;
+    private final int[] items;
+    private final int[] coreType;
+    private final long[] fileSize;
+    private final BitSet xbrl;
+    private final BitSet inlineXbrl;
+    private final String[] primaryDocument;
+    private final int[] primaryDocDescription;
+    private final StringDictionary companyNames;
+    private final StringDictionary strings;
+
+    private FilingIndex(Builder builder) {
+        this.size = builder.size;
+        this.companyNames = builder.companyNames;
+        this.strings = builder.strings;
+
+        // sort rows by filing date without boxing: the date goes into the high, the row into the low bits
+        long[] order = new long[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = ((long) builder.filingDate[row] << 32) | row;
+        }
+        Arrays.sort(order);
+        int[] rows = new int[size];
+        for (int i = 0; i < size; i++) {
+            rows[i] = (int) order[i];
+        }
+
+        this.cik = permute(builder.cik, rows);
+        this.companyName = permute(builder.companyName, rows);
+        this.accessionNumber = permute(builder.accessionNumber, rows);
+        this.filingDate = permute(builder.filingDate, rows);
+        this.reportDate = permute(builder.reportDate, rows);
+        this.acceptanceDateTime = permute(builder.acceptanceDateTime, rows);
+        this.act = permute(builder.act, rows);
+        this.form = permute(builder.form, rows);
+        this.fileNumber = permute(builder.fileNumber, rows);
+        this.filmNumber = permute(builder.filmNumber, rows);
+        this.items = permute(builder.items, rows);
+        this.coreType = permute(builder.coreType, rows);
+        this.fileSize = permute(builder.fileSize, rows);
+        this.primaryDocDescription = permute(builder.primaryDocDescription, rows);
+        this.primaryDocument = new String[size];
+        this.xbrl = new BitSet(size);
+        this.inlineXbrl = new BitSet(size);
+        for (int to = 0; to < size; to++) {
+            int from = rows[to];
+            primaryDocument[to] = builder.primaryDocument[from];
+            xbrl.set(to, builder.xbrl.get(from));
+            inlineXbrl.set(to, builder.inlineXbrl.get(from));
+        }
+    }
+
+    /**
+     * Creates an index of filings.
+     */
+    public static FilingIndex of(Collection<CompanyFilingMetadataDto> filings) {
+        var builder = new Builder();
+        filings.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Combines indexes, e.g. those of several companies, into one.
+     */
+    public static FilingIndex merge(Collection<FilingIndex> indexes) {
+        var builder = new Builder();
+        for (FilingIndex index : indexes) {
+            for (int row = 0; row < index.size; row++) {
+                builder.add(index, row);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Number of filings.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates the metadata of a filing.
+     */
+    public CompanyFilingMetadataDto get(int row) {
+        checkRow(row);
+        return new CompanyFilingMetadataDto(
+                Integer.toString(cik[row]),
+                companyName[row] == StringDictionary.NOT_FOUND ? null : companyNames.get(companyName[row]),
+                accessionNumber(row),
+                date(filingDate[row]),
+                date(reportDate[row]),
+                acceptanceDateTime[row] == NO_NUMBER ? null : ACCEPTANCE_FORMAT.format(Instant.ofEpochMilli(acceptanceDateTime[row])),
+                string(act[row]),
+                string(form[row]),
+                string(fileNumber[row]),
+                filmNumber[row] == NO_NUMBER ? null : Long.toString(filmNumber[row]),
+                string(items[row]),
+                string(coreType[row]),
+                fileSize[row] == NO_NUMBER ? null : Long.toString(fileSize[row]),
+                xbrl.get(row),
+                inlineXbrl.get(row),
+                primaryDocument[row],
+                string(primaryDocDescription[row]));
+    }
+
+    /**
+     * All filings, oldest first.
+     */
+    public Stream<CompanyFilingMetadataDto> stream() {
+        return IntStream.range(0, size).mapToObj(this::get);
+    }
+
+    /**
+     * Filings within a range of filing dates, oldest first.
+     */
+    public Stream<CompanyFilingMetadataDto> stream(DateRange dateRange) {
+        return rows(dateRange).mapToObj(this::get);
+    }
+
+    /**
+     * Rows of the filings within a range of filing dates, found by binary search.
+     */
+    public IntStream rows(DateRange dateRange) {
+        int from = dateRange.from() == null ? 0 : firstRowFiledOnOrAfter((int) dateRange.from().toEpochDay());
+        int to = dateRange.to() == null ? size : firstRowFiledOnOrAfter((int) dateRange.to().toEpochDay() + 1);
+        return IntStream.range(from, to);
+    }
+
+    /**
+     * Rows of the filings of a form, e.g. 10-K.
+     */
+    public IntStream rowsOfForm(String formType) {
+        int id = strings.indexOf(formType);
+        if (id == StringDictionary.NOT_FOUND) {
+            return IntStream.empty();
+        }
+        return IntStream.range(0, size).filter(row -> form[row] == id);
+    }
+
+    /**
+     * Row of a filing.
+     *
+     * @param accession Accession number, e.g. 0000320193-24-000123
+     * @return The row, or -1 if the filing is not part of this index
+     */
+    public int indexOf(String accession) {
+        long packed = packAccessionNumber(accession);
+        if (packed == NO_NUMBER) {
+            return -1;
+        }
+        for (int row = 0; row < size; row++) {
+            if (accessionNumber[row] == packed) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public int cik(int row) {
+        checkRow(row);
+        return cik[row];
+    }
+
+    public String accessionNumber(int row) {
+        checkRow(row);
+        long packed = accessionNumber[row];
+        if (packed == NO_NUMBER) {
+            return null;
+        }
+        return "%010d-%02d-%06d".formatted(packed / 100_000_000L, packed / 1_000_000 % 100, packed % 1_000_000);
+    }
+
+    /**
+     * Filing date as epoch day.
+     */
+    public int filingEpochDay(int row) {
+        checkRow(row);
+        return filingDate[row];
+    }
+
+    public LocalDate filingDate(int row) {
+        int day = filingEpochDay(row);
+        return day == NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * End of the reported period as epoch day, {@link #NO_DATE} if the form has none.
+     */
+    public int reportEpochDay(int row) {
+        checkRow(row);
+        return reportDate[row];
+    }
+
+    public String form(int row) {
+        checkRow(row);
+        return string(form[row]);
+    }
+
+    /**
+     * Size of the filing in bytes, {@link #NO_NUMBER} if unknown.
+     */
+    public long fileSize(int row) {
+        checkRow(row);
+        return fileSize[row];
+    }
+
+    public boolean isXbrl(int row) {
+        checkRow(row);
+        return xbrl.get(row);
+    }
+
+    public boolean isInlineXbrl(int row) {
+        checkRow(row);
+        return inlineXbrl.get(row);
+    }
+
+    public String primaryDocument(int row) {
+        checkRow(row);
+        return primaryDocument[row];
+    }
+
+    private int firstRowFiledOnOrAfter(int epochDay) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (filingDate[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String string(int id) {
+        return id == StringDictionary.NOT_FOUND ? null : strings.get(id);
+    }
+
+    private static String date(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay).toString();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " filings");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FilingIndex[" + size + " filings]";
+    }
+
+    private static int[] permute(int[] column, int[] rows) {
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = column[rows[i]];
+        }
+        return sorted;
+    }
+
+    private static long[] permute(long[] column, int[] rows) {
+        long[] sorted = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            sorted[i] = column[rows[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Packs an accession number of the form {@code ##########-##-######} into a long.
+     *
+     * @return The packed number, or {@link #NO_NUMBER} if the accession number has another form
+     */
+    static long packAccessionNumber(String accession) {
+        if (accession == null || accession.length() != 20 || accession.charAt(10) != '-' || accession.charAt(13) != '-') {
+            return NO_NUMBER;
+        }
+        long packed = 0;
+        for (int i = 0; i < accession.length(); i++) {
+            char c = accession.charAt(i);
+            if (i == 10 || i == 13) {
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return NO_NUMBER;
+            }
+            packed = packed * 10 + (c - '0');
+        }
+        return packed;
+    }
+
+    /**
+     * Collects filings column by column. Not thread-safe.
+     */
+    static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 256;
+
+        private int size;
+        private int[] cik = new int[INITIAL_CAPACITY];
+        private int[] companyName = new int[INITIAL_CAPACITY];
+        private long[] accessionNumber = new long[INITIAL_CAPACITY];
+        private int[] filingDate = new int[INITIAL_CAPACITY];
+        private int[] reportDate = new int[INITIAL_CAPACITY];
+        private long[] acceptanceDateTime = new long[INITIAL_CAPACITY];
+        private int[] act = new int[INITIAL_CAPACITY];
+        private int[] form = new int[INITIAL_CAPACITY];
+        private int[] fileNumber = new int[INITIAL_CAPACITY];
+        private long[] filmNumber = new long[INITIAL_CAPACITY];
+        private int[] items = new int[INITIAL_CAPACITY];
+        private int[] coreType = new int[INITIAL_CAPACITY];
+        private long[] fileSize = new long[INITIAL_CAPACITY];
+        private final BitSet xbrl = new BitSet();
+        private final BitSet inlineXbrl = new BitSet();
+        private String[] primaryDocument = new String[INITIAL_CAPACITY];
+        private int[] primaryDocDescription = new int[INITIAL_CAPACITY];
+        private final StringDictionary companyNames = new StringDictionary();
+        private final StringDictionary strings = new StringDictionary();
+
+        int size() {
+            return size;
+        }
+
+        void add(CompanyFilingMetadataDto filing) {
+            add(filing.cik(), filing.name(), column -> switch (column) {
+                case ACCESSION_NUMBER -> filing.accessionNumber();
+                case FILING_DATE -> filing.filingDate();
+                case REPORT_DATE -> filing.reportDate();
+                case ACCEPTANCE_DATE_TIME -> filing.acceptanceDateTime();
+                case ACT -> filing.act();
+                case FORM -> filing.form();
+                case FILE_NUMBER -> filing.fileNumber();
+                case FILM_NUMBER -> filing.filmNumber();
+                case ITEMS -> filing.items();
+                case CORE_TYPE -> filing.coreType();
+                case SIZE -> filing.size();
+                case IS_XBRL -> filing.isXbrl() ? "1" : "0";
+                case IS_INLINE_XBRL -> filing.isInlineXbrl() ? "1" : "0";
+                case PRIMARY_DOCUMENT -> filing.primaryDocument();
+                case PRIMARY_DOC_DESCRIPTION -> filing.primaryDocDescription();
+            });
+        }
+
+        /**
+         * Adds a filing given as the raw values of the submissions columns.
+         */
+        void add(String companyCik, String name, Function<SubmissionsParser.Column, String> values) {
+            if (size == cik.length) {
+                grow();
+            }
+            int row = size++;
+            cik[row] = parseCik(companyCik);
+            companyName[row] = isEmpty(name) ? StringDictionary.NOT_FOUND : companyNames.intern(name);
+            accessionNumber[row] = packAccessionNumber(values.apply(SubmissionsParser.Column.ACCESSION_NUMBER));
+            filingDate[row] = epochDay(values.apply(SubmissionsParser.Column.FILING_DATE));
+            reportDate[row] = epochDay(values.apply(SubmissionsParser.Column.REPORT_DATE));
+            acceptanceDateTime[row] = epochMillis(values.apply(SubmissionsParser.Column.ACCEPTANCE_DATE_TIME));
+            act[row] = intern(values.apply(SubmissionsParser.Column.ACT));
+            form[row] = intern(values.apply(SubmissionsParser.Column.FORM));
+            fileNumber[row] = intern(values.apply(SubmissionsParser.Column.FILE_NUMBER));
+            filmNumber[row] = parseNumber(values.apply(SubmissionsParser.Column.FILM_NUMBER));
+            items[row] = intern(values.apply(SubmissionsParser.Column.ITEMS));
+            coreType[row] = intern(values.apply(SubmissionsParser.Column.CORE_TYPE));
+            fileSize[row] = parseNumber(values.apply(SubmissionsParser.Column.SIZE));
+            xbrl.set(row, "1".equals(values.apply(SubmissionsParser.Column.IS_XBRL)));
+            inlineXbrl.set(row, "1".equals(values.apply(SubmissionsParser.Column.IS_INLINE_XBRL)));
+            String document = values.apply(SubmissionsParser.Column.PRIMARY_DOCUMENT);
+            primaryDocument[row] = isEmpty(document) ? null : document;
+            primaryDocDescription[row] = intern(values.apply(SubmissionsParser.Column.PRIMARY_DOC_DESCRIPTION));
+        }
+
+        /**
+         * Copies a row of another index, re-encoding its strings.
+         */
+        void add(FilingIndex index, int from) {
+            if (size == cik.length) {
+                grow();
+            }
+            int row = size++;
+            cik[row] = index.cik[from];
+            companyName[row] = index.companyName[from] == StringDictionary.NOT_FOUND
+                    ? StringDictionary.NOT_FOUND : companyNames.intern(index.companyNames.get(index.companyName[from]));
+            accessionNumber[row] = index.accessionNumber[from];
+            filingDate[row] = index.filingDate[from];
+            reportDate[row] = index.reportDate[from];
+            acceptanceDateTime[row] = index.acceptanceDateTime[from];
+            act[row] = intern(index.string(index.act[from]));
+            form[row] = intern(index.string(index.form[from]));
+            fileNumber[row] = intern(index.string(index.fileNumber[from]));
+            filmNumber[row] = index.filmNumber[from];
+            items[row] = intern(index.string(index.items[from]));
+            coreType[row] = intern(index.string(index.coreType[from]));
+            fileSize[row] = index.fileSize[from];
+            xbrl.set(row, index.xbrl.get(from));
+            inlineXbrl.set(row, index.inlineXbrl.get(from));
+            primaryDocument[row] = index.primaryDocument[from];
+            primaryDocDescription[row] = intern(index.string(index.primaryDocDescription[from]));
+        }
+
+        FilingIndex build() {
+            return new FilingIndex(this);
+        }
+
+        private int intern(String value) {
+            return isEmpty(value) ? StringDictionary.NOT_FOUND : strings.intern(value);
+        }
+
+        private void grow() {
+            int capacity = size + (size >> 1);
+            cik = Arrays.copyOf(cik, capacity);
+            companyName = Arrays.copyOf(companyName, capacity);
+            accessionNumber = Arrays.copyOf(accessionNumber, capacity);
+            filingDate = Arrays.copyOf(filingDate, capacity);
+            reportDate = Arrays.copyOf(reportDate, capacity);
+            acceptanceDateTime = Arrays.copyOf(acceptanceDateTime, capacity);
+            act = Arrays.copyOf(act, capacity);
+            form = Arrays.copyOf(form, capacity);
+            fileNumber = Arrays.copyOf(fileNumber, capacity);
+            filmNumber = Arrays.copyOf(filmNumber, capacity);
+            items = Arrays.copyOf(items, capacity);
+            coreType = Arrays.copyOf(coreType, capacity);
+            fileSize = Arrays.copyOf(fileSize, capacity);
+            primaryDocument = Arrays.copyOf(primaryDocument, capacity);
+            primaryDocDescription = Arrays.copyOf(primaryDocDescription, capacity);
+        }
+
+        private static boolean isEmpty(String value) {
+            return value == null || value.isEmpty();
+        }
+
+        private static int parseCik(String value) {
+            long number = parseNumber(value);
+            return number < 0 || number > Integer.MAX_VALUE ? -1 : (int) number;
+        }
+
+        private static long parseNumber(String value) {
+            if (isEmpty(value)) {
+                return NO_NUMBER;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return NO_NUMBER;
+            }
+        }
+
+        private static int epochDay(String value) {
+            return isEmpty(value) ? NO_DATE : CompanyFactsParser.epochDay(value.toCharArray(), 0, value.length());
+        }
+
+        private static long epochMillis(String value) {
+            if (isEmpty(value)) {
+                return NO_NUMBER;
+            }
+            try {
+                return Instant.parse(value).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return NO_NUMBER;
+            }
+        }
+    }
+}
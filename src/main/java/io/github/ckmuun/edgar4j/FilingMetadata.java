@@ -0,0 +1,104 @@
+package io.github.ckmuun.edgar4j;
+
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Filing-level metadata such as CIK, company name, accession number, filing date and form.
+ * <p>
+ * One instance is created per parsed filing and shared by the {@link Document} and all of its
+ * {@link DocumentChunk}s instead of copying the fields into a map per chunk. It is an immutable
+ * map without null keys or values, so it can be used wherever the metadata map was used before.
+ */
+public final class FilingMetadata extends AbstractMap<String, Object> {
+
+    public static final FilingMetadata EMPTY = new FilingMetadata(Map.of());
+
+    private final Map<String, Object> entries;
+
+    private FilingMetadata(Map<String, Object> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Creates the metadata of a filing from its submission entry.
+     */
+    public static FilingMetadata of(CompanyFilingMetadataDto filing) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        if (filing.cik() != null) entries.put("cik", filing.cik());
+        if (filing.name() != null) entries.put("companyName", filing.name());
+        if (filing.accessionNumber() != null) entries.put("accessionNumber", filing.accessionNumber());
+        if (filing.filingDate() != null) entries.put("filingDate", filing.filingDate());
+        if (filing.reportDate() != null) entries.put("reportDate", filing.reportDate());
+        if (filing.form() != null) entries.put("form", filing.form());
+        if (filing.primaryDocument() != null) entries.put("primaryDocument", filing.primaryDocument());
+        return new FilingMetadata(Map.copyOf(entries));
+    }
+
+    /**
+     * Creates metadata from a map. Null keys and values are dropped; instances are returned as is.
+     */
+    public static FilingMetadata of(Map<String, Object> metadata) {
+        if (metadata instanceof FilingMetadata filing) {
+            return filing;
+        }
+        if (metadata == null || metadata.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, Object> entries = new LinkedHashMap<>();
+        metadata.forEach((key, value) -> {
+            if (key != null && value != null) entries.put(key, value);
+        });
+        return new FilingMetadata(Map.copyOf(entries));
+    }
+
+    public String cik() {
+        return string("cik");
+    }
+
+    public String companyName() {
+        return string("companyName");
+    }
+
+    public String accessionNumber() {
+        return string("accessionNumber");
+    }
+
+    /**
+     * Filing date as yyyy-MM-dd.
+     */
+    public String filingDate() {
+        return string("filingDate");
+    }
+
+    public String form() {
+        return string("form");
+    }
+
+    @Override
+    public Object get(Object key) {
+        return entries.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return entries.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return entries.entrySet();
+    }
+
+    private String string(String key) {
+        Object value = entries.get(key);
+        return value == null ? null : value.toString();
+    }
+}
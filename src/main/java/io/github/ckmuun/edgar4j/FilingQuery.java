@@ -0,0 +1,81 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.Builder;
+
+import java.util.Set;
+
+/**
+ * Restricts the filings returned by {@link FilingService#getCompanyFilings(String, FilingQuery)}.
+ * The query is evaluated on the raw columns while the submissions JSON is parsed, so filings that
+ * do not match are never turned into {@link CompanyFilingMetadataDto}s, and older submissions pages
+ * are only fetched if they can hold matching filings.
+ *
+ * @param forms       Forms to return, e.g. {@code Set.of("10-K")}; null or empty for all forms
+ * @param filingDates Range of filing dates; null for all dates
+ * @param xbrlOnly    Whether to return only filings with XBRL data
+ * @param limit       Maximum number of filings, newest first; 0 for no limit
+ */
+@Builder
+public record FilingQuery(Set<String> forms, DateRange filingDates, boolean xbrlOnly, int limit) {
+
+    /**
+     * Query matching every filing.
+     */
+    public static final FilingQuery ALL = new FilingQuery(null, null, false, 0);
+
+    public FilingQuery {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative: " + limit);
+        }
+        forms = forms == null ? Set.of() : Set.copyOf(forms);
+        filingDates = filingDates == null ? DateRange.ALL : filingDates;
+    }
+
+    /**
+     * Query for all filings of the given forms.
+     */
+    public static FilingQuery forms(String... forms) {
+        return new FilingQuery(Set.of(forms), null, false, 0);
+    }
+
+    /**
+     * Query for the latest filing of a form, e.g. the latest 10-K.
+     */
+    public static FilingQuery latest(String form) {
+        return new FilingQuery(Set.of(form), null, false, 1);
+    }
+
+    /**
+     * Whether the number of filings is limited.
+     */
+    public boolean isLimited() {
+        return limit > 0;
+    }
+
+    /**
+     * Whether a filing matches, given the raw values of its submissions columns.
+     *
+     * @param form       Form type
+     * @param filingDate ISO filing date
+     * @param xbrl       Whether the filing has XBRL data
+     */
+    boolean matches(String form, String filingDate, boolean xbrl) {
+        return matchesForm(form) && filingDates.contains(filingDate) && matchesXbrl(xbrl);
+    }
+
+    boolean matchesForm(String form) {
+        return forms.isEmpty() || forms.contains(form);
+    }
+
+    boolean matchesXbrl(boolean xbrl) {
+        return !xbrlOnly || xbrl;
+    }
+
+    /**
+     * Whether a submissions page covering the given filing dates can hold matching filings.
+     */
+    boolean overlaps(String filingFrom, String filingTo) {
+        return !filingDates.isBefore(filingTo)
+                && (filingDates.to() == null || filingFrom == null || filingFrom.compareTo(filingDates.to().toString()) <= 0);
+    }
+}
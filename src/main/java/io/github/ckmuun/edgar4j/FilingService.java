@@ -1,16 +1,32 @@
 package io.github.ckmuun.edgar4j;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static io.github.ckmuun.edgar4j.Constants.*;
 
@@ -20,8 +36,14 @@ import static io.github.ckmuun.edgar4j.Constants.*;
 @Slf4j
 public class FilingService {
 
+    private static final int SUBMISSIONS_PAGE_CONCURRENCY = 2;
+    private static final int FILING_FILE_CONCURRENCY = 4;
+    private static final String SPOOL_FILE_PREFIX = "edgar4j-filing-";
+    private static final ZoneId EDGAR_ZONE = ZoneId.of("America/New_York");
+
     private final WebClient webClient;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TickerRegistry tickerRegistry;
+    private final FilingCache filingCache;
 
     /**
      * Creates a new EdgarDownloadService with the provided WebClient.
@@ -29,7 +51,30 @@ public class FilingService {
      * @param webClient WebClient instance configured for SEC access
      */
     public FilingService(WebClient webClient) {
+        this(webClient, new TickerRegistry(webClient));
+    }
+
+    /**
+     * Creates a new EdgarDownloadService with the provided WebClient and ticker registry.
+     *
+     * @param webClient      WebClient instance configured for SEC access
+     * @param tickerRegistry Cache in front of the SEC company tickers file
+     */
+    public FilingService(WebClient webClient, TickerRegistry tickerRegistry) {
+        this(webClient, tickerRegistry, null);
+    }
+
+    /**
+     * Creates a new EdgarDownloadService with the provided WebClient, ticker registry and filing cache.
+     *
+     * @param webClient      WebClient instance configured for SEC access
+     * @param tickerRegistry Cache in front of the SEC company tickers file
+     * @param filingCache    Cache for downloaded filing documents, or null to download them every time
+     */
+    public FilingService(WebClient webClient, TickerRegistry tickerRegistry, FilingCache filingCache) {
         this.webClient = webClient;
+        this.tickerRegistry = tickerRegistry;
+        this.filingCache = filingCache;
     }
 
     /**
@@ -55,31 +100,344 @@ public class FilingService {
      * @return Flux of CompanyTickerDto objects
      */
     public Flux<CompanyTickerDto> getCompanyTickers() {
-        log.info("Fetching company tickers...");
-        return webClient.get()
-                .uri(SEC_BASE + TICKER_FILE_PATH)
-                .retrieve()
-                .bodyToMono(String.class)
-                .flatMapIterable(this::parseCompanyTickerDtos);
+        return tickerRegistry.getTickers()
+                .flatMapIterable(tickers -> tickers);
+    }
+
+    /**
+     * Looks up a single company by its ticker symbol, ignoring case.
+     * Served from the ticker registry, so repeated lookups cost no request.
+     *
+     * @param ticker The stock ticker symbol (e.g., "AAPL", "MSFT")
+     * @return Mono containing the CompanyTickerDto, or empty if the ticker is unknown
+     */
+    public Mono<CompanyTickerDto> getCompanyTicker(String ticker) {
+        return tickerRegistry.findByTicker(ticker);
+    }
+
+    /**
+     * Looks up a single company by its CIK.
+     *
+     * @param cik Company CIK (Central Index Key), with or without leading zeroes
+     * @return Mono containing the CompanyTickerDto, or empty if the CIK is unknown
+     */
+    public Mono<CompanyTickerDto> getCompanyTickerByCik(String cik) {
+        return tickerRegistry.findByCik(cik);
     }
 
     /**
-     * Retrieves filings for a specific company by CIK.
+     * Retrieves the complete filing history of a company by CIK, newest first.
+     * The most recent filings come from the main submissions file. Older filings are
+     * spread over additional submissions pages, which are fetched one at a time and only
+     * while the subscriber still requests filings after the previous page is exhausted.
+     * A subscriber that cancels or stops requesting within the recent filings causes a
+     * single request; one that consumes everything causes one request per page.
      *
      * @param cik Company CIK (Central Index Key)
      * @return Flux of CompanyFilingMetadataDto objects
+     * @see #getRecentCompanyFilings(String)
      */
     public Flux<CompanyFilingMetadataDto> getCompanyFilings(String cik) {
-        cik = addLeadingZeroesToCik(cik);
+        return getCompanyFilings(cik, FilingQuery.ALL);
+    }
+
+    /**
+     * Retrieves only the recent filings of a company from its main submissions file, newest
+     * first: at least the last year, and up to the last 1,000 filings. Older submissions pages
+     * are never fetched.
+     *
+     * @param cik Company CIK (Central Index Key)
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    public Flux<CompanyFilingMetadataDto> getRecentCompanyFilings(String cik) {
+        return getCompanyFilings(cik, FilingQuery.ALL, false);
+    }
+
+    /**
+     * Retrieves the filings of a company matching a query, newest first.
+     * The query is applied while the submissions are parsed: filings that do not match are
+     * never materialized, and older submissions pages are skipped once the limit is reached
+     * or when they lie outside the query's date range. Looking up the latest 10-K with
+     * {@link FilingQuery#latest(String)} thus usually costs a single request.
+     *
+     * @param cik   Company CIK (Central Index Key)
+     * @param query Forms, filing dates, XBRL flag and limit of the filings to return
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    public Flux<CompanyFilingMetadataDto> getCompanyFilings(String cik, FilingQuery query) {
+        return getCompanyFilings(cik, query, true);
+    }
+
+    private Flux<CompanyFilingMetadataDto> getCompanyFilings(String cik, FilingQuery query, boolean olderPages) {
+        String paddedCik = addLeadingZeroesToCik(cik);
+        Flux<CompanyFilingMetadataDto> filings = Flux.defer(() -> {
+            var parser = SubmissionsParser.forSubmissions().withQuery(query);
+            return webClient.get()
+                    .uri(SEC_BASE_DATA + "/submissions/CIK{cik}.json", paddedCik)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .transform(parser::parse)
+                    .concatWith(Flux.defer(() -> !olderPages || parser.exhausted()
+                            ? Flux.empty()
+                            : getOlderCompanyFilings(parser.cik(), parser.name(), parser.pages(), query)));
+        });
+        // each page counts its own rows, the limit holds across all of them
+        return query.isLimited() ? filings.take(query.limit()) : filings;
+    }
+
+    private Flux<CompanyFilingMetadataDto> getOlderCompanyFilings(String cik, String name,
+                                                                  List<SubmissionsParser.SubmissionsPage> pages,
+                                                                  FilingQuery query) {
+        return Flux.fromIterable(pages)
+                .filter(page -> query.overlaps(page.filingFrom(), page.filingTo()))
+                .concatMap(page -> fetchOnRequest(page, p -> getSubmissionsPage(cik, name, p.name(), query)), 0);
+    }
+
+    /**
+     * Defers a fetch until its subscriber requests the first element. WebClient sends the request
+     * as soon as it is subscribed to, and concatMap subscribes to the next inner publisher as soon
+     * as the previous one completes, regardless of outstanding demand. A concatMap without
+     * prefetch only maps its single element once it is requested itself; the element is hidden
+     * so that concatMap does not map it right away as a scalar.
+     */
+    private static <T, R> Flux<R> fetchOnRequest(T value, Function<T, Flux<R>> fetch) {
+        return Flux.just(value).hide().concatMap(fetch, 0);
+    }
+
+    /**
+     * Retrieves the filings of one older submissions page.
+     *
+     * @param cik      Company CIK, as the pages do not repeat it
+     * @param name     Company name, as the pages do not repeat it
+     * @param pageName File name of the page, e.g. CIK0000320193-submissions-001.json
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    protected Flux<CompanyFilingMetadataDto> getSubmissionsPage(String cik, String name, String pageName) {
+        return getSubmissionsPage(cik, name, pageName, FilingQuery.ALL);
+    }
+
+    /**
+     * Retrieves the filings of one older submissions page that match a query.
+     *
+     * @param cik      Company CIK, as the pages do not repeat it
+     * @param name     Company name, as the pages do not repeat it
+     * @param pageName File name of the page, e.g. CIK0000320193-submissions-001.json
+     * @param query    Filings to return
+     * @return Flux of CompanyFilingMetadataDto objects
+     */
+    protected Flux<CompanyFilingMetadataDto> getSubmissionsPage(String cik, String name, String pageName, FilingQuery query) {
         return webClient.get()
-                .uri(SEC_BASE_DATA + "/submissions/CIK{cik}.json", cik)
+                .uri(SEC_BASE_DATA + "/submissions/{pageName}", pageName)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .transform(body -> Flux.defer(() -> SubmissionsParser.forPage(cik, name).withQuery(query).parse(body)));
+    }
+
+    /**
+     * Retrieves the complete filing history of a company by CIK as a compact {@link FilingIndex}.
+     * The submissions files are parsed straight into the index's primitive columns, without creating
+     * a {@link CompanyFilingMetadataDto} per filing; the older submissions pages are loaded
+     * {@value #SUBMISSIONS_PAGE_CONCURRENCY} at a time.
+     *
+     * @param cik Company CIK (Central Index Key)
+     * @return Mono containing the FilingIndex, sorted by filing date
+     */
+    public Mono<FilingIndex> getCompanyFilingIndex(String cik) {
+        String paddedCik = addLeadingZeroesToCik(cik);
+        return Mono.defer(() -> {
+            var recent = new FilingIndex.Builder();
+            var parser = SubmissionsParser.forSubmissions().collectInto(recent);
+            return webClient.get()
+                    .uri(SEC_BASE_DATA + "/submissions/CIK{cik}.json", paddedCik)
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .transform(parser::parse)
+                    .then(Mono.fromCallable(recent::build))
+                    .flatMap(index -> Flux.fromIterable(parser.pages())
+                            .flatMapSequential(page -> getSubmissionsPageIndex(parser.cik(), parser.name(), page.name()),
+                                    SUBMISSIONS_PAGE_CONCURRENCY, 1)
+                            .startWith(index)
+                            .collectList()
+                            .map(indexes -> indexes.size() == 1 ? index : FilingIndex.merge(indexes)));
+        });
+    }
+
+    private Mono<FilingIndex> getSubmissionsPageIndex(String cik, String name, String pageName) {
+        return webClient.get()
+                .uri(SEC_BASE_DATA + "/submissions/{pageName}", pageName)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> Mono.defer(() -> {
+                    var builder = new FilingIndex.Builder();
+                    return SubmissionsParser.forPage(cik, name).collectInto(builder).parse(body)
+                            .then(Mono.fromCallable(builder::build));
+                }));
+    }
+
+    /**
+     * Retrieves the filings of one day from the EDGAR daily index.
+     * Like all index filings, they have no {@code primaryDocument}.
+     *
+     * @param date Day the filings were filed on
+     * @return Flux of the filings, empty if there is no index for that day, e.g. on weekends
+     */
+    public Flux<CompanyFilingMetadataDto> getDailyIndex(LocalDate date) {
+        return getIndexFile(dailyIndexPath(date), FilingIndex.NO_DATE).flatMapIterable(filings -> filings);
+    }
+
+    /**
+     * Retrieves the filings of one quarter from the EDGAR full index.
+     * The index of the current quarter is extended by SEC every night.
+     * Like all index filings, they have no {@code primaryDocument}.
+     *
+     * @param year    Year of the quarter
+     * @param quarter Quarter, 1 to 4
+     * @return Flux of the filings, empty if there is no index for that quarter, or an
+     * IllegalArgumentException if the quarter is out of range
+     */
+    public Flux<CompanyFilingMetadataDto> getQuarterlyIndex(int year, int quarter) {
+        if (quarter < 1 || quarter > 4) {
+            return Flux.error(new IllegalArgumentException("quarter must be between 1 and 4: " + quarter));
+        }
+        return Flux.defer(() -> getIndexFile(quarterlyIndexPath(LocalDate.of(year, (quarter - 1) * 3 + 1, 1)), FilingIndex.NO_DATE))
+                .flatMapIterable(filings -> filings);
+    }
+
+    /**
+     * Retrieves all filings filed after a watermark from the EDGAR index files and moves the watermark
+     * forward. Completed quarters are read from one quarterly index each and the current quarter from
+     * the daily indexes, so a daily run costs one request per day since the last run instead of one
+     * request per company. The watermark is advanced once the filings of an index have been emitted,
+     * so filings are delivered at least once even if the crawl is interrupted. A failed request, e.g.
+     * a 403 when SEC throttles the client, ends the crawl with an error and leaves the watermark at the
+     * last index read completely.
+     * <p>
+     * The index files do not name the primary document, so the filings have no {@code primaryDocument};
+     * their documents are available through {@link #getSubmissionDocuments(CompanyFilingMetadataDto)}
+     * and {@link #getFilingDirectory(String, String)}.
+     *
+     * @param watermark Last filing date already crawled, advanced as the indexes are processed
+     * @return Flux of the new filings, oldest index first
+     */
+    public Flux<CompanyFilingMetadataDto> getNewFilings(IndexWatermark watermark) {
+        return getNewFilings(watermark, LocalDate.now(EDGAR_ZONE));
+    }
+
+    protected Flux<CompanyFilingMetadataDto> getNewFilings(IndexWatermark watermark, LocalDate today) {
+        return Flux.defer(() -> {
+            LocalDate from = watermark.get().plusDays(1);
+            LocalDate currentQuarter = firstDayOfQuarter(today);
+            Flux<CompanyFilingMetadataDto> quarters = Flux.fromStream(
+                            Stream.iterate(firstDayOfQuarter(from), quarter -> quarter.isBefore(currentQuarter), quarter -> quarter.plusMonths(3)))
+                    .concatMap(quarter -> crawlIndex(quarterlyIndexPath(quarter), watermark, quarter.plusMonths(3).minusDays(1), true));
+            LocalDate firstDay = from.isAfter(currentQuarter) ? from : currentQuarter;
+            Flux<CompanyFilingMetadataDto> days = Flux.fromStream(
+                            Stream.iterate(firstDay, day -> !day.isAfter(today), day -> day.plusDays(1)))
+                    // days without an index before today had no filings, today's index may not be published yet
+                    .concatMap(day -> crawlIndex(dailyIndexPath(day), watermark, day, day.isBefore(today)));
+            return quarters.concatWith(days);
+        });
+    }
+
+    private Flux<CompanyFilingMetadataDto> crawlIndex(String path, IndexWatermark watermark, LocalDate indexEnd,
+                                                      boolean complete) {
+        return getIndexFile(path, (int) watermark.get().toEpochDay())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMapMany(filings -> {
+                    if (filings.isEmpty() && !complete) {
+                        return Flux.empty();
+                    }
+                    return Flux.fromIterable(filings.orElse(List.of()))
+                            .concatWith(Mono.<CompanyFilingMetadataDto>fromRunnable(() -> watermark.advanceTo(indexEnd))
+                                    .subscribeOn(Schedulers.boundedElastic()));
+                });
+    }
+
+    /**
+     * Downloads an index file to a spool file and scans it through a memory mapping.
+     *
+     * @return Mono of the filings filed after the given epoch day, empty if the index does not exist
+     */
+    private Mono<List<CompanyFilingMetadataDto>> getIndexFile(String path, int afterEpochDay) {
+        Flux<DataBuffer> body = webClient.get()
+                .uri(SEC_BASE + path)
                 .retrieve()
-                .bodyToMono(String.class)
-                .flatMapIterable(this::parseFilingsList);
+                .bodyToFlux(DataBuffer.class);
+        return spool(body)
+                .publishOn(Schedulers.boundedElastic())
+                .map(file -> {
+                    try {
+                        return EdgarIndexParser.parse(file, afterEpochDay);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException("Failed to read EDGAR index " + path, ioe);
+                    } finally {
+                        deleteSpoolFile(file);
+                    }
+                })
+                // SEC answers 404 for indexes of days without filings; a 403 means the client is
+                // throttled and fails the crawl, so the watermark is not moved past the index
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty());
+    }
+
+    private static String dailyIndexPath(LocalDate date) {
+        return "/Archives/edgar/daily-index/%d/QTR%d/master.%s.idx"
+                .formatted(date.getYear(), quarterOf(date), date.format(DateTimeFormatter.BASIC_ISO_DATE));
+    }
+
+    private static String quarterlyIndexPath(LocalDate date) {
+        return "/Archives/edgar/full-index/%d/QTR%d/master.idx".formatted(date.getYear(), quarterOf(date));
+    }
+
+    private static int quarterOf(LocalDate date) {
+        return (date.getMonthValue() - 1) / 3 + 1;
+    }
+
+    private static LocalDate firstDayOfQuarter(LocalDate date) {
+        return LocalDate.of(date.getYear(), (quarterOf(date) - 1) * 3 + 1, 1);
+    }
+
+    /**
+     * Retrieves all XBRL facts a company reported, from the SEC company facts API.
+     * The response, tens of MB for large filers, is parsed while it streams in and
+     * stored as one primitive time series per concept and unit.
+     *
+     * @param cik Company CIK (Central Index Key)
+     * @return Mono containing the CompanyFacts
+     */
+    public Mono<CompanyFacts> getCompanyFacts(String cik) {
+        String paddedCik = addLeadingZeroesToCik(cik);
+        return Mono.defer(() -> webClient.get()
+                .uri(SEC_BASE_DATA + "/api/xbrl/companyfacts/CIK{cik}.json", paddedCik)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(new CompanyFactsParser()::parse));
+    }
+
+    /**
+     * Retrieves one XBRL concept for one calendar period across all companies, from the SEC frames API.
+     *
+     * @param taxonomy Taxonomy of the concept, e.g. "us-gaap"
+     * @param concept  Concept name without taxonomy, e.g. "Revenues"
+     * @param unit     Unit of the values, e.g. "USD", "shares" or "USD-per-shares"
+     * @param period   Calendar period: "CY2023" for a year, "CY2023Q4" for a quarter, "CY2023Q4I" for an instant
+     * @return Mono containing the Frame, sorted by CIK
+     */
+    public Mono<Frame> getFrame(String taxonomy, String concept, String unit, String period) {
+        return Mono.defer(() -> webClient.get()
+                .uri(SEC_BASE_DATA + "/api/xbrl/frames/{taxonomy}/{concept}/{unit}/{period}.json", taxonomy, concept, unit, period)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(new FramesParser()::parse));
     }
 
     /**
      * Downloads a specific company filing.
+     * The document is streamed to a temporary spool file instead of being held in memory, and
+     * the returned filing reads from that file, which is deleted when the stream is closed.
+     * If a filing cache is configured, cached documents are read from disk without any request
+     * and downloaded documents are added to the cache. Documents the cache cannot hold, such as
+     * filings without a {@code primaryDocument}, are always downloaded.
      *
      * @param metadata Filing metadata containing the information needed to download
      * @return Mono containing the CompanyFilingDto with filing content
@@ -88,135 +446,207 @@ public class FilingService {
         var cik = removeLeadingZeroesFromCik(metadata.cik());
         var accessionNumber = metadata.accessionNumber().replace("-", "");
         var filename = metadata.primaryDocument();
-        return execFilingRequest(cik, accessionNumber, filename)
-                .map(dataBuffer -> new CompanyFilingDto(metadata, dataBuffer.asInputStream()));
+        boolean cached = filingCache != null && FilingCache.isValidKey(cik, accessionNumber, filename);
+        Mono<InputStream> download = spool(execFilingRequest(cik, accessionNumber, filename))
+                .publishOn(Schedulers.boundedElastic())
+                .map(file -> openSpoolFile(file, cached ? filingCache : null, cik, accessionNumber, filename))
+                // a cancellation after spooling drops the file before it is opened
+                .doOnDiscard(Path.class, FilingService::deleteSpoolFile);
+        if (cached) {
+            download = Mono.fromCallable(() -> filingCache.get(cik, accessionNumber, filename))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .switchIfEmpty(download);
+        }
+        return download
+                .map(file -> new CompanyFilingDto(metadata, file))
+                .doOnDiscard(InputStream.class, FilingService::closeQuietly);
     }
 
-    protected Mono<DataBuffer> execFilingRequest(String cik, String accessionNumber, String filename) {
+    /**
+     * Lists the files in the archive directory of a filing.
+     *
+     * @param cik             Company CIK, with or without leading zeroes
+     * @param accessionNumber Accession number, with or without dashes
+     * @return Mono containing the FilingDirectory
+     */
+    public Mono<FilingDirectory> getFilingDirectory(String cik, String accessionNumber) {
+        var normalizedCik = removeLeadingZeroesFromCik(cik);
+        var directory = accessionNumber.replace("-", "");
         return webClient.get()
-                .uri(SEC_BASE + "/Archives/edgar/data/{cik}/{accessionNumber}/{filename}", cik, accessionNumber, filename)
+                .uri(SEC_BASE + "/Archives/edgar/data/{cik}/{accessionNumber}/index.json", normalizedCik, directory)
                 .retrieve()
-                .bodyToFlux(DataBuffer.class)
-                .reduce(DataBuffer::write);
+                .bodyToMono(JsonNode.class)
+                .map(indexJson -> FilingDirectory.of(normalizedCik, directory, indexJson));
     }
 
-    private String removeLeadingZeroesFromCik(String cik) {
-        return cik.replaceFirst("^0+(?!$)", "");
+    /**
+     * Downloads the files of a filing whose names match any of the globs, e.g. the rendered
+     * financial reports ({@code "R*.htm"}), the XBRL instance ({@code "*_htm.xml"}) or an exhibit.
+     * The directory listing is read once, then up to {@value #FILING_FILE_CONCURRENCY} files are
+     * downloaded at the same time, throttled by the WebClient's rate limiter. Every file is spooled
+     * and cached like the primary document by {@link #getCompanyFiling(CompanyFilingMetadataDto)}.
+     *
+     * @param metadata Filing metadata containing the CIK and accession number
+     * @param globs    File name globs; all files if none are given
+     * @return Flux of CompanyFilingDto objects in the order of the listing, each with the file
+     * name as {@code primaryDocument} of its metadata
+     */
+    public Flux<CompanyFilingDto> getFilingFiles(CompanyFilingMetadataDto metadata, String... globs) {
+        return Flux.defer(() -> {
+            // flatMapSequential drops files downloaded ahead of the subscriber on cancellation or
+            // error without discarding them, so they are tracked until they are emitted
+            var pending = new PendingFilings();
+            return getFilingDirectory(metadata.cik(), metadata.accessionNumber())
+                    .flatMapIterable(directory -> directory.files(globs))
+                    .flatMapSequential(entry -> getCompanyFiling(metadata.toBuilder().primaryDocument(entry.name()).build())
+                            .doOnNext(pending::add), FILING_FILE_CONCURRENCY, 1)
+                    .doOnNext(pending::remove)
+                    .doOnError(e -> pending.closeAll())
+                    .doOnCancel(pending::closeAll);
+        });
     }
 
-    private String addLeadingZeroesToCik(String cik) {
-        StringBuilder cikBuilder = new StringBuilder(cik);
-        while (cikBuilder.length() < 10) {
-            cikBuilder.insert(0, "0");
-        }
-        return cikBuilder.toString();
-    }
+    /**
+     * Filings that were downloaded but not yet emitted to the subscriber.
+     */
+    private static final class PendingFilings {
 
-    protected List<CompanyFilingMetadataDto> parseFilingsList(String rawResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(rawResponse);
-            JsonNode recent = root.path("filings").path("recent");
-
-            String cik = root.path("cik").asText();
-            String name = root.path("name").asText();
-
-            List<String> accessionNumbers = extractTextArray(recent.path("accessionNumber"));
-            List<String> filingDates = extractTextArray(recent.path("filingDate"));
-            List<String> reportDates = extractTextArray(recent.path("reportDate"));
-            List<String> acceptanceDateTimes = extractTextArray(recent.path("acceptanceDateTime"));
-            List<String> acts = extractTextArray(recent.path("act"));
-            List<String> forms = extractTextArray(recent.path("form"));
-            List<String> fileNumbers = extractTextArray(recent.path("fileNumber"));
-            List<String> filmNumbers = extractTextArray(recent.path("filmNumber"));
-            List<String> items = extractTextArray(recent.path("items"));
-            List<String> coreTypes = extractTextArray(recent.path("core_type"));
-            List<String> sizes = extractTextArray(recent.path("size"));
-            List<String> isXbrls = extractTextArray(recent.path("isXBRL"));
-            List<String> isInlineXbrls = extractTextArray(recent.path("isInlineXBRL"));
-            List<String> primaryDocuments = extractTextArray(recent.path("primaryDocument"));
-            List<String> primaryDocumentDescriptions = extractTextArray(recent.path("primaryDocDescription"));
-
-            int length = accessionNumbers.size();
-            List<CompanyFilingMetadataDto> filings = new ArrayList<>(length);
-
-            for (int i = 0; i < length; i++) {
-                filings.add(new CompanyFilingMetadataDto(
-                        cik,
-                        name,
-                        accessionNumbers.get(i),
-                        filingDates.get(i),
-                        reportDates.get(i),
-                        acceptanceDateTimes.get(i),
-                        acts.get(i),
-                        forms.get(i),
-                        fileNumbers.get(i),
-                        filmNumbers.get(i),
-                        items.get(i),
-                        coreTypes.get(i),
-                        sizes.get(i),
-                        "1".equals(isXbrls.get(i)),
-                        "1".equals(isInlineXbrls.get(i)),
-                        primaryDocuments.get(i),
-                        primaryDocumentDescriptions.get(i)
-                ));
+        private final Set<CompanyFilingDto> filings = Collections.newSetFromMap(new IdentityHashMap<>());
+        private boolean closed;
+
+        synchronized void add(CompanyFilingDto filing) {
+            if (closed) {
+                closeQuietly(filing.file());
+            } else {
+                filings.add(filing);
             }
+        }
 
-            return filings;
+        synchronized void remove(CompanyFilingDto filing) {
+            filings.remove(filing);
+        }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse SEC filing response", e);
+        synchronized void closeAll() {
+            closed = true;
+            filings.forEach(filing -> closeQuietly(filing.file()));
+            filings.clear();
         }
     }
 
-    private List<String> extractTextArray(JsonNode arrayNode) {
-        List<String> result = new ArrayList<>();
-        if (arrayNode.isArray()) {
-            for (JsonNode node : arrayNode) {
-                result.add(node.asText());
-            }
-        }
-        return result;
+    /**
+     * Downloads the complete submission text file of a filing and splits it into its documents:
+     * the form itself, all exhibits, the XBRL files and uuencoded graphics or PDFs.
+     * The submission is streamed to a temporary spool file, which is memory-mapped and removed
+     * again right away, so the documents only reference the mapping and large submissions never
+     * sit on the heap. Binary documents are uudecoded while their stream is read.
+     *
+     * @param metadata Filing metadata containing the CIK and accession number
+     * @return Flux of the documents, in the order of the submission
+     */
+    public Flux<SubmissionDocument> getSubmissionDocuments(CompanyFilingMetadataDto metadata) {
+        var cik = removeLeadingZeroesFromCik(metadata.cik());
+        var accessionNumber = metadata.accessionNumber().replace("-", "");
+        var filename = metadata.accessionNumber() + ".txt";
+        return spool(execFilingRequest(cik, accessionNumber, filename))
+                .publishOn(Schedulers.boundedElastic())
+                .flatMapIterable(file -> {
+                    try {
+                        return SubmissionSplitter.split(file);
+                    } catch (IOException ioe) {
+                        throw new UncheckedIOException("Failed to read submission " + filename, ioe);
+                    } finally {
+                        deleteSpoolFile(file);
+                    }
+                });
     }
 
-    protected List<CompanyTickerDto> parseCompanyTickerDtos(String rawResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(sanitizeRawResponse(rawResponse));
-            JsonNode dataArray = root.path("data");
+    protected Flux<DataBuffer> execFilingRequest(String cik, String accessionNumber, String filename) {
+        return webClient.get()
+                .uri(SEC_BASE + "/Archives/edgar/data/{cik}/{accessionNumber}/{filename}", cik, accessionNumber, filename)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class);
+    }
 
-            List<CompanyTickerDto> result = new ArrayList<>();
-            if (dataArray.isArray()) {
-                for (JsonNode node : dataArray) {
-                    result.add(parseCompanyTickerDto(node));
+    /**
+     * Writes a response body to a new temporary file, releasing each buffer once it is written.
+     * The file is deleted again if the download fails or is cancelled.
+     */
+    private Mono<Path> spool(Flux<DataBuffer> body) {
+        return Mono.fromCallable(() -> Files.createTempFile(SPOOL_FILE_PREFIX, ".tmp"))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(file -> DataBufferUtils.write(body, file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+                        .thenReturn(file)
+                        .doOnError(e -> deleteSpoolFile(file))
+                        .doOnCancel(() -> deleteSpoolFile(file)));
+    }
+
+    private static InputStream openSpoolFile(Path file, FilingCache cache, String cik, String accessionNumber, String filename) {
+        try {
+            if (cache != null) {
+                try (InputStream in = Files.newInputStream(file)) {
+                    cache.put(cik, accessionNumber, filename, in);
+                } catch (IOException ioe) {
+                    log.warn("Failed to cache filing {}/{}/{}: {}", cik, accessionNumber, filename, ioe.getMessage());
                 }
             }
+            return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException ioe) {
+            deleteSpoolFile(file);
+            throw new UncheckedIOException("Failed to open downloaded filing " + filename, ioe);
+        }
+    }
 
-            return result;
+    /**
+     * Closes the stream of a filing that was dropped before reaching the subscriber, which
+     * deletes its spool file.
+     */
+    static void closeQuietly(InputStream file) {
+        try {
+            file.close();
+        } catch (IOException ioe) {
+            log.warn("Failed to close filing stream: {}", ioe.getMessage());
+        }
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to parse company tickers response", e);
+    private static void deleteSpoolFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ioe) {
+            log.warn("Failed to delete spool file {}: {}", file, ioe.getMessage());
         }
     }
 
-    protected String sanitizeRawResponse(String rawResponse) {
-        rawResponse = rawResponse.trim();
-        return rawResponse.replaceAll("\\s+", " ");
+    static String removeLeadingZeroesFromCik(String cik) {
+        return cik.replaceFirst("^0+(?!$)", "");
+    }
+
+    static String addLeadingZeroesToCik(String cik) {
+        StringBuilder cikBuilder = new StringBuilder(cik);
+        while (cikBuilder.length() < 10) {
+            cikBuilder.insert(0, "0");
+        }
+        return cikBuilder.toString();
     }
 
-    /*
-        The tickers come as valid, but rather strangely formatted JSON.
-        All fields are in an array, in a certain order, but without any
-        key-value semantics. The top-level JSON has one child element which
-        describes the array formatting.
-        Basically, this is CSV semantics in JSON syntax.
+    /**
+     * Parses a complete submissions response into filing metadata.
+     *
+     * @param rawResponse The submissions JSON
+     * @return List of CompanyFilingMetadataDto objects for the recent filings
      */
-    private CompanyTickerDto parseCompanyTickerDto(JsonNode node) {
-        var arraynode = (ArrayNode) node;
-        var iter = arraynode.elements();
-        var cik = iter.next().asText();
-        var name = iter.next().asText();
-        var ticker = iter.next().asText();
-        var exchange = iter.next().asText();
+    protected List<CompanyFilingMetadataDto> parseFilingsList(String rawResponse) {
+        return SubmissionsParser.forSubmissions().parse(rawResponse.getBytes(StandardCharsets.UTF_8));
+    }
 
-        return new CompanyTickerDto(cik, name, ticker, exchange);
+    /**
+     * Parses a complete submissions response into a {@link FilingIndex}.
+     *
+     * @param rawResponse The submissions JSON
+     * @return FilingIndex of the recent filings
+     */
+    protected FilingIndex parseFilingIndex(String rawResponse) {
+        var builder = new FilingIndex.Builder();
+        SubmissionsParser.forSubmissions().collectInto(builder).parse(rawResponse.getBytes(StandardCharsets.UTF_8));
+        return builder.build();
     }
 }
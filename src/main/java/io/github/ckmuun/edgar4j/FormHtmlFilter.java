@@ -0,0 +1,338 @@
+package io.github.ckmuun.edgar4j;
+
+import org.jsoup.internal.StringUtil;
+import org.jsoup.nodes.CDataNode;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeFilter;
+import org.jsoup.select.NodeTraversor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+import static io.github.ckmuun.edgar4j.Constants.IX_HEADER;
+
+/**
+ * Prepares a parsed filing for item extraction in a single traversal of the DOM.
+ * <p>
+ * Used with {@link org.jsoup.select.NodeTraversor#filter}, it does in one pass what
+ * {@link ParsingService#getXbrlHeader}, {@link ParsingService#stripFormHtml} and the element
+ * walk of {@link ParsingService#getFormItemsFromHtml} do one after the other: it captures and
+ * removes the XBRL header, strips style and colspan attributes, removes elements without text
+ * and links, and records the own text of every remaining element. The numeric XBRL facts are
+ * collected along the way by an {@link XbrlFactExtractor}.
+ * <p>
+ * Whether an element is empty is only known once its subtree has been visited, so the own
+ * texts are recorded in slots reserved in document order when an element is entered and
+ * filled when it is left. The items are then split off the filled slots, which gives exactly
+ * the chunks of the multi-pass implementation.
+ * <p>
+ * {@link #filter(org.jsoup.nodes.Document, ForkJoinPool)} can split the traversal of a large
+ * filing into subtrees that are filtered in parallel, see there.
+ */
+final class FormHtmlFilter implements NodeFilter {
+
+    private static final String LINK = "a";
+    private static final int NO_SLOT = -1;
+    // same ancestor limit jsoup uses to decide whether whitespace is preserved
+    private static final int PRESERVE_WHITESPACE_DEPTH = 6;
+    // element children of a container worth filtering by separate tasks
+    private static final int MIN_BLOCKS = 16;
+
+    private final StringBuilder xbrlHeader = new StringBuilder();
+    private final List<String> ownTexts = new ArrayList<>();
+    // null for filters of subtrees, as the XBRL header and facts are then taken beforehand
+    private final XbrlFactExtractor facts;
+    // subtrees already filtered by tasks, spliced in when the traversal reaches them
+    private final Map<Node, FormHtmlFilter> filteredSubtrees;
+    // whether the root of a subtree filtered by a task is to be removed from its parent
+    private boolean rootRemoved;
+
+    // state of the currently open elements, indexed by depth
+    private int[] slots = new int[32];
+    private boolean[] hasText = new boolean[32];
+    private int openLinks;
+
+    FormHtmlFilter() {
+        this(null);
+    }
+
+    /**
+     * @param accessionNumber Accession number of the filing, stored with its XBRL facts
+     */
+    FormHtmlFilter(String accessionNumber) {
+        this(new XbrlFactExtractor(accessionNumber), Map.of());
+    }
+
+    private FormHtmlFilter(XbrlFactExtractor facts, Map<Node, FormHtmlFilter> filteredSubtrees) {
+        this.facts = facts;
+        this.filteredSubtrees = filteredSubtrees;
+    }
+
+    /**
+     * Filters a parsed filing, on the calling thread or split into subtrees on a fork/join pool.
+     * <p>
+     * With a pool, the XBRL header and facts are taken in a first pass that only looks at element
+     * names. The element holding the blocks of the form, usually the body or a div wrapping the
+     * whole form, is then split at its children: the subtree of each child is filtered by its own
+     * task, which strips it and records its own texts. A task only removes nodes inside its
+     * subtree, so tasks never touch the same node list. The rest of the document is filtered on
+     * the calling thread, which splices in the texts of the subtrees in document order and removes
+     * the subtrees left without text. The result is the same as that of a sequential traversal.
+     *
+     * @param document The parsed filing
+     * @param pool     Pool to filter the subtrees on, or null to filter on the calling thread
+     */
+    void filter(org.jsoup.nodes.Document document, ForkJoinPool pool) {
+        if (pool == null) {
+            NodeTraversor.filter(this, document);
+            return;
+        }
+        NodeTraversor.filter((node, depth) -> {
+            if (node instanceof Element element) {
+                if (IX_HEADER.equals(element.normalName())) {
+                    header(element);
+                    return FilterResult.REMOVE;
+                }
+                if (XbrlFactExtractor.NON_FRACTION.equals(element.normalName())) {
+                    facts.fact(element);
+                }
+            }
+            return FilterResult.CONTINUE;
+        }, document);
+
+        Map<Node, FormHtmlFilter> subtrees = new IdentityHashMap<>();
+        Element container = blockContainer(document);
+        if (container != null) {
+            List<Element> blocks = container.children();
+            FormHtmlFilter[] filters = new FormHtmlFilter[blocks.size()];
+            pool.invoke(new SubtreeTask(blocks, filters, 0, filters.length));
+            for (int i = 0; i < filters.length; i++) {
+                subtrees.put(blocks.get(i), filters[i]);
+            }
+        }
+        var rest = new FormHtmlFilter(null, subtrees);
+        NodeTraversor.filter(rest, document);
+        ownTexts.addAll(rest.ownTexts);
+    }
+
+    /**
+     * The element whose children are filtered by separate tasks: starting at the body, descends
+     * into the child with the most children while there are only few blocks. Links are never
+     * split, as the texts inside them are not recorded.
+     *
+     * @return null if the document has no element with several children
+     */
+    private static Element blockContainer(org.jsoup.nodes.Document document) {
+        Element container = document.body();
+        while (container.childrenSize() < MIN_BLOCKS) {
+            Element widest = null;
+            for (Element child : container.children()) {
+                if (!LINK.equals(child.normalName()) && (widest == null || child.childrenSize() > widest.childrenSize())) {
+                    widest = child;
+                }
+            }
+            if (widest == null || widest.childrenSize() <= container.childrenSize()) {
+                break;
+            }
+            container = widest;
+        }
+        return container.childrenSize() < 2 ? null : container;
+    }
+
+    @Override
+    public FilterResult head(Node node, int depth) {
+        if (node instanceof TextNode textNode) {
+            if (depth > 0 && !hasText[depth - 1] && !isBlank(textNode)) {
+                hasText[depth - 1] = true;
+            }
+            return FilterResult.CONTINUE;
+        }
+        if (!(node instanceof Element element)) {
+            return FilterResult.CONTINUE;
+        }
+        FormHtmlFilter subtree = filteredSubtrees.get(element);
+        if (subtree != null) {
+            ownTexts.addAll(subtree.ownTexts);
+            if (depth > 0 && subtree.hasText[0]) {
+                hasText[depth - 1] = true;
+            }
+            return subtree.rootRemoved ? FilterResult.REMOVE : FilterResult.SKIP_ENTIRELY;
+        }
+        if (facts != null && IX_HEADER.equals(element.normalName())) {
+            header(element);
+            return FilterResult.REMOVE;
+        }
+        if (facts != null && XbrlFactExtractor.NON_FRACTION.equals(element.normalName())) {
+            facts.fact(element);
+        }
+
+        element.removeAttr("style");
+        element.removeAttr("colspan");
+
+        if (depth >= slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+            hasText = Arrays.copyOf(hasText, hasText.length * 2);
+        }
+        hasText[depth] = false;
+        if (LINK.equals(element.normalName())) {
+            openLinks++;
+        }
+        if (openLinks > 0) {
+            slots[depth] = NO_SLOT;
+        } else {
+            slots[depth] = ownTexts.size();
+            ownTexts.add(null);
+        }
+        return FilterResult.CONTINUE;
+    }
+
+    @Override
+    public FilterResult tail(Node node, int depth) {
+        if (!(node instanceof Element element)) {
+            return FilterResult.CONTINUE;
+        }
+        boolean text = hasText[depth];
+        if (text && depth > 0) {
+            hasText[depth - 1] = true;
+        }
+        boolean link = LINK.equals(element.normalName());
+        if (link) {
+            openLinks--;
+        }
+        if (element.parent() != null && (link || !text)) {
+            return FilterResult.REMOVE;
+        }
+        if (slots[depth] != NO_SLOT) {
+            // empty children and line breaks are gone by now
+            ownTexts.set(slots[depth], element.ownText());
+        }
+        return FilterResult.CONTINUE;
+    }
+
+    private void header(Element header) {
+        if (!xbrlHeader.isEmpty()) xbrlHeader.append('\n');
+        xbrlHeader.append(header.html());
+        facts.header(header);
+    }
+
+    /**
+     * Inner html of the XBRL header elements, separated by newlines.
+     */
+    String xbrlHeader() {
+        return xbrlHeader.toString();
+    }
+
+    /**
+     * Numeric XBRL facts of the filing.
+     */
+    XbrlFactTable facts() {
+        return facts.facts();
+    }
+
+    /**
+     * Splits the recorded text into form items.
+     *
+     * @param itemsRegex   Pattern to identify form item boundaries
+     * @param baseMetadata Base metadata to include in each chunk
+     * @return List of chunks containing form items
+     */
+    List<DocumentChunk> formItems(Pattern itemsRegex, FilingMetadata baseMetadata) {
+        return formItems(itemsRegex, baseMetadata, null);
+    }
+
+    /**
+     * Splits the recorded text into form items, in parallel if a pool is given.
+     *
+     * @param itemsRegex   Pattern to identify form item boundaries
+     * @param baseMetadata Base metadata to include in each chunk
+     * @param pool         Pool to split the items on, or null to split them on the calling thread
+     * @return List of chunks containing form items
+     * @see FormItemCollector#collect
+     */
+    List<DocumentChunk> formItems(Pattern itemsRegex, FilingMetadata baseMetadata, ForkJoinPool pool) {
+        if (pool != null) {
+            return FormItemCollector.collect(ownTexts, itemsRegex, baseMetadata, pool);
+        }
+        List<DocumentChunk> documentChunks = new ArrayList<>();
+        var collector = new FormItemCollector(itemsRegex, itemsRegex, baseMetadata);
+        for (String ownText : ownTexts) {
+            if (ownText == null) continue; // removed element
+            DocumentChunk completed = collector.accept(ownText);
+            if (completed != null) documentChunks.add(completed);
+        }
+        DocumentChunk last = collector.finish();
+        if (last != null) documentChunks.add(last);
+        return documentChunks;
+    }
+
+    /**
+     * Filters the subtrees of a range of blocks, each with its own filter.
+     */
+    @SuppressWarnings("serial")
+    private static final class SubtreeTask extends RecursiveAction {
+
+        private final List<Element> blocks;
+        private final FormHtmlFilter[] filters;
+        private final int from;
+        private final int to;
+
+        SubtreeTask(List<Element> blocks, FormHtmlFilter[] filters, int from, int to) {
+            this.blocks = blocks;
+            this.filters = filters;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                var filter = new FormHtmlFilter(null, Map.of());
+                // the root of the traversal is never removed, only reported
+                filter.rootRemoved = NodeTraversor.filter(filter, blocks.get(from)) == FilterResult.REMOVE;
+                filters[from] = filter;
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SubtreeTask(blocks, filters, from, middle), new SubtreeTask(blocks, filters, middle, to));
+        }
+    }
+
+    /*
+        Mirrors Element.text().trim().isEmpty(): normalised text drops whitespace including
+        non-breaking spaces and invisible characters, while text in whitespace preserving
+        elements and CDATA is taken as is and only loses what String.trim() removes.
+     */
+    private static boolean isBlank(TextNode textNode) {
+        String text = textNode.getWholeText();
+        Boolean normalised = null;
+        for (int i = 0; i < text.length(); ) {
+            int c = text.codePointAt(i);
+            i += Character.charCount(c);
+            if (c <= ' ') continue;
+            if (!StringUtil.isActuallyWhitespace(c) && !StringUtil.isInvisibleChar(c)) return false;
+            if (normalised == null) {
+                normalised = !(textNode instanceof CDataNode) && !preservesWhitespace(textNode.parent());
+            }
+            if (!normalised) return false;
+        }
+        return true;
+    }
+
+    private static boolean preservesWhitespace(Node node) {
+        if (node instanceof Element element) {
+            for (int i = 0; i < PRESERVE_WHITESPACE_DEPTH && element != null; i++) {
+                if (element.tag().preserveWhitespace()) return true;
+                element = element.parent();
+            }
+        }
+        return false;
+    }
+}
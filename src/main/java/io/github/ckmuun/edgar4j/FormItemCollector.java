@@ -0,0 +1,230 @@
+package io.github.ckmuun.edgar4j;
+
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Pattern;
+
+/**
+ * Splits the text of a form into items. Fed the own text of each element in turn, it starts a
+ * new item on every element matching the begin pattern and completes the current item on the
+ * next element matching the end pattern.
+ * <p>
+ * Shared by the DOM based and the streaming parse mode of {@link ParsingService}. When all
+ * elements or texts of a form are known up front, {@link #collect} splits them into the same items
+ * in parallel.
+ */
+final class FormItemCollector {
+
+    // texts matched against the item pattern by one task, enough to outweigh the forking
+    private static final int MATCH_BATCH_SIZE = 512;
+
+    private final Pattern beginRegex;
+    private final Pattern endRegex;
+    private final FilingMetadata filing;
+
+    private boolean match;
+    private StringBuilder content = new StringBuilder();
+    private String currentItemTitle;
+    private int itemIndex;
+
+    FormItemCollector(Pattern beginRegex, Pattern endRegex, FilingMetadata filing) {
+        this.beginRegex = beginRegex;
+        this.endRegex = endRegex;
+        this.filing = filing;
+    }
+
+    /**
+     * Processes the own text of the next element.
+     *
+     * @return the item completed by this element, or null
+     */
+    DocumentChunk accept(String ownText) {
+        DocumentChunk completed = null;
+        boolean begins = beginRegex.matcher(ownText).matches();
+        // most forms use the same pattern for both, which then only needs to be matched once
+        boolean ends = match && (endRegex == beginRegex ? begins : endRegex.matcher(ownText).matches());
+        if (ends) {
+            // End of current item - create document
+            completed = chunk(itemIndex++);
+            match = false;
+            content = new StringBuilder();
+            currentItemTitle = null;
+        }
+
+        if (begins) {
+            // Start of new item
+            match = true;
+            currentItemTitle = ownText.trim();
+        }
+
+        if (match) {
+            content.append(' ');
+            content.append(ownText);
+        }
+        return completed;
+    }
+
+    /**
+     * Completes the last item if the document ends without a closing pattern.
+     *
+     * @return the last item, or null
+     */
+    DocumentChunk finish() {
+        if (match && !content.isEmpty()) {
+            match = false;
+            return chunk(itemIndex);
+        }
+        return null;
+    }
+
+    private DocumentChunk chunk(int index) {
+        return new DocumentChunk(content.toString().trim(), filing, DocumentChunk.FORM_ITEM, index, currentItemTitle);
+    }
+
+    /**
+     * Splits the own texts of all elements of a form into items on a fork/join pool, giving the
+     * same chunks as feeding the texts one by one to a collector using {@code itemsRegex} as
+     * begin and end pattern.
+     * <p>
+     * The texts are first matched against the pattern in parallel batches, which finds the item
+     * boundaries: every matching text ends the current item and begins the next. Each item is then
+     * joined and trimmed by its own task, and the chunks are returned in document order.
+     *
+     * @param ownTexts   Own texts in document order; null entries are skipped
+     * @param itemsRegex Pattern to identify form item boundaries
+     * @param filing     Metadata of the filing, shared by all chunks
+     * @param pool       Pool to run the tasks on
+     * @return List of chunks containing form items
+     */
+    static List<DocumentChunk> collect(List<String> ownTexts, Pattern itemsRegex, FilingMetadata filing, ForkJoinPool pool) {
+        return collect(ownTexts.toArray(new String[0]), null, itemsRegex, filing, pool);
+    }
+
+    /**
+     * Splits the elements of a form into items like {@link #collect(List, Pattern, FilingMetadata, ForkJoinPool)},
+     * extracting the own text of every element in the matching tasks as well.
+     *
+     * @param elements   Elements in document order
+     * @param itemsRegex Pattern to identify form item boundaries
+     * @param filing     Metadata of the filing, shared by all chunks
+     * @param pool       Pool to run the tasks on
+     * @return List of chunks containing form items
+     */
+    static List<DocumentChunk> collectElements(List<Element> elements, Pattern itemsRegex, FilingMetadata filing, ForkJoinPool pool) {
+        return collect(new String[elements.size()], elements.toArray(new Element[0]), itemsRegex, filing, pool);
+    }
+
+    private static List<DocumentChunk> collect(String[] texts, Element[] elements, Pattern itemsRegex,
+                                               FilingMetadata filing, ForkJoinPool pool) {
+        boolean[] begins = new boolean[texts.length];
+        pool.invoke(new MatchTask(texts, elements, itemsRegex, begins, 0, texts.length));
+
+        int[] starts = new int[16];
+        int items = 0;
+        for (int i = 0; i < begins.length; i++) {
+            if (begins[i]) {
+                if (items == starts.length) starts = Arrays.copyOf(starts, items * 2);
+                starts[items++] = i;
+            }
+        }
+        if (items == 0) {
+            return new ArrayList<>();
+        }
+        DocumentChunk[] chunks = new DocumentChunk[items];
+        pool.invoke(new ItemTask(texts, starts, items, filing, chunks, 0, items));
+        return new ArrayList<>(Arrays.asList(chunks));
+    }
+
+    /**
+     * Matches a range of texts against the item pattern, first taking the own texts of the
+     * elements if the texts are not known yet.
+     */
+    @SuppressWarnings("serial")
+    private static final class MatchTask extends RecursiveAction {
+
+        private final String[] texts;
+        private final Element[] elements;
+        private final Pattern itemsRegex;
+        private final boolean[] begins;
+        private final int from;
+        private final int to;
+
+        MatchTask(String[] texts, Element[] elements, Pattern itemsRegex, boolean[] begins, int from, int to) {
+            this.texts = texts;
+            this.elements = elements;
+            this.itemsRegex = itemsRegex;
+            this.begins = begins;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= MATCH_BATCH_SIZE) {
+                for (int i = from; i < to; i++) {
+                    if (elements != null) texts[i] = elements[i].ownText();
+                    begins[i] = texts[i] != null && itemsRegex.matcher(texts[i]).matches();
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new MatchTask(texts, elements, itemsRegex, begins, from, middle),
+                    new MatchTask(texts, elements, itemsRegex, begins, middle, to));
+        }
+    }
+
+    /**
+     * Builds the chunks of a range of items.
+     */
+    @SuppressWarnings("serial")
+    private static final class ItemTask extends RecursiveAction {
+
+        private final String[] texts;
+        private final int[] starts;
+        private final int items;
+        private final FilingMetadata filing;
+        private final DocumentChunk[] chunks;
+        private final int from;
+        private final int to;
+
+        ItemTask(String[] texts, int[] starts, int items, FilingMetadata filing, DocumentChunk[] chunks, int from, int to) {
+            this.texts = texts;
+            this.starts = starts;
+            this.items = items;
+            this.filing = filing;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                chunks[from] = chunk(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ItemTask(texts, starts, items, filing, chunks, from, middle),
+                    new ItemTask(texts, starts, items, filing, chunks, middle, to));
+        }
+
+        private DocumentChunk chunk(int item) {
+            int start = starts[item];
+            int end = item + 1 < items ? starts[item + 1] : texts.length;
+            int length = 0;
+            for (int i = start; i < end; i++) {
+                if (texts[i] != null) length += texts[i].length() + 1;
+            }
+            var content = new StringBuilder(length);
+            for (int i = start; i < end; i++) {
+                if (texts[i] != null) content.append(' ').append(texts[i]);
+            }
+            return new DocumentChunk(content.toString().trim(), filing, DocumentChunk.FORM_ITEM, item, texts[start].trim());
+        }
+    }
+}
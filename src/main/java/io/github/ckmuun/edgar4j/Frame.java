@@ -0,0 +1,190 @@
+package io.github.ckmuun.edgar4j;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * One XBRL concept in one unit for one calendar period across all companies, as returned by
+ * the SEC frames API ({@code /api/xbrl/frames/{taxonomy}/{concept}/{unit}/{period}.json}).
+ * <p>
+ * Every company is a row, stored in primitive columns sorted by CIK, so a company's value is
+ * found by binary search and frames of different concepts can be joined by merging their
+ * CIK columns, see {@link FrameScreener}.
+ */
+public final class Frame {
+
+    public static final int NO_DATE = XbrlFactTable.NO_DATE;
+
+    private final String taxonomy;
+    private final String concept;
+    private final String unit;
+    private final String period;
+
+    private final int size;
+    private final int[] cik;
+    private final double[] value;
+    private final int[] periodStart;
+    private final int[] periodEnd;
+    private final int[] accession;
+    private final int[] entityName;
+    private final StringDictionary accessions;
+    private final StringDictionary entityNames;
+
+    /**
+     * Creates a frame from unsorted columns; the rows are sorted by CIK.
+     */
+    Frame(String taxonomy, String concept, String unit, String period, int size,
+          int[] cik, double[] value, int[] periodStart, int[] periodEnd, int[] accession, int[] entityName,
+          StringDictionary accessions, StringDictionary entityNames) {
+        this.taxonomy = taxonomy;
+        this.concept = concept;
+        this.unit = unit;
+        this.period = period;
+        this.size = size;
+        this.accessions = accessions;
+        this.entityNames = entityNames;
+
+        // sort row numbers by CIK without boxing: the CIK goes into the high, the row into the low bits
+        long[] order = new long[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = ((long) cik[row] << 32) | row;
+        }
+        Arrays.sort(order);
+        this.cik = new int[size];
+        this.value = new double[size];
+        this.periodStart = new int[size];
+        this.periodEnd = new int[size];
+        this.accession = new int[size];
+        this.entityName = new int[size];
+        for (int to = 0; to < size; to++) {
+            int from = (int) order[to];
+            this.cik[to] = cik[from];
+            this.value[to] = value[from];
+            this.periodStart[to] = periodStart[from];
+            this.periodEnd[to] = periodEnd[from];
+            this.accession[to] = accession[from];
+            this.entityName[to] = entityName[from];
+        }
+    }
+
+    public String taxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * Concept name without taxonomy, e.g. {@code Revenues}.
+     */
+    public String concept() {
+        return concept;
+    }
+
+    /**
+     * Unit of the values, e.g. {@code USD} or {@code USD-per-shares}.
+     */
+    public String unit() {
+        return unit;
+    }
+
+    /**
+     * Calendar period of the frame, e.g. {@code CY2023}, {@code CY2023Q4} or {@code CY2023Q4I}.
+     */
+    public String period() {
+        return period;
+    }
+
+    /**
+     * Number of companies.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int cik(int row) {
+        checkRow(row);
+        return cik[row];
+    }
+
+    public double value(int row) {
+        checkRow(row);
+        return value[row];
+    }
+
+    /**
+     * Start of the period the company reported as epoch day, {@link #NO_DATE} for instant frames.
+     */
+    public int periodStart(int row) {
+        checkRow(row);
+        return periodStart[row];
+    }
+
+    /**
+     * End of the period the company reported as epoch day. Companies with a fiscal year that
+     * is not the calendar year report periods that only overlap the frame's calendar period.
+     */
+    public int periodEnd(int row) {
+        checkRow(row);
+        return periodEnd[row];
+    }
+
+    public LocalDate periodEndDate(int row) {
+        int end = periodEnd(row);
+        return end == NO_DATE ? null : LocalDate.ofEpochDay(end);
+    }
+
+    public String accessionNumber(int row) {
+        checkRow(row);
+        return accession[row] == StringDictionary.NOT_FOUND ? null : accessions.get(accession[row]);
+    }
+
+    public String entityName(int row) {
+        checkRow(row);
+        return entityName[row] == StringDictionary.NOT_FOUND ? null : entityNames.get(entityName[row]);
+    }
+
+    /**
+     * Row of a company.
+     *
+     * @param companyCik CIK of the company
+     * @return The row, or -1 if the company is not part of this frame
+     */
+    public int indexOf(int companyCik) {
+        int row = Arrays.binarySearch(cik, 0, size, companyCik);
+        return row < 0 ? -1 : row;
+    }
+
+    /**
+     * Value of a company.
+     *
+     * @param companyCik CIK of the company
+     * @return The value, or NaN if the company is not part of this frame
+     */
+    public double valueOf(int companyCik) {
+        int row = indexOf(companyCik);
+        return row < 0 ? Double.NaN : value[row];
+    }
+
+    /**
+     * The CIK column, sorted ascending. Not a copy, must not be modified.
+     */
+    int[] ciks() {
+        return cik;
+    }
+
+    /**
+     * The value column in CIK order. Not a copy, must not be modified.
+     */
+    double[] values() {
+        return value;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " companies");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Frame[" + taxonomy + ":" + concept + " in " + unit + " for " + period + ", " + size + " companies]";
+    }
+}
@@ -0,0 +1,352 @@
+package io.github.ckmuun.edgar4j;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Screens companies across several XBRL frames, e.g. revenues and net income of the same year.
+ * <p>
+ * The frames are joined on CIK into one row per company that appears in any of them. Each frame
+ * becomes a named {@code double[]} column aligned with the rows, with NaN where a company did not
+ * report the concept, and companies are joined with their tickers. Filters are plain loops over
+ * those arrays that the JIT can vectorise, so screens over all ~6,000 reporting companies take
+ * well below a millisecond per filter once the frames are loaded.
+ * <pre>{@code
+ * FrameScreener screener = FrameScreener.join(Map.of(
+ *         "revenues", filingService.getFrame("us-gaap", "Revenues", "USD", "CY2023").block(),
+ *         "netIncome", filingService.getFrame("us-gaap", "NetIncomeLoss", "USD", "CY2023").block()),
+ *     filingService.getCompanyTickers().collectList().block());
+ * int[] rows = screener.query()
+ *         .whereGreaterThan("revenues", 1e9)
+ *         .whereRatioGreaterThan("netIncome", "revenues", 0.2)
+ *         .sortBy("revenues", true)
+ *         .limit(20)
+ *         .rows();
+ * }</pre>
+ * Instances are immutable and can be queried from several threads.
+ */
+public final class FrameScreener {
+
+    private final int[] ciks;
+    private final String[] tickers;
+    private final String[] entityNames;
+    private final Map<String, double[]> columns;
+
+    private FrameScreener(int[] ciks, String[] tickers, String[] entityNames, Map<String, double[]> columns) {
+        this.ciks = ciks;
+        this.tickers = tickers;
+        this.entityNames = entityNames;
+        this.columns = columns;
+    }
+
+    /**
+     * Joins frames on CIK.
+     *
+     * @param frames Frames by column name
+     * @return Screener with one row per company that appears in any frame
+     */
+    public static FrameScreener join(Map<String, Frame> frames) {
+        return join(frames, List.of());
+    }
+
+    /**
+     * Joins frames on CIK and the companies with their tickers.
+     *
+     * @param frames  Frames by column name
+     * @param tickers Company tickers, e.g. from {@link FilingService#getCompanyTickers()}; for companies
+     *                with several share classes the first ticker is used
+     * @return Screener with one row per company that appears in any frame
+     */
+    public static FrameScreener join(Map<String, Frame> frames, Collection<CompanyTickerDto> tickers) {
+        int[] ciks = unionOfCiks(frames.values());
+        String[] entityNames = new String[ciks.length];
+        Map<String, double[]> columns = new LinkedHashMap<>();
+        for (Map.Entry<String, Frame> entry : frames.entrySet()) {
+            columns.put(entry.getKey(), alignColumn(ciks, entry.getValue(), entityNames));
+        }
+
+        String[] tickerColumn = new String[ciks.length];
+        for (CompanyTickerDto ticker : tickers) {
+            int row = indexOf(ciks, parseCik(ticker.cik()));
+            if (row >= 0 && tickerColumn[row] == null) {
+                tickerColumn[row] = ticker.ticker();
+                if (entityNames[row] == null) entityNames[row] = ticker.name();
+            }
+        }
+        return new FrameScreener(ciks, tickerColumn, entityNames, columns);
+    }
+
+    /**
+     * Number of companies.
+     */
+    public int size() {
+        return ciks.length;
+    }
+
+    /**
+     * Names of the value columns.
+     */
+    public Set<String> columns() {
+        return columns.keySet();
+    }
+
+    public int cik(int row) {
+        return ciks[row];
+    }
+
+    /**
+     * Ticker of a company, or null if the company has none.
+     */
+    public String ticker(int row) {
+        return tickers[row];
+    }
+
+    public String entityName(int row) {
+        return entityNames[row];
+    }
+
+    /**
+     * Value of a company in a column, NaN if the company did not report it.
+     */
+    public double value(String column, int row) {
+        return column(column)[row];
+    }
+
+    /**
+     * Row of a company.
+     *
+     * @param cik CIK of the company
+     * @return The row, or -1 if the company is in none of the frames
+     */
+    public int indexOf(int cik) {
+        return indexOf(ciks, cik);
+    }
+
+    /**
+     * Starts a new screen selecting all companies.
+     */
+    public Query query() {
+        return new Query(this);
+    }
+
+    private double[] column(String name) {
+        double[] column = columns.get(name);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown column " + name + ", expected one of " + columns.keySet());
+        }
+        return column;
+    }
+
+    private static int[] unionOfCiks(Collection<Frame> frames) {
+        int[] all = frames.stream().flatMapToInt(frame -> Arrays.stream(frame.ciks())).toArray();
+        Arrays.sort(all);
+        int distinct = 0;
+        for (int i = 0; i < all.length; i++) {
+            if (i == 0 || all[i] != all[i - 1]) {
+                all[distinct++] = all[i];
+            }
+        }
+        return Arrays.copyOf(all, distinct);
+    }
+
+    /*
+        Both CIK columns are sorted, so the frame's values are placed by a single merge walk.
+     */
+    private static double[] alignColumn(int[] ciks, Frame frame, String[] entityNames) {
+        double[] column = new double[ciks.length];
+        Arrays.fill(column, Double.NaN);
+        int[] frameCiks = frame.ciks();
+        double[] frameValues = frame.values();
+        int row = 0;
+        for (int i = 0; i < frameCiks.length; i++) {
+            while (ciks[row] < frameCiks[i]) {
+                row++;
+            }
+            column[row] = frameValues[i];
+            if (entityNames[row] == null) {
+                entityNames[row] = frame.entityName(i);
+            }
+        }
+        return column;
+    }
+
+    private static int indexOf(int[] ciks, int cik) {
+        int row = Arrays.binarySearch(ciks, cik);
+        return row < 0 ? -1 : row;
+    }
+
+    private static int parseCik(String cik) {
+        try {
+            return cik == null ? -1 : Integer.parseInt(cik.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A screen over the companies of a {@link FrameScreener}. Filters are combined with AND;
+     * a company without a value in a filtered column never matches.
+     */
+    public static final class Query {
+
+        private final FrameScreener screener;
+        private final boolean[] selected;
+        private String sortColumn;
+        private boolean descending;
+        private int limit = Integer.MAX_VALUE;
+
+        private Query(FrameScreener screener) {
+            this.screener = screener;
+            this.selected = new boolean[screener.size()];
+            Arrays.fill(selected, true);
+        }
+
+        /**
+         * Keeps companies whose value lies within the given bounds, inclusive.
+         */
+        public Query whereBetween(String column, double min, double max) {
+            double[] values = screener.column(column);
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= values[row] >= min & values[row] <= max;
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies whose value is greater than the threshold.
+         */
+        public Query whereGreaterThan(String column, double threshold) {
+            double[] values = screener.column(column);
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= values[row] > threshold;
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies whose value is less than the threshold.
+         */
+        public Query whereLessThan(String column, double threshold) {
+            double[] values = screener.column(column);
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= values[row] < threshold;
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies whose ratio of two columns is greater than the threshold, e.g. net margin.
+         */
+        public Query whereRatioGreaterThan(String numerator, String denominator, double threshold) {
+            double[] top = screener.column(numerator);
+            double[] bottom = screener.column(denominator);
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= top[row] / bottom[row] > threshold;
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies that reported a value in the column.
+         */
+        public Query whereReported(String column) {
+            double[] values = screener.column(column);
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= !Double.isNaN(values[row]);
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies whose value matches an arbitrary predicate.
+         */
+        public Query where(String column, DoublePredicate predicate) {
+            double[] values = screener.column(column);
+            for (int row = 0; row < selected.length; row++) {
+                if (selected[row] && !Double.isNaN(values[row])) {
+                    selected[row] = predicate.test(values[row]);
+                } else {
+                    selected[row] = false;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Keeps companies with a ticker, i.e. listed companies.
+         */
+        public Query whereListed() {
+            for (int row = 0; row < selected.length; row++) {
+                selected[row] &= screener.tickers[row] != null;
+            }
+            return this;
+        }
+
+        /**
+         * Orders the result by a column. Companies without a value come last.
+         */
+        public Query sortBy(String column, boolean descending) {
+            screener.column(column);
+            this.sortColumn = column;
+            this.descending = descending;
+            return this;
+        }
+
+        /**
+         * Returns at most the given number of companies.
+         */
+        public Query limit(int limit) {
+            if (limit < 0) {
+                throw new IllegalArgumentException("limit must not be negative: " + limit);
+            }
+            this.limit = limit;
+            return this;
+        }
+
+        /**
+         * Number of companies matching all filters, ignoring the limit.
+         */
+        public int count() {
+            int count = 0;
+            for (boolean row : selected) {
+                if (row) count++;
+            }
+            return count;
+        }
+
+        /**
+         * Rows of the matching companies, in CIK order unless sorted.
+         */
+        public int[] rows() {
+            IntStream rows = IntStream.range(0, selected.length).filter(row -> selected[row]);
+            if (sortColumn == null) {
+                return rows.limit(limit).toArray();
+            }
+            double[] values = screener.column(sortColumn);
+            Comparator<Integer> order = Comparator.comparingDouble(row -> values[row]);
+            if (descending) {
+                order = order.reversed();
+            }
+            Comparator<Integer> nanLast = Comparator.comparing(row -> Double.isNaN(values[row]));
+            return rows.boxed()
+                    .sorted(nanLast.thenComparing(order))
+                    .limit(limit)
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        /**
+         * CIKs of the matching companies, in the order of {@link #rows()}.
+         */
+        public int[] ciks() {
+            return Arrays.stream(rows()).map(screener::cik).toArray();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental parser for the SEC frames JSON ({@code /api/xbrl/frames/{taxonomy}/{concept}/{unit}/{period}.json}).
+ * <p>
+ * A frame holds one object per company in its {@code data} array. The response is fed chunk by
+ * chunk into Jackson's non-blocking parser, like {@link CompanyFactsParser}, and every company is
+ * appended to primitive columns as soon as its object is complete.
+ * <p>
+ * A parser instance holds the state of a single response and is not thread-safe.
+ */
+final class FramesParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int DATA_DEPTH = 2;
+    private static final int ROW_DEPTH = 3;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private int depth;
+    private String field;
+    private boolean inData;
+
+    private String taxonomy;
+    private String concept;
+    private String unit;
+    private String period;
+
+    private int size;
+    private int[] cik = new int[INITIAL_CAPACITY];
+    private double[] value = new double[INITIAL_CAPACITY];
+    private int[] periodStart = new int[INITIAL_CAPACITY];
+    private int[] periodEnd = new int[INITIAL_CAPACITY];
+    private int[] accession = new int[INITIAL_CAPACITY];
+    private int[] entityName = new int[INITIAL_CAPACITY];
+    private final StringDictionary accessions = new StringDictionary();
+    private final StringDictionary entityNames = new StringDictionary();
+
+    // fields of the company being parsed
+    private int rowCik = -1;
+    private double rowValue = Double.NaN;
+    private int rowStart = Frame.NO_DATE;
+    private int rowEnd = Frame.NO_DATE;
+    private int rowAccession = StringDictionary.NOT_FOUND;
+    private int rowEntityName = StringDictionary.NOT_FOUND;
+
+    FramesParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", ioe);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses a complete response body.
+     */
+    Frame parse(byte[] body) {
+        feed(ByteBuffer.wrap(body));
+        return endOfInput();
+    }
+
+    /**
+     * Parses a response body streamed as DataBuffers. Each buffer is released as soon as its
+     * tokens have been consumed.
+     */
+    Mono<Frame> parse(Flux<DataBuffer> body) {
+        return body
+                .map(this::feed)
+                .then(Mono.fromCallable(this::endOfInput))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Feeds one DataBuffer into the parser and releases it.
+     *
+     * @return the number of bytes fed
+     */
+    int feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            int fed = 0;
+            while (iterator.hasNext()) {
+                ByteBuffer chunk = iterator.next();
+                fed += chunk.remaining();
+                feed(chunk);
+            }
+            return fed;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private void feed(ByteBuffer chunk) {
+        try {
+            feeder.feedInput(chunk);
+            drain();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC frames response", ioe);
+        }
+    }
+
+    /**
+     * Signals that the whole response body has been fed.
+     *
+     * @return the frame, sorted by CIK
+     */
+    Frame endOfInput() {
+        try {
+            feeder.endOfInput();
+            drain();
+            parser.close();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC frames response", ioe);
+        }
+        return new Frame(taxonomy, concept, unit, period, size,
+                cik, value, periodStart, periodEnd, accession, entityName, accessions, entityNames);
+    }
+
+    private void drain() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == DATA_DEPTH && token == JsonToken.START_ARRAY && "data".equals(field)) {
+                        inData = true;
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (inData && depth == ROW_DEPTH && token == JsonToken.END_OBJECT) {
+                        endRow();
+                    } else if (inData && depth == DATA_DEPTH) {
+                        inData = false;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> field = parser.currentName();
+                default -> onScalar(token);
+            }
+        }
+    }
+
+    private void onScalar(JsonToken token) throws IOException {
+        boolean isNull = token == JsonToken.VALUE_NULL;
+        if (inData && depth == ROW_DEPTH) {
+            switch (field) {
+                case "cik" -> rowCik = token == JsonToken.VALUE_NUMBER_INT ? parser.getIntValue() : parseCik(parser.getText());
+                case "val" -> rowValue = token.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+                case "start" -> rowStart = isNull ? Frame.NO_DATE : epochDay();
+                case "end" -> rowEnd = isNull ? Frame.NO_DATE : epochDay();
+                case "accn" -> rowAccession = isNull ? StringDictionary.NOT_FOUND : accessions.intern(parser.getText());
+                case "entityName" -> rowEntityName = isNull ? StringDictionary.NOT_FOUND : entityNames.intern(parser.getText());
+                default -> {
+                    // location is not mapped
+                }
+            }
+        } else if (depth == 1) {
+            switch (field) {
+                case "taxonomy" -> taxonomy = parser.getText();
+                case "tag" -> concept = parser.getText();
+                case "uom" -> unit = parser.getText();
+                case "ccp" -> period = parser.getText();
+                default -> {
+                    // label, description and count are not mapped
+                }
+            }
+        }
+    }
+
+    private void endRow() {
+        if (rowCik >= 0 && !Double.isNaN(rowValue)) {
+            if (size == cik.length) {
+                grow();
+            }
+            cik[size] = rowCik;
+            value[size] = rowValue;
+            periodStart[size] = rowStart;
+            periodEnd[size] = rowEnd;
+            accession[size] = rowAccession;
+            entityName[size] = rowEntityName;
+            size++;
+        }
+        rowCik = -1;
+        rowValue = Double.NaN;
+        rowStart = rowEnd = Frame.NO_DATE;
+        rowAccession = rowEntityName = StringDictionary.NOT_FOUND;
+    }
+
+    private void grow() {
+        int capacity = size + (size >> 1);
+        cik = Arrays.copyOf(cik, capacity);
+        value = Arrays.copyOf(value, capacity);
+        periodStart = Arrays.copyOf(periodStart, capacity);
+        periodEnd = Arrays.copyOf(periodEnd, capacity);
+        accession = Arrays.copyOf(accession, capacity);
+        entityName = Arrays.copyOf(entityName, capacity);
+    }
+
+    private int epochDay() throws IOException {
+        return CompanyFactsParser.epochDay(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    private static int parseCik(String text) {
+        try {
+            return Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.ckmuun.edgar4j;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Cache validators (ETag / Last-Modified) of a previously fetched SEC resource,
+ * used to issue conditional requests that SEC can answer with 304 Not Modified.
+ */
+record HttpValidators(String etag, String lastModified) {
+
+    static final HttpValidators NONE = new HttpValidators(null, null);
+
+    /**
+     * Reads the validators from the headers of a response.
+     */
+    static HttpValidators from(HttpHeaders headers) {
+        return new HttpValidators(headers.getFirst(HttpHeaders.ETAG), headers.getFirst(HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * Adds If-None-Match / If-Modified-Since headers for the validators that are present.
+     */
+    void applyTo(HttpHeaders headers) {
+        if (etag != null) headers.set(HttpHeaders.IF_NONE_MATCH, etag);
+        if (lastModified != null) headers.set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+    }
+}
@@ -0,0 +1,424 @@
+package io.github.ckmuun.edgar4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable part of a {@link ChunkIndex}: the postings of a batch of chunks.
+ * <p>
+ * Terms are kept sorted so they can be found by binary search and merged in order. The postings
+ * of all terms are concatenated into one byte array. For every chunk containing a term they hold
+ * the distance to the previous such chunk, the number of occurrences and the distances between
+ * the positions of the occurrences, all as varints, so most numbers take a single byte.
+ * The metadata used for filtering is stored in one int column per field.
+ */
+final class IndexSegment {
+
+    static final int NO_DATE = XbrlFactTable.NO_DATE;
+    // filter id of a field the filter does not restrict
+    private static final int ANY = -2;
+
+    private final String[] terms;
+    // postings of term i are postings[postingsStart[i] .. postingsStart[i + 1])
+    private final int[] postingsStart;
+    private final int[] docFreq;
+    private final byte[] postings;
+
+    private final DocumentChunk[] chunks;
+    private final StringDictionary ciks;
+    private final StringDictionary forms;
+    private final StringDictionary itemTitles;
+    private final int[] cik;
+    private final int[] form;
+    private final int[] itemTitle;
+    private final int[] filingDate;
+
+    private IndexSegment(String[] terms, int[] postingsStart, int[] docFreq, byte[] postings,
+                         DocumentChunk[] chunks, StringDictionary ciks, StringDictionary forms, StringDictionary itemTitles,
+                         int[] cik, int[] form, int[] itemTitle, int[] filingDate) {
+        this.terms = terms;
+        this.postingsStart = postingsStart;
+        this.docFreq = docFreq;
+        this.postings = postings;
+        this.chunks = chunks;
+        this.ciks = ciks;
+        this.forms = forms;
+        this.itemTitles = itemTitles;
+        this.cik = cik;
+        this.form = form;
+        this.itemTitle = itemTitle;
+        this.filingDate = filingDate;
+    }
+
+    /**
+     * Number of chunks.
+     */
+    int size() {
+        return chunks.length;
+    }
+
+    DocumentChunk chunk(int doc) {
+        return chunks[doc];
+    }
+
+    int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Postings of a term, or null if no chunk of this segment contains it.
+     */
+    Postings postings(String term) {
+        int ordinal = Arrays.binarySearch(terms, term);
+        return ordinal < 0 ? null : new Postings(ordinal);
+    }
+
+    /**
+     * Prepares a filter for the metadata columns of this segment.
+     *
+     * @return The filter, or null if no chunk of this segment can match
+     */
+    IntPredicate filter(ChunkFilter filter) {
+        int cikId = id(ciks, filter.cik() == null ? null : FilingService.removeLeadingZeroesFromCik(filter.cik()));
+        int formId = id(forms, filter.form());
+        int itemTitleId = id(itemTitles, filter.itemTitle());
+        if (cikId == StringDictionary.NOT_FOUND || formId == StringDictionary.NOT_FOUND || itemTitleId == StringDictionary.NOT_FOUND) {
+            return null;
+        }
+        DateRange range = filter.filingDates() == null ? DateRange.ALL : filter.filingDates();
+        boolean bounded = range.from() != null || range.to() != null;
+        long from = range.from() == null ? Long.MIN_VALUE : range.from().toEpochDay();
+        long to = range.to() == null ? Long.MAX_VALUE : range.to().toEpochDay();
+        return doc -> (cikId == ANY || cik[doc] == cikId)
+                && (formId == ANY || form[doc] == formId)
+                && (itemTitleId == ANY || itemTitle[doc] == itemTitleId)
+                && (!bounded || (filingDate[doc] != NO_DATE && filingDate[doc] >= from && filingDate[doc] <= to));
+    }
+
+    private static int id(StringDictionary dictionary, String value) {
+        return value == null ? ANY : dictionary.indexOf(value);
+    }
+
+    /**
+     * Cursor over the postings of one term, chunk by chunk.
+     */
+    final class Postings {
+
+        private final int docFreq;
+        private final int end;
+        private int offset;
+        private int read;
+        private int doc = -1;
+        private int freq;
+        private int[] positions = new int[8];
+        private boolean positionsRead = true;
+
+        private Postings(int ordinal) {
+            this.docFreq = IndexSegment.this.docFreq[ordinal];
+            this.offset = postingsStart[ordinal];
+            this.end = postingsStart[ordinal + 1];
+        }
+
+        int docFreq() {
+            return docFreq;
+        }
+
+        /**
+         * Moves to the next chunk containing the term.
+         *
+         * @return The chunk, or {@link Integer#MAX_VALUE} when exhausted
+         */
+        int nextDoc() {
+            if (!positionsRead) {
+                skipPositions();
+            }
+            if (read == docFreq || offset >= end) {
+                return doc = Integer.MAX_VALUE;
+            }
+            doc += readVarInt();
+            freq = readVarInt();
+            read++;
+            positionsRead = false;
+            return doc;
+        }
+
+        /**
+         * Moves to the first chunk at or after the target.
+         *
+         * @return The chunk, or {@link Integer#MAX_VALUE} when exhausted
+         */
+        int advance(int target) {
+            while (doc < target) {
+                nextDoc();
+            }
+            return doc;
+        }
+
+        int doc() {
+            return doc;
+        }
+
+        int freq() {
+            return freq;
+        }
+
+        /**
+         * Positions of the term in the current chunk, ascending. Valid for the first {@link #freq()} entries.
+         */
+        int[] positions() {
+            if (!positionsRead) {
+                if (positions.length < freq) {
+                    positions = new int[Math.max(freq, positions.length * 2)];
+                }
+                int position = 0;
+                for (int i = 0; i < freq; i++) {
+                    position += readVarInt();
+                    positions[i] = position;
+                }
+                positionsRead = true;
+            }
+            return positions;
+        }
+
+        private void skipPositions() {
+            for (int i = 0; i < freq; i++) {
+                while ((postings[offset++] & 0x80) != 0) {
+                    // continuation byte
+                }
+            }
+            positionsRead = true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = postings[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+
+    /**
+     * Merges segments into one. The chunks keep their order, those of the first segment first.
+     */
+    static IndexSegment merge(List<IndexSegment> segments) {
+        var builder = new Builder();
+        int[] docBase = new int[segments.size()];
+        for (int s = 0; s < segments.size(); s++) {
+            IndexSegment segment = segments.get(s);
+            docBase[s] = builder.chunks.size();
+            for (int doc = 0; doc < segment.size(); doc++) {
+                builder.addMetadata(segment.chunks[doc]);
+            }
+        }
+
+        TreeSet<String> allTerms = new TreeSet<>();
+        for (IndexSegment segment : segments) {
+            allTerms.addAll(Arrays.asList(segment.terms));
+        }
+        var out = new VarIntWriter(segments.stream().mapToInt(segment -> segment.postings.length).sum());
+        String[] terms = allTerms.toArray(new String[0]);
+        int[] postingsStart = new int[terms.length + 1];
+        int[] docFreq = new int[terms.length];
+        for (int t = 0; t < terms.length; t++) {
+            postingsStart[t] = out.size();
+            int lastDoc = -1;
+            for (int s = 0; s < segments.size(); s++) {
+                Postings postings = segments.get(s).postings(terms[t]);
+                if (postings == null) continue;
+                while (postings.nextDoc() != Integer.MAX_VALUE) {
+                    int doc = docBase[s] + postings.doc();
+                    writeDoc(out, doc - lastDoc, postings.freq(), postings.positions());
+                    lastDoc = doc;
+                    docFreq[t]++;
+                }
+            }
+        }
+        postingsStart[terms.length] = out.size();
+        return builder.build(terms, postingsStart, docFreq, out.toByteArray());
+    }
+
+    private static void writeDoc(VarIntWriter out, int docDelta, int freq, int[] positions) {
+        out.write(docDelta);
+        out.write(freq);
+        int previous = 0;
+        for (int i = 0; i < freq; i++) {
+            out.write(positions[i] - previous);
+            previous = positions[i];
+        }
+    }
+
+    /**
+     * Splits text into lower case terms of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean partOfTerm = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (partOfTerm && start < 0) {
+                start = i;
+            } else if (!partOfTerm && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Collects chunks into a new segment.
+     */
+    static final class Builder {
+
+        private final Map<String, TermWriter> termWriters = new HashMap<>();
+        private final List<DocumentChunk> chunks = new ArrayList<>();
+        private final StringDictionary ciks = new StringDictionary();
+        private final StringDictionary forms = new StringDictionary();
+        private final StringDictionary itemTitles = new StringDictionary();
+        private int[] cik = new int[64];
+        private int[] form = new int[64];
+        private int[] itemTitle = new int[64];
+        private int[] filingDate = new int[64];
+
+        int size() {
+            return chunks.size();
+        }
+
+        void add(DocumentChunk chunk) {
+            int doc = chunks.size();
+            addMetadata(chunk);
+
+            Map<String, int[]> positions = new HashMap<>();
+            List<String> tokens = tokenize(chunk.getContent());
+            for (int position = 0; position < tokens.size(); position++) {
+                int[] termPositions = positions.computeIfAbsent(tokens.get(position), t -> new int[]{0, 0, 0, 0, 0});
+                if (termPositions[0] + 1 == termPositions.length) {
+                    termPositions = Arrays.copyOf(termPositions, termPositions.length * 2);
+                    positions.put(tokens.get(position), termPositions);
+                }
+                // slot 0 holds the number of positions
+                termPositions[++termPositions[0]] = position;
+            }
+            for (Map.Entry<String, int[]> entry : positions.entrySet()) {
+                int[] termPositions = entry.getValue();
+                termWriters.computeIfAbsent(entry.getKey(), t -> new TermWriter())
+                        .add(doc, termPositions[0], Arrays.copyOfRange(termPositions, 1, termPositions[0] + 1));
+            }
+        }
+
+        private void addMetadata(DocumentChunk chunk) {
+            int doc = chunks.size();
+            chunks.add(chunk);
+            if (doc == cik.length) {
+                cik = Arrays.copyOf(cik, doc * 2);
+                form = Arrays.copyOf(form, doc * 2);
+                itemTitle = Arrays.copyOf(itemTitle, doc * 2);
+                filingDate = Arrays.copyOf(filingDate, doc * 2);
+            }
+            Map<String, Object> metadata = chunk.getMetadata();
+            Object cikValue = metadata.get("cik");
+            cik[doc] = intern(ciks, cikValue == null ? null : FilingService.removeLeadingZeroesFromCik(cikValue.toString()));
+            form[doc] = intern(forms, metadata.get("form"));
+            itemTitle[doc] = intern(itemTitles, metadata.get("itemTitle"));
+            Object date = metadata.get("filingDate");
+            filingDate[doc] = date == null ? NO_DATE : CompanyFactsParser.epochDay(date.toString().toCharArray(), 0, date.toString().length());
+        }
+
+        private static int intern(StringDictionary dictionary, Object value) {
+            return value == null ? StringDictionary.NOT_FOUND : dictionary.intern(value.toString());
+        }
+
+        IndexSegment build() {
+            String[] terms = termWriters.keySet().toArray(new String[0]);
+            Arrays.sort(terms);
+            int[] postingsStart = new int[terms.length + 1];
+            int[] docFreq = new int[terms.length];
+            int total = 0;
+            for (TermWriter writer : termWriters.values()) {
+                total += writer.out.size();
+            }
+            var out = new VarIntWriter(total);
+            for (int t = 0; t < terms.length; t++) {
+                TermWriter writer = termWriters.get(terms[t]);
+                postingsStart[t] = out.size();
+                docFreq[t] = writer.docFreq;
+                out.write(writer.out);
+            }
+            postingsStart[terms.length] = out.size();
+            return build(terms, postingsStart, docFreq, out.toByteArray());
+        }
+
+        private IndexSegment build(String[] terms, int[] postingsStart, int[] docFreq, byte[] postings) {
+            int size = chunks.size();
+            return new IndexSegment(terms, postingsStart, docFreq, postings,
+                    chunks.toArray(new DocumentChunk[0]), ciks, forms, itemTitles,
+                    Arrays.copyOf(cik, size), Arrays.copyOf(form, size), Arrays.copyOf(itemTitle, size),
+                    Arrays.copyOf(filingDate, size));
+        }
+    }
+
+    private static final class TermWriter {
+        private final VarIntWriter out = new VarIntWriter(16);
+        private int lastDoc = -1;
+        private int docFreq;
+
+        void add(int doc, int freq, int[] positions) {
+            writeDoc(out, doc - lastDoc, freq, positions);
+            lastDoc = doc;
+            docFreq++;
+        }
+    }
+
+    /**
+     * Growable byte array of varints.
+     */
+    private static final class VarIntWriter {
+        private byte[] bytes;
+        private int size;
+
+        VarIntWriter(int capacity) {
+            bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        void write(int value) {
+            if (size + 5 > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + 5));
+            }
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        void write(VarIntWriter other) {
+            if (size + other.size > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + other.size));
+            }
+            System.arraycopy(other.bytes, 0, bytes, size, other.size);
+            size += other.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.ckmuun.edgar4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * The last filing date up to which the EDGAR index files have been crawled, see
+ * {@link FilingService#getNewFilings(IndexWatermark)}.
+ * <p>
+ * The watermark only moves forward. If it is backed by a file, every change is written to a
+ * temporary file first and atomically moved into place, so a crash never leaves a partially
+ * written watermark behind and the next run continues where the last one stopped.
+ */
+public class IndexWatermark {
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path file;
+    private LocalDate date;
+
+    private IndexWatermark(Path file, LocalDate date) {
+        this.file = file;
+        this.date = date;
+    }
+
+    /**
+     * Creates a watermark that is not persisted.
+     *
+     * @param date Filings up to and including this date count as crawled
+     */
+    public static IndexWatermark inMemory(LocalDate date) {
+        return new IndexWatermark(null, date);
+    }
+
+    /**
+     * Loads a watermark persisted in a file.
+     *
+     * @param file    File holding the watermark as ISO date, created on the first update
+     * @param initial Watermark to start from if the file does not exist yet
+     */
+    public static IndexWatermark load(Path file, LocalDate initial) {
+        if (!Files.exists(file)) {
+            return new IndexWatermark(file, initial);
+        }
+        try {
+            return new IndexWatermark(file, LocalDate.parse(Files.readString(file, StandardCharsets.US_ASCII).trim()));
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to read index watermark " + file, ioe);
+        } catch (DateTimeParseException e) {
+            throw new IllegalStateException("Corrupt index watermark " + file, e);
+        }
+    }
+
+    /**
+     * Filings up to and including this date count as crawled.
+     */
+    public synchronized LocalDate get() {
+        return date;
+    }
+
+    /**
+     * Moves the watermark forward and persists it. Dates before the current watermark are ignored.
+     */
+    public synchronized void advanceTo(LocalDate crawled) {
+        if (!crawled.isAfter(date)) {
+            return;
+        }
+        if (file != null) {
+            write(crawled);
+        }
+        date = crawled;
+    }
+
+    private void write(LocalDate crawled) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), TMP_SUFFIX);
+            try {
+                Files.writeString(tmp, crawled.toString(), StandardCharsets.US_ASCII);
+                try {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException ioe) {
+            throw new UncheckedIOException("Failed to write index watermark " + file, ioe);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "IndexWatermark[" + date + (file == null ? "" : " in " + file) + "]";
+    }
+}
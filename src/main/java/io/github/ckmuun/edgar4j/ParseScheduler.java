@@ -0,0 +1,327 @@
+package io.github.ckmuun.edgar4j;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs filing parses off the HTTP client's event loop.
+ * <p>
+ * Parsing a large filing takes seconds of CPU time and reads the filing with blocking I/O,
+ * which must not happen on the reactor-netty threads that also serve all other downloads.
+ * A ParseScheduler moves each parse to its own worker, either on a bounded pool of platform
+ * threads or on virtual threads, and allows at most {@code maxConcurrentParses} parses at the
+ * same time. Further parses wait for a free slot while their downloads keep going; waiting
+ * does not occupy a worker, so the parses holding the slots can always continue.
+ * <p>
+ * Cancelling the subscription of a parse closes the filing stream. A parse still waiting for a
+ * slot then never starts; a parse in progress fails on its next read instead of finishing the
+ * whole document, and its result is discarded.
+ */
+public final class ParseScheduler implements Disposable {
+
+    public static final String PARSE_CONCURRENCY_PROPERTY = "edgar.parseConcurrency";
+
+    private static final String THREAD_NAME = "edgar4j-parse";
+    private static final int QUEUED_TASK_CAP = 100_000;
+
+    private static volatile ParseScheduler shared;
+
+    private final Scheduler scheduler;
+    private final Permits permits;
+    private final int maxConcurrentParses;
+
+    private ParseScheduler(Scheduler scheduler, int maxConcurrentParses) {
+        this.scheduler = scheduler;
+        this.maxConcurrentParses = maxConcurrentParses;
+        this.permits = new Permits(maxConcurrentParses);
+    }
+
+    /**
+     * Creates a scheduler parsing on at most {@code maxConcurrentParses} platform threads.
+     *
+     * @param maxConcurrentParses Maximum number of parses at the same time, usually the number of CPU cores
+     */
+    public static ParseScheduler bounded(int maxConcurrentParses) {
+        checkConcurrency(maxConcurrentParses);
+        return new ParseScheduler(Schedulers.newBoundedElastic(maxConcurrentParses, QUEUED_TASK_CAP, THREAD_NAME, 60, true),
+                maxConcurrentParses);
+    }
+
+    /**
+     * Creates a scheduler parsing every filing on its own virtual thread, at most
+     * {@code maxConcurrentParses} at the same time. Blocking reads of the filing
+     * stream then do not tie up a platform thread.
+     *
+     * @param maxConcurrentParses Maximum number of parses at the same time
+     */
+    public static ParseScheduler virtualThreads(int maxConcurrentParses) {
+        checkConcurrency(maxConcurrentParses);
+        return new ParseScheduler(Schedulers.fromExecutorService(Executors.newVirtualThreadPerTaskExecutor(), THREAD_NAME),
+                maxConcurrentParses);
+    }
+
+    private static void checkConcurrency(int maxConcurrentParses) {
+        if (maxConcurrentParses <= 0) {
+            throw new IllegalArgumentException("maxConcurrentParses must be positive: " + maxConcurrentParses);
+        }
+    }
+
+    /**
+     * Returns the scheduler shared by all EdgarServices in this JVM that were not given one.
+     * Its concurrency is read from the {@value #PARSE_CONCURRENCY_PROPERTY} system property
+     * and defaults to the number of available processors.
+     */
+    public static ParseScheduler shared() {
+        ParseScheduler parseScheduler = shared;
+        if (parseScheduler == null) {
+            synchronized (ParseScheduler.class) {
+                parseScheduler = shared;
+                if (parseScheduler == null) {
+                    int concurrency = Integer.getInteger(PARSE_CONCURRENCY_PROPERTY, Runtime.getRuntime().availableProcessors());
+                    parseScheduler = shared = bounded(concurrency);
+                }
+            }
+        }
+        return parseScheduler;
+    }
+
+    /**
+     * Parses a filing on this scheduler.
+     *
+     * @param filing Filing to parse
+     * @param parser Blocking parse function, e.g. {@link ParsingService#parseEdgarForm}
+     * @return Mono emitting the parse result on a parse worker
+     */
+    public <T> Mono<T> parse(CompanyFilingDto filing, Function<CompanyFilingDto, T> parser) {
+        return Mono.defer(() -> {
+            var file = new CancellableInputStream(filing.file());
+            var cancellable = new CompanyFilingDto(filing.metadata(), file);
+            return permits.acquire()
+                    .flatMap(permit -> Mono.fromCallable(() -> {
+                                if (!permit.start()) {
+                                    // cancelled before it was started
+                                    return null;
+                                }
+                                try {
+                                    return parser.apply(cancellable);
+                                } catch (RuntimeException e) {
+                                    if (file.isCancelled()) {
+                                        // nobody is waiting for the result anymore
+                                        return null;
+                                    }
+                                    throw e;
+                                } finally {
+                                    permit.release();
+                                }
+                            })
+                            .subscribeOn(scheduler)
+                            // a running parse releases its slot once the worker returns
+                            .doOnCancel(permit::releaseIfNotStarted))
+                    .doOnCancel(file::cancel);
+        });
+    }
+
+    /**
+     * Streams the chunks of a filing parsed on this scheduler. The filing occupies one of the
+     * parse slots until the parser's Flux terminates or is cancelled, also while the subscriber
+     * does not request further chunks.
+     *
+     * @param filing Filing to parse
+     * @param parser Streaming parse function, e.g. {@link ParsingService#streamEdgarForm}
+     * @return Flux of the parsed elements, produced on a parse worker
+     */
+    public <T> Flux<T> stream(CompanyFilingDto filing, Function<CompanyFilingDto, Flux<T>> parser) {
+        return Flux.defer(() -> {
+            var file = new CancellableInputStream(filing.file());
+            var cancellable = new CompanyFilingDto(filing.metadata(), file);
+            return permits.acquire()
+                    .flatMapMany(permit -> Flux.defer(() -> parser.apply(cancellable))
+                            .doOnTerminate(permit::release)
+                            .subscribeOn(scheduler)
+                            .doOnCancel(permit::release))
+                    .doOnCancel(file::cancel);
+        });
+    }
+
+    /**
+     * Maximum number of parses running at the same time.
+     */
+    public int maxConcurrentParses() {
+        return maxConcurrentParses;
+    }
+
+    /**
+     * Number of parses currently running.
+     */
+    public int activeParses() {
+        return maxConcurrentParses - permits.available();
+    }
+
+    @Override
+    public void dispose() {
+        scheduler.dispose();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return scheduler.isDisposed();
+    }
+
+    /**
+     * Parse slots. Unlike a {@link java.util.concurrent.Semaphore}, a parse waiting for a slot
+     * does not block a worker thread: it subscribes to {@link #acquire()}, which completes once
+     * another parse releases its permit.
+     */
+    static final class Permits {
+
+        private final Queue<MonoSink<Permit>> waiting = new ArrayDeque<>();
+        private int available;
+
+        Permits(int permits) {
+            this.available = permits;
+        }
+
+        /**
+         * Emits a permit as soon as one is free. A permit emitted to a cancelled subscriber is released again.
+         */
+        Mono<Permit> acquire() {
+            return Mono.<Permit>create(sink -> {
+                        synchronized (this) {
+                            if (available == 0) {
+                                waiting.add(sink);
+                                sink.onCancel(() -> remove(sink));
+                                return;
+                            }
+                            available--;
+                        }
+                        sink.success(new Permit(this));
+                    })
+                    .doOnDiscard(Permit.class, Permit::release);
+        }
+
+        synchronized int available() {
+            return available;
+        }
+
+        private synchronized void remove(MonoSink<Permit> sink) {
+            waiting.remove(sink);
+        }
+
+        private void release() {
+            MonoSink<Permit> next;
+            synchronized (this) {
+                next = waiting.poll();
+                if (next == null) {
+                    available++;
+                    return;
+                }
+            }
+            // the slot passes on to the longest waiting parse
+            next.success(new Permit(this));
+        }
+    }
+
+    /**
+     * One parse slot, released exactly once.
+     */
+    static final class Permit {
+
+        private static final int ACQUIRED = 0;
+        private static final int STARTED = 1;
+        private static final int RELEASED = 2;
+
+        private final Permits permits;
+        private final AtomicInteger state = new AtomicInteger(ACQUIRED);
+
+        private Permit(Permits permits) {
+            this.permits = permits;
+        }
+
+        /**
+         * Marks the parse as running.
+         *
+         * @return false if the permit was released before the parse started
+         */
+        boolean start() {
+            return state.compareAndSet(ACQUIRED, STARTED);
+        }
+
+        void release() {
+            if (state.getAndSet(RELEASED) != RELEASED) {
+                permits.release();
+            }
+        }
+
+        /**
+         * Releases the permit of a parse that has not started yet, which then never starts.
+         */
+        void releaseIfNotStarted() {
+            if (state.compareAndSet(ACQUIRED, RELEASED)) {
+                permits.release();
+            }
+        }
+    }
+
+    /**
+     * Filing stream that can be closed from another thread to stop a parse in progress.
+     */
+    static final class CancellableInputStream extends FilterInputStream {
+
+        private volatile boolean cancelled;
+
+        CancellableInputStream(InputStream in) {
+            super(in);
+        }
+
+        void cancel() {
+            cancelled = true;
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // the parse fails on its next read either way
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public int read() throws IOException {
+            checkCancelled();
+            return super.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            checkCancelled();
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            checkCancelled();
+            return super.skip(n);
+        }
+
+        private void checkCancelled() throws IOException {
+            if (cancelled) {
+                throw new InterruptedIOException("Parse cancelled");
+            }
+        }
+    }
+}
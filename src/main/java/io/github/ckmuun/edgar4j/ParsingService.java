@@ -3,13 +3,15 @@ package io.github.ckmuun.edgar4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
+import reactor.core.publisher.Flux;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 import static io.github.ckmuun.edgar4j.Constants.*;
@@ -20,11 +22,28 @@ import static io.github.ckmuun.edgar4j.Constants.*;
  */
 public class ParsingService {
 
+    private final ForkJoinPool itemPool;
+
     /**
      * Creates a new EdgarParsingService.
      */
     public ParsingService() {
-        // Default constructor
+        this(null);
+    }
+
+    /**
+     * Creates a new EdgarParsingService that processes a parsed form in parallel. Once the HTML is
+     * parsed, the DOM is split at the blocks of the form, whose subtrees are stripped and have
+     * their texts extracted by separate tasks; matching the item pattern against the texts and
+     * building the item chunks then runs on the pool as well. Only reading the HTML into a DOM
+     * stays on the calling thread. This lowers the latency of a single large filing, e.g. when a
+     * user opens it. Batch loads already parse many filings at once and gain nothing from it.
+     *
+     * @param itemPool Pool to process forms on, e.g. {@link ForkJoinPool#commonPool()}, or null
+     *                 to process them on the parsing thread
+     */
+    public ParsingService(ForkJoinPool itemPool) {
+        this.itemPool = itemPool;
     }
 
     /**
@@ -36,31 +55,63 @@ public class ParsingService {
      */
     public Document parseEdgarForm(CompanyFilingDto companyFilingDto) {
         org.jsoup.nodes.Document htmlDocument;
-        try {
-            htmlDocument = Jsoup.parse(companyFilingDto.file(), "UTF-8", "");
+        try (InputStream file = companyFilingDto.file()) {
+            htmlDocument = Jsoup.parse(file, "UTF-8", "");
         } catch (IOException ioe) {
             throw new RuntimeException("Failed to parse HTML document", ioe);
         }
 
-        // Extract XBRL header and strip it from the main document
-        byte[] xbrl = this.getXbrlHeader(htmlDocument);
-        htmlDocument = this.stripFormHtml(htmlDocument);
+        // Extract the XBRL header, strip the main document and collect the element texts in one pass
+        var formHtml = new FormHtmlFilter(companyFilingDto.metadata().accessionNumber());
+        formHtml.filter(htmlDocument, itemPool);
 
         // Create metadata for the filing (document-level metadata)
-        Map<String, Object> metadata = createFilingMetadata(companyFilingDto.metadata());
+        // shared by the document and all of its chunks
+        FilingMetadata metadata = FilingMetadata.of(companyFilingDto.metadata());
 
         // Add XBRL header as a chunk
-        Map<String, Object> xbrlMetadata = new HashMap<>(metadata);
-        xbrlMetadata.put("documentType", "XBRL_HEADER");
-        var xbrlHeader = new DocumentChunk(new String(xbrl, StandardCharsets.UTF_8), xbrlMetadata);
+        var xbrlHeader = new DocumentChunk(formHtml.xbrlHeader(), metadata, DocumentChunk.XBRL_HEADER, DocumentChunk.NO_ITEM, null);
 
         return switch (companyFilingDto.metadata().form()) {
-            case TEN_K_FORM -> new Document(xbrlHeader, getFormItemsFromHtml(htmlDocument, TEN_K_ITEMS_REGEX, metadata), metadata);
-            case TEN_Q_FORM -> new Document(xbrlHeader, getFormItemsFromHtml(htmlDocument, TEN_Q_ITEMS_REGEX, metadata), metadata);
+            case TEN_K_FORM -> new Document(xbrlHeader, formHtml.formItems(TEN_K_ITEMS_REGEX, metadata, itemPool), metadata, formHtml.facts());
+            case TEN_Q_FORM -> new Document(xbrlHeader, formHtml.formItems(TEN_Q_ITEMS_REGEX, metadata, itemPool), metadata, formHtml.facts());
             default -> throw new IllegalArgumentException("Currently only %s forms supported".formatted(TEN_K_FORM));
         };
     }
 
+    /**
+     * Convert an Edgar form filing into chunks without building a DOM of the whole filing.
+     * Chunks are emitted as soon as the parser has passed them: the XBRL header first,
+     * then one chunk per form item. Memory use is bounded by the largest item instead of
+     * the whole filing, at the cost of ordering the text of mixed-content elements after
+     * their children's text. The filing stream is closed when the Flux terminates or is cancelled.
+     * <p>
+     * Parsing blocks on reading the filing, so subscribe on a scheduler that allows blocking.
+     *
+     * @param companyFilingDto The filing to parse
+     * @return Flux of DocumentChunk objects
+     */
+    public Flux<DocumentChunk> streamEdgarForm(CompanyFilingDto companyFilingDto) {
+        return Flux.defer(() -> {
+            Pattern itemsRegex = switch (companyFilingDto.metadata().form()) {
+                case TEN_K_FORM -> TEN_K_ITEMS_REGEX;
+                case TEN_Q_FORM -> TEN_Q_ITEMS_REGEX;
+                default -> throw new IllegalArgumentException("Currently only %s forms supported".formatted(TEN_K_FORM));
+            };
+            FilingMetadata metadata = FilingMetadata.of(companyFilingDto.metadata());
+            return Flux.using(
+                    () -> new StreamingFormParser(companyFilingDto.file(), itemsRegex, metadata),
+                    parser -> Flux.fromIterable(() -> parser),
+                    parser -> {
+                        try {
+                            parser.close();
+                        } catch (IOException ignored) {
+                            // nothing left to read
+                        }
+                    });
+        });
+    }
+
     /**
      * Extract form items from HTML document using the provided regex pattern.
      *
@@ -88,46 +139,24 @@ public class ParsingService {
                                                        Pattern beginRegex,
                                                        Pattern endRegex,
                                                        Map<String, Object> baseMetadata) {
-        List<DocumentChunk> documentChunks = new ArrayList<>();
+        if (itemPool != null && beginRegex == endRegex) {
+            return FormItemCollector.collectElements(htmlDocument.getAllElements(), beginRegex, FilingMetadata.of(baseMetadata), itemPool);
+        }
 
-        boolean match = false;
-        var content = new StringBuilder();
-        String currentItemTitle = null;
-        int itemIndex = 0;
+        List<DocumentChunk> documentChunks = new ArrayList<>();
+        var collector = new FormItemCollector(beginRegex, endRegex, FilingMetadata.of(baseMetadata));
 
         for (Element e : htmlDocument.getAllElements()) {
-            if (match && endRegex.matcher(e.ownText()).matches()) {
-                // End of current item - create document
-                Map<String, Object> itemMetadata = new HashMap<>(baseMetadata);
-                itemMetadata.put("documentType", "FORM_ITEM");
-                itemMetadata.put("itemIndex", itemIndex++);
-                itemMetadata.put("itemTitle", currentItemTitle);
-
-                documentChunks.add(new DocumentChunk(content.toString().trim(), itemMetadata));
-                match = false;
-                content = new StringBuilder();
-                currentItemTitle = null;
-            }
-
-            if (beginRegex.matcher(e.ownText()).matches()) {
-                // Start of new item
-                match = true;
-                currentItemTitle = e.ownText().trim();
-            }
-
-            if (match) {
-                content.append(' ');
-                content.append(e.ownText());
+            DocumentChunk completed = collector.accept(e.ownText());
+            if (completed != null) {
+                documentChunks.add(completed);
             }
         }
 
         // Handle case where document ends without a closing pattern
-        if (match && !content.isEmpty()) {
-            Map<String, Object> itemMetadata = new HashMap<>(baseMetadata);
-            itemMetadata.put("documentType", "FORM_ITEM");
-            itemMetadata.put("itemIndex", itemIndex);
-            itemMetadata.put("itemTitle", currentItemTitle);
-            documentChunks.add(new DocumentChunk(content.toString().trim(), itemMetadata));
+        DocumentChunk last = collector.finish();
+        if (last != null) {
+            documentChunks.add(last);
         }
 
         return documentChunks;
@@ -186,22 +215,4 @@ public class ParsingService {
 
         return htmlDocument;
     }
-
-    /**
-     * Create metadata map from filing metadata.
-     *
-     * @param metadata The filing metadata
-     * @return Map containing metadata for documents
-     */
-    private Map<String, Object> createFilingMetadata(CompanyFilingMetadataDto metadata) {
-        Map<String, Object> result = new HashMap<>();
-        if (metadata.cik() != null) result.put("cik", metadata.cik());
-        if (metadata.name() != null) result.put("companyName", metadata.name());
-        if (metadata.accessionNumber() != null) result.put("accessionNumber", metadata.accessionNumber());
-        if (metadata.filingDate() != null) result.put("filingDate", metadata.filingDate());
-        if (metadata.reportDate() != null) result.put("reportDate", metadata.reportDate());
-        if (metadata.form() != null) result.put("form", metadata.form());
-        if (metadata.primaryDocument() != null) result.put("primaryDocument", metadata.primaryDocument());
-        return result;
-    }
 }
@@ -0,0 +1,10 @@
+package io.github.ckmuun.edgar4j;
+
+/**
+ * A chunk matching a {@link ChunkIndex} search.
+ *
+ * @param chunk       The matching chunk
+ * @param occurrences Number of times the phrase occurs in the chunk
+ */
+public record SearchHit(DocumentChunk chunk, int occurrences) {
+}
@@ -0,0 +1,208 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket rate limiter for SEC EDGAR requests, installed into the WebClient as a filter.
+ * SEC allows at most 10 requests per second per client, so a single limiter is shared by all
+ * WebClients created through {@link WebClientFactory} in the JVM.
+ * <p>
+ * The limiter adapts to throttling: when SEC answers with 429 or 403, or sends a Retry-After
+ * header, the rate is halved and requests are paused for the indicated time. Every successful
+ * response then raises the rate by a small step until the configured maximum is reached again.
+ */
+@Slf4j
+public class SecRateLimiter {
+
+    public static final double SEC_MAX_REQUESTS_PER_SECOND = 10.0;
+    public static final String RATE_LIMIT_PROPERTY = "edgar.rateLimit";
+
+    private static final Duration DEFAULT_BACKOFF = Duration.ofSeconds(1);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static volatile SecRateLimiter shared;
+
+    private final double maxRate;
+    private final double minRate;
+    private final double recoveryStep;
+    private final LongSupplier nanoTime;
+
+    // guarded by this
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long lastDecrease;
+
+    /**
+     * Creates a new SecRateLimiter with the given maximum rate.
+     *
+     * @param maxRequestsPerSecond Upper bound for the request rate
+     */
+    public SecRateLimiter(double maxRequestsPerSecond) {
+        this(maxRequestsPerSecond, maxRequestsPerSecond / 10, maxRequestsPerSecond / 200);
+    }
+
+    /**
+     * Creates a new SecRateLimiter.
+     *
+     * @param maxRequestsPerSecond Upper bound for the request rate
+     * @param minRequestsPerSecond Lower bound the rate is never reduced below when throttled
+     * @param recoveryStep         Requests per second added back to the rate after each successful response
+     */
+    public SecRateLimiter(double maxRequestsPerSecond, double minRequestsPerSecond, double recoveryStep) {
+        this(maxRequestsPerSecond, minRequestsPerSecond, recoveryStep, System::nanoTime);
+    }
+
+    SecRateLimiter(double maxRequestsPerSecond, double minRequestsPerSecond, double recoveryStep, LongSupplier nanoTime) {
+        if (maxRequestsPerSecond <= 0 || minRequestsPerSecond <= 0 || minRequestsPerSecond > maxRequestsPerSecond) {
+            throw new IllegalArgumentException("Invalid rate limits: min=%s, max=%s"
+                    .formatted(minRequestsPerSecond, maxRequestsPerSecond));
+        }
+        this.maxRate = maxRequestsPerSecond;
+        this.minRate = minRequestsPerSecond;
+        this.recoveryStep = recoveryStep;
+        this.nanoTime = nanoTime;
+        this.rate = maxRequestsPerSecond;
+        this.tokens = 1;
+        this.lastRefill = nanoTime.getAsLong();
+        this.lastDecrease = lastRefill - NANOS_PER_SECOND;
+    }
+
+    /**
+     * Returns the limiter shared by all WebClients in this JVM.
+     * Its maximum rate is read from the {@value #RATE_LIMIT_PROPERTY} system property
+     * and defaults to the SEC limit of 10 requests per second.
+     */
+    public static SecRateLimiter shared() {
+        SecRateLimiter limiter = shared;
+        if (limiter == null) {
+            synchronized (SecRateLimiter.class) {
+                limiter = shared;
+                if (limiter == null) {
+                    double rate = Double.parseDouble(
+                            System.getProperty(RATE_LIMIT_PROPERTY, String.valueOf(SEC_MAX_REQUESTS_PER_SECOND)));
+                    limiter = shared = new SecRateLimiter(rate);
+                }
+            }
+        }
+        return limiter;
+    }
+
+    /**
+     * Replaces the shared limiter, e.g. to configure a lower rate for a deployment that
+     * shares its SEC budget with other processes. Only affects WebClients created afterwards.
+     */
+    public static void setShared(SecRateLimiter limiter) {
+        synchronized (SecRateLimiter.class) {
+            shared = limiter;
+        }
+    }
+
+    /**
+     * Returns a WebClient filter that delays each request until a token is available
+     * and adapts the rate to the responses received.
+     */
+    public ExchangeFilterFunction filter() {
+        return (request, next) -> Mono.defer(() -> {
+            long waitNanos = reserve();
+            Mono<ClientResponse> exchange = Mono.defer(() -> next.exchange(request));
+            if (waitNanos > 0) {
+                exchange = Mono.delay(Duration.ofNanos(waitNanos)).then(exchange);
+            }
+            return exchange.doOnNext(this::onResponse);
+        });
+    }
+
+    /**
+     * The current, possibly reduced, request rate in requests per second.
+     */
+    public synchronized double currentRate() {
+        return rate;
+    }
+
+    /**
+     * Takes one token from the bucket and returns how long the caller has to wait before using it.
+     *
+     * @return wait time in nanoseconds, 0 if the request may be sent immediately
+     */
+    synchronized long reserve() {
+        long now = nanoTime.getAsLong();
+        refill(now);
+        tokens -= 1;
+        long wait = Math.max(0, lastRefill - now);
+        if (tokens < 0) {
+            wait += (long) Math.ceil(-tokens / rate * NANOS_PER_SECOND);
+        }
+        return wait;
+    }
+
+    void onResponse(ClientResponse response) {
+        int status = response.statusCode().value();
+        String retryAfter = response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (status == 429 || status == 403 || retryAfter != null) {
+            onThrottled(parseRetryAfter(retryAfter));
+        } else if (response.statusCode().is2xxSuccessful() || status == 304) {
+            onSuccess();
+        }
+    }
+
+    /**
+     * Halves the rate and stops handing out tokens until the backoff has passed.
+     * Several throttled responses arriving together only reduce the rate once.
+     */
+    synchronized void onThrottled(Duration retryAfter) {
+        long now = nanoTime.getAsLong();
+        Duration backoff = retryAfter != null ? retryAfter : DEFAULT_BACKOFF;
+        if (now - lastDecrease >= NANOS_PER_SECOND) {
+            rate = Math.max(minRate, rate / 2);
+            lastDecrease = now;
+            log.warn("SEC throttled request, reducing rate to {} requests/s for at least {} ms",
+                    rate, backoff.toMillis());
+        }
+        refill(now);
+        tokens = Math.min(tokens, 0);
+        lastRefill = Math.max(lastRefill, now + backoff.toNanos());
+    }
+
+    synchronized void onSuccess() {
+        if (rate < maxRate) {
+            rate = Math.min(maxRate, rate + recoveryStep);
+        }
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            tokens = Math.min(1, tokens + (double) (now - lastRefill) / NANOS_PER_SECOND * rate);
+            lastRefill = now;
+        }
+    }
+
+    static Duration parseRetryAfter(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException nfe) {
+            // not delta-seconds, try HTTP-date below
+        }
+        try {
+            var until = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            var delay = Duration.between(ZonedDateTime.now(until.getZone()), until);
+            return delay.isNegative() ? Duration.ZERO : delay;
+        } catch (DateTimeParseException dtpe) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package io.github.ckmuun.edgar4j;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+import static io.github.ckmuun.edgar4j.Constants.IX_HEADER;
+
+/**
+ * Splits a form into chunks with jsoup's {@link StreamParser} instead of a complete DOM.
+ * <p>
+ * The stream parser hands out each element once it is closed, children before their parent.
+ * Every element is removed from the tree right after its own text has been collected, so
+ * only the currently open elements and the not yet processed siblings are held in memory.
+ * The XBRL header is kept until it is closed and then emitted as a chunk of its own; links
+ * are dropped together with their content, like {@link ParsingService#stripFormHtml} does.
+ * <p>
+ * As parents are handed out after their children, text directly inside an element that also
+ * contains child elements follows the children's text. EDGAR filings keep their text in leaf
+ * elements, where the items are identical to those of the DOM based parse mode up to whitespace.
+ */
+final class StreamingFormParser implements Iterator<DocumentChunk>, Closeable {
+
+    private static final String LINK = "a";
+
+    private final InputStream file;
+    private final StreamParser streamParser;
+    private final Iterator<Element> elements;
+    private final FilingMetadata metadata;
+    private final FormItemCollector collector;
+    private final Queue<DocumentChunk> pending = new ArrayDeque<>();
+    private boolean finished;
+
+    StreamingFormParser(InputStream file, Pattern itemsRegex, FilingMetadata metadata) {
+        this.file = file;
+        this.metadata = metadata;
+        this.collector = new FormItemCollector(itemsRegex, itemsRegex, metadata);
+        this.streamParser = new StreamParser(Parser.htmlParser())
+                .parse(new BufferedReader(new InputStreamReader(file, StandardCharsets.UTF_8)), "");
+        this.elements = streamParser.iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (pending.isEmpty() && !finished) {
+            advance();
+        }
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public DocumentChunk next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return pending.remove();
+    }
+
+    private void advance() {
+        try {
+            if (elements.hasNext()) {
+                process(elements.next());
+            } else {
+                finished = true;
+                DocumentChunk last = collector.finish();
+                if (last != null) pending.add(last);
+            }
+        } catch (UncheckedIOException e) {
+            throw new RuntimeException("Failed to parse HTML document", e.getCause());
+        }
+    }
+
+    private void process(Element element) {
+        if (IX_HEADER.equals(element.normalName())) {
+            pending.add(new DocumentChunk(element.html(), metadata, DocumentChunk.XBRL_HEADER, DocumentChunk.NO_ITEM, null));
+            element.remove();
+            return;
+        }
+        boolean inLink = LINK.equals(element.normalName());
+        for (Element parent = element.parent(); parent != null; parent = parent.parent()) {
+            if (IX_HEADER.equals(parent.normalName())) {
+                // still needed for the header's html
+                return;
+            }
+            inLink |= LINK.equals(parent.normalName());
+        }
+        if (!inLink) {
+            String ownText = element.ownText();
+            if (!ownText.isBlank()) {
+                DocumentChunk completed = collector.accept(ownText);
+                if (completed != null) pending.add(completed);
+            }
+        }
+        if (element.parent() != null) {
+            element.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            streamParser.close();
+        } finally {
+            file.close();
+        }
+    }
+}
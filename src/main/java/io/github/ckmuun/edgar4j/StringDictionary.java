@@ -0,0 +1,62 @@
+package io.github.ckmuun.edgar4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns dense int ids to strings, so that columns of repeated strings such as
+ * XBRL concept names can be stored as {@code int[]} and compared by id.
+ * Ids start at 0 and are assigned in order of first occurrence.
+ */
+public final class StringDictionary {
+
+    public static final int NOT_FOUND = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Returns the id of the given string, assigning the next id if it is new.
+     *
+     * @param value String to encode, not null
+     * @return Id of the string
+     */
+    public int intern(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the given string without assigning one.
+     *
+     * @param value String to look up
+     * @return Id of the string, or {@value #NOT_FOUND} if it has no id
+     */
+    public int indexOf(String value) {
+        return ids.getOrDefault(value, NOT_FOUND);
+    }
+
+    /**
+     * Returns the string with the given id.
+     *
+     * @param id Id returned by {@link #intern}
+     * @return The string
+     */
+    public String get(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * Number of distinct strings.
+     */
+    public int size() {
+        return values.size();
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.ckmuun.edgar4j;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * One {@code <DOCUMENT>} of a complete submission text file, such as the form itself, an exhibit
+ * like EX-21 or EX-10.1, an XBRL instance or a graphic.
+ * <p>
+ * The content is not copied: it is a read-only view into the downloaded submission, which is
+ * memory-mapped, so even submissions of several hundred MB do not fill the heap. Binary documents
+ * are stored uuencoded by SEC and are only decoded while {@link #openStream()} is read.
+ *
+ * @param type        Document type, e.g. "10-K", "EX-21.1" or "GRAPHIC"
+ * @param sequence    Position of the document within the submission, starting at 1
+ * @param filename    File name of the document, e.g. "aapl-20240928.htm"
+ * @param description Description given by the filer, or null
+ * @param uuencoded   Whether the content is uuencoded binary data
+ * @param rawContent  Content between the {@code <TEXT>} tags, without an {@code <XBRL>}, {@code <XML>}
+ *                    or {@code <PDF>} wrapper and still uuencoded for binary documents
+ */
+public record SubmissionDocument(String type, int sequence, String filename, String description,
+                                 boolean uuencoded, ByteBuffer rawContent) {
+
+    public SubmissionDocument {
+        rawContent = rawContent.asReadOnlyBuffer();
+    }
+
+    /**
+     * The raw content, positioned at its start. Every call returns an independent view.
+     */
+    @Override
+    public ByteBuffer rawContent() {
+        return rawContent.duplicate();
+    }
+
+    /**
+     * Size of the raw content in bytes, before uudecoding.
+     */
+    public int rawSize() {
+        return rawContent.remaining();
+    }
+
+    /**
+     * Opens the content of the document, uudecoding binary documents on the fly.
+     */
+    public InputStream openStream() {
+        return uuencoded
+                ? new UudecodeInputStream(rawContent.duplicate())
+                : new ByteBufferInputStream(rawContent.duplicate());
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Decodes uuencoded content line by line: a {@code begin <mode> <name>} line, data lines whose
+     * first character encodes the number of bytes they hold, and an empty line before {@code end}.
+     */
+    private static class UudecodeInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+        // a data line holds at most 63 bytes
+        private final byte[] line = new byte[63];
+        private int lineLength;
+        private int linePosition;
+        private boolean done;
+
+        UudecodeInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+            skipToBegin();
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return line[linePosition++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int count = 0;
+            while (count < length && fill()) {
+                int chunk = Math.min(length - count, lineLength - linePosition);
+                System.arraycopy(line, linePosition, bytes, offset + count, chunk);
+                linePosition += chunk;
+                count += chunk;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        /**
+         * Decodes the next data line once the current one is consumed.
+         *
+         * @return false at the end of the encoded data
+         */
+        private boolean fill() {
+            while (linePosition == lineLength) {
+                if (done || !buffer.hasRemaining()) {
+                    done = true;
+                    return false;
+                }
+                decodeLine();
+            }
+            return true;
+        }
+
+        private void decodeLine() {
+            int start = buffer.position();
+            int end = lineEnd(start);
+            buffer.position(Math.min(end + 1, buffer.limit()));
+            if (end > start && buffer.get(end - 1) == '\r') {
+                end--;
+            }
+            linePosition = 0;
+            lineLength = 0;
+            if (end == start) {
+                return;
+            }
+            int count = sixBits(buffer.get(start));
+            if (count == 0 || startsWith(start, end, "end")) {
+                done = true;
+                return;
+            }
+            for (int i = start + 1; lineLength < count; i += 4) {
+                int c0 = sixBits(i, end);
+                int c1 = sixBits(i + 1, end);
+                int c2 = sixBits(i + 2, end);
+                int c3 = sixBits(i + 3, end);
+                line[lineLength++] = (byte) (c0 << 2 | c1 >> 4);
+                if (lineLength < count) line[lineLength++] = (byte) (c1 << 4 | c2 >> 2);
+                if (lineLength < count) line[lineLength++] = (byte) (c2 << 6 | c3);
+            }
+        }
+
+        private void skipToBegin() {
+            while (buffer.hasRemaining()) {
+                int start = buffer.position();
+                int end = lineEnd(start);
+                buffer.position(Math.min(end + 1, buffer.limit()));
+                if (startsWith(start, end, "begin ")) {
+                    return;
+                }
+            }
+            done = true;
+        }
+
+        private int sixBits(int index, int end) {
+            return index < end ? sixBits(buffer.get(index)) : 0;
+        }
+
+        private static int sixBits(byte b) {
+            // '`' encodes zero like ' '
+            return (b - ' ') & 0x3f;
+        }
+
+        private boolean startsWith(int start, int end, String prefix) {
+            if (end - start < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (buffer.get(start + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int lineEnd(int start) {
+            int limit = buffer.limit();
+            for (int i = start; i < limit; i++) {
+                if (buffer.get(i) == '\n') {
+                    return i;
+                }
+            }
+            return limit;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package io.github.ckmuun.edgar4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a complete submission text file ({@code /Archives/edgar/data/<cik>/<accession>.txt}) into
+ * its documents. The file is SGML-like: after the {@code <SEC-HEADER>}, every document is wrapped in
+ * {@code <DOCUMENT>} tags, starts with {@code <TYPE>}, {@code <SEQUENCE>}, {@code <FILENAME>} and
+ * {@code <DESCRIPTION>} lines and holds its content between {@code <TEXT>} and {@code </TEXT>}:
+ * <pre>
+ * &lt;DOCUMENT&gt;
+ * &lt;TYPE&gt;EX-21.1
+ * &lt;SEQUENCE&gt;4
+ * &lt;FILENAME&gt;a10-kexhibit21109282024.htm
+ * &lt;DESCRIPTION&gt;EX-21.1
+ * &lt;TEXT&gt;
+ * ...
+ * &lt;/TEXT&gt;
+ * &lt;/DOCUMENT&gt;
+ * </pre>
+ * The file is scanned line by line in place, e.g. in a memory mapping of the downloaded submission.
+ * Only the tag lines are decoded; the contents become {@link SubmissionDocument}s that share the
+ * scanned buffer instead of being copied.
+ */
+final class SubmissionSplitter {
+
+    private static final byte NEWLINE = '\n';
+    private static final String DOCUMENT = "<DOCUMENT>";
+    private static final String TEXT = "<TEXT>";
+    private static final String TEXT_END = "</TEXT>";
+    private static final String[] CONTENT_WRAPPERS = {"XBRL", "XML", "PDF"};
+
+    private final ByteBuffer buffer;
+    private int position;
+
+    private SubmissionSplitter(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.position = buffer.position();
+    }
+
+    /**
+     * Splits a submission held in a buffer.
+     *
+     * @param buffer The submission text file; its position and limit are not changed
+     * @return The documents, in the order of the file
+     */
+    static List<SubmissionDocument> split(ByteBuffer buffer) {
+        return new SubmissionSplitter(buffer).split();
+    }
+
+    /**
+     * Splits a local submission file through a memory mapping, so it is never copied onto the heap.
+     * The mapping stays valid after the file is closed or deleted, as long as the documents are referenced.
+     */
+    static List<SubmissionDocument> split(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Submission too large to map: " + channel.size() + " bytes");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return split(mapped);
+        }
+    }
+
+    private List<SubmissionDocument> split() {
+        List<SubmissionDocument> documents = new ArrayList<>();
+        int limit = buffer.limit();
+        while (position < limit) {
+            int end = lineEnd(position);
+            boolean document = startsWith(position, end, DOCUMENT);
+            position = end + 1;
+            if (document) {
+                SubmissionDocument parsed = readDocument();
+                if (parsed != null) {
+                    documents.add(parsed);
+                }
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Reads the tag lines of a document and finds the bounds of its content.
+     *
+     * @return null if the document has no complete {@code <TEXT>} block
+     */
+    private SubmissionDocument readDocument() {
+        String type = null;
+        String filename = null;
+        String description = null;
+        int sequence = 0;
+        int limit = buffer.limit();
+        while (position < limit) {
+            int end = lineEnd(position);
+            int start = position;
+            position = end + 1;
+            if (startsWith(start, end, TEXT)) {
+                return readContent(type, sequence, filename, description);
+            }
+            String line = decode(start, end).strip();
+            if (line.startsWith("<TYPE>")) {
+                type = value(line, "<TYPE>");
+            } else if (line.startsWith("<SEQUENCE>")) {
+                try {
+                    sequence = Integer.parseInt(value(line, "<SEQUENCE>"));
+                } catch (NumberFormatException e) {
+                    sequence = 0;
+                }
+            } else if (line.startsWith("<FILENAME>")) {
+                filename = value(line, "<FILENAME>");
+            } else if (line.startsWith("<DESCRIPTION>")) {
+                description = value(line, "<DESCRIPTION>");
+            }
+        }
+        return null;
+    }
+
+    private SubmissionDocument readContent(String type, int sequence, String filename, String description) {
+        int contentStart = position;
+        int limit = buffer.limit();
+        while (position < limit) {
+            int end = lineEnd(position);
+            int start = position;
+            position = end + 1;
+            if (startsWith(start, end, TEXT_END)) {
+                return toDocument(type, sequence, filename, description, contentStart, start);
+            }
+        }
+        return null;
+    }
+
+    private SubmissionDocument toDocument(String type, int sequence, String filename, String description,
+                                          int start, int end) {
+        // XBRL and XML documents are wrapped in <XBRL> or <XML> tags, uuencoded PDFs in <PDF> tags
+        int firstEnd = lineEnd(start);
+        String firstLine = decode(start, firstEnd).strip();
+        for (String wrapper : CONTENT_WRAPPERS) {
+            if (firstLine.equals("<" + wrapper + ">")) {
+                int close = lastLineStart(start, end);
+                if (close > firstEnd && decode(close, end).strip().equals("</" + wrapper + ">")) {
+                    start = firstEnd + 1;
+                    end = close;
+                }
+                break;
+            }
+        }
+        boolean uuencoded = startsWith(firstNonBlankLine(start, end), end, "begin ");
+        return new SubmissionDocument(type, sequence, filename, description, uuencoded, buffer.slice(start, end - start));
+    }
+
+    private static String value(String line, String tag) {
+        String value = line.substring(tag.length()).strip();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Start of the last non-empty line before {@code end}.
+     */
+    private int lastLineStart(int start, int end) {
+        int i = end - 1;
+        while (i >= start && isBlank(buffer.get(i))) {
+            i--;
+        }
+        while (i >= start && buffer.get(i) != NEWLINE) {
+            i--;
+        }
+        return i + 1;
+    }
+
+    private int firstNonBlankLine(int start, int end) {
+        int i = start;
+        while (i < end && isBlank(buffer.get(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r' || b == NEWLINE;
+    }
+
+    private boolean startsWith(int start, int end, String prefix) {
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer.get(start + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lineEnd(int start) {
+        int limit = buffer.limit();
+        for (int i = start; i < limit; i++) {
+            if (buffer.get(i) == NEWLINE) {
+                return i;
+            }
+        }
+        return limit;
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        // tag lines are ASCII, but descriptions may carry Latin-1 characters
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
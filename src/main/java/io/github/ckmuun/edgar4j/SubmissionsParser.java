@@ -0,0 +1,533 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental parser for the SEC submissions JSON ({@code /submissions/CIK##########.json}).
+ * <p>
+ * The filings in that file are stored column-wise: {@code filings.recent} holds one array per
+ * field, all of the same length. The parser is fed the raw response bytes chunk by chunk through
+ * Jackson's non-blocking parser, so neither the response body as a String nor a JSON tree is ever
+ * built. Column values are collected as they stream by and zipped into
+ * {@link CompanyFilingMetadataDto} rows as soon as the column object is complete.
+ * <p>
+ * A {@link FilingQuery} is applied while the columns are collected: as soon as the
+ * {@code filingDate}, {@code form} or {@code isXBRL} column is complete, the rows it rejects are
+ * marked, and the values of those rows in the columns that follow are skipped instead of being
+ * turned into Strings. Rows beyond the query's limit or older than its date range are skipped alike.
+ * <p>
+ * Companies with a long filing history have their older filings split into additional
+ * page files listed under {@code filings.files}. Those pages carry the same columns at
+ * their top level and are parsed with a parser created by {@link #forPage(String, String)}.
+ * <p>
+ * A parser instance holds the state of a single response and is not thread-safe.
+ */
+final class SubmissionsParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int MAX_DEPTH = 8;
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final String TRUE = "1";
+    private static final String FALSE = "0";
+
+    /**
+     * The columns of a submissions file, in the order SEC publishes them.
+     */
+    enum Column {
+        ACCESSION_NUMBER("accessionNumber"),
+        FILING_DATE("filingDate"),
+        REPORT_DATE("reportDate"),
+        ACCEPTANCE_DATE_TIME("acceptanceDateTime"),
+        ACT("act"),
+        FORM("form"),
+        FILE_NUMBER("fileNumber"),
+        FILM_NUMBER("filmNumber"),
+        ITEMS("items"),
+        CORE_TYPE("core_type"),
+        SIZE("size"),
+        IS_XBRL("isXBRL"),
+        IS_INLINE_XBRL("isInlineXBRL"),
+        PRIMARY_DOCUMENT("primaryDocument"),
+        PRIMARY_DOC_DESCRIPTION("primaryDocDescription");
+
+        private static final Map<String, Column> BY_FIELD_NAME = new HashMap<>();
+
+        static {
+            for (Column column : values()) {
+                BY_FIELD_NAME.put(column.fieldName, column);
+            }
+        }
+
+        private final String fieldName;
+
+        Column(String fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        String fieldName() {
+            return fieldName;
+        }
+
+        static Column of(String fieldName) {
+            return BY_FIELD_NAME.get(fieldName);
+        }
+    }
+
+    private final boolean pageMode;
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+
+    private final String[] path = new String[MAX_DEPTH];
+    private int depth;
+
+    private String cik;
+    private String name;
+
+    private final List<SubmissionsPage> pages = new ArrayList<>();
+    private String pageName;
+    private int pageFilingCount;
+    private String pageFilingFrom;
+    private String pageFilingTo;
+
+    private final ColumnValues[] columns = new ColumnValues[Column.values().length];
+    private Column currentColumn;
+    private FilingIndex.Builder index;
+    private FilingQuery query = FilingQuery.ALL;
+    private int remaining = Integer.MAX_VALUE;
+    private boolean exhausted;
+    // rows rejected by the predicate columns completed so far, and the first row past the query
+    private final BitSet rejected = new BitSet();
+    private int rowLimit = Integer.MAX_VALUE;
+    private int pendingPredicates;
+
+    private SubmissionsParser(boolean pageMode, String cik, String name) {
+        this.pageMode = pageMode;
+        this.cik = cik;
+        this.name = name;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException ioe) {
+            throw new IllegalStateException("Failed to create non-blocking JSON parser", ioe);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Creates a parser for a company's main submissions file, which carries the
+     * company's CIK and name and the most recent filings under {@code filings.recent}.
+     */
+    static SubmissionsParser forSubmissions() {
+        return new SubmissionsParser(false, null, null);
+    }
+
+    /**
+     * Creates a parser for one of the older submissions pages listed in {@code filings.files}.
+     * Pages do not repeat the company fields, so they are taken from the main submissions file.
+     */
+    static SubmissionsParser forPage(String cik, String name) {
+        return new SubmissionsParser(true, cik, name);
+    }
+
+    /**
+     * Appends the filings to a {@link FilingIndex} instead of emitting them as rows,
+     * so that no {@link CompanyFilingMetadataDto} is created.
+     *
+     * @return this parser
+     */
+    SubmissionsParser collectInto(FilingIndex.Builder builder) {
+        this.index = builder;
+        return this;
+    }
+
+    /**
+     * Only turns the filings matching a query into rows. As filings are listed newest first, the
+     * parser is exhausted once the query's limit is reached or a filing is older than its date range.
+     *
+     * @return this parser
+     */
+    SubmissionsParser withQuery(FilingQuery filingQuery) {
+        this.query = filingQuery;
+        this.remaining = filingQuery.isLimited() ? filingQuery.limit() : Integer.MAX_VALUE;
+        this.pendingPredicates = 0;
+        for (Column column : Column.values()) {
+            if (isPredicate(column)) pendingPredicates++;
+        }
+        // without predicates, the limit alone decides which rows are needed
+        this.rowLimit = pendingPredicates == 0 ? remaining : Integer.MAX_VALUE;
+        return this;
+    }
+
+    /**
+     * Whether no further filings can match the query, so older submissions pages need not be fetched.
+     */
+    boolean exhausted() {
+        return exhausted;
+    }
+
+    String cik() {
+        return cik;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * The older submissions pages referenced by the main submissions file, newest first.
+     * Complete once the whole response has been parsed.
+     */
+    List<SubmissionsPage> pages() {
+        List<SubmissionsPage> sorted = new ArrayList<>(pages);
+        sorted.sort(Comparator.comparing(SubmissionsPage::filingTo, Comparator.nullsLast(Comparator.reverseOrder())));
+        return sorted;
+    }
+
+    /**
+     * Parses a complete response body.
+     */
+    List<CompanyFilingMetadataDto> parse(byte[] body) {
+        List<CompanyFilingMetadataDto> rows = new ArrayList<>(feed(ByteBuffer.wrap(body)));
+        rows.addAll(endOfInput());
+        return rows;
+    }
+
+    /**
+     * Parses a body read from a blocking stream, such as an entry of the bulk submissions archive.
+     * The stream is read in fixed-size chunks and not closed.
+     */
+    List<CompanyFilingMetadataDto> parse(InputStream body) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        List<CompanyFilingMetadataDto> rows = new ArrayList<>();
+        int read;
+        while ((read = body.read(chunk)) != -1) {
+            rows.addAll(feed(ByteBuffer.wrap(chunk, 0, read)));
+        }
+        rows.addAll(endOfInput());
+        return rows;
+    }
+
+    /**
+     * Parses a response body streamed as DataBuffers. Each buffer is released as soon as its
+     * tokens have been consumed.
+     */
+    Flux<CompanyFilingMetadataDto> parse(Flux<DataBuffer> body) {
+        return body
+                .concatMapIterable(this::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(endOfInput())))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Feeds one DataBuffer into the parser and releases it.
+     *
+     * @return the rows completed by this buffer, usually empty
+     */
+    List<CompanyFilingMetadataDto> feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            List<CompanyFilingMetadataDto> rows = List.of();
+            while (iterator.hasNext()) {
+                List<CompanyFilingMetadataDto> completed = feed(iterator.next());
+                if (!completed.isEmpty()) {
+                    rows = rows.isEmpty() ? completed : concat(rows, completed);
+                }
+            }
+            return rows;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Feeds a chunk of the response body into the parser.
+     *
+     * @return the rows completed by this chunk, usually empty
+     */
+    List<CompanyFilingMetadataDto> feed(ByteBuffer chunk) {
+        try {
+            feeder.feedInput(chunk);
+            return drain();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC filing response", ioe);
+        }
+    }
+
+    /**
+     * Signals that the whole response body has been fed.
+     *
+     * @return any rows completed by the end of input
+     */
+    List<CompanyFilingMetadataDto> endOfInput() {
+        try {
+            feeder.endOfInput();
+            List<CompanyFilingMetadataDto> rows = drain();
+            parser.close();
+            return rows;
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse SEC filing response", ioe);
+        }
+    }
+
+    private List<CompanyFilingMetadataDto> drain() throws IOException {
+        List<CompanyFilingMetadataDto> rows = List.of();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth < MAX_DEPTH) path[depth] = null;
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (token == JsonToken.END_ARRAY && isColumnsObject(depth - 1) && currentColumn != null) {
+                        onColumnEnd(currentColumn);
+                    } else if (token == JsonToken.END_OBJECT && isColumnsObject(depth)) {
+                        rows = toRows();
+                    } else if (token == JsonToken.END_OBJECT && isPageEntry(depth)) {
+                        pages.add(new SubmissionsPage(pageName, pageFilingCount, pageFilingFrom, pageFilingTo));
+                        pageName = pageFilingFrom = pageFilingTo = null;
+                        pageFilingCount = 0;
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth < MAX_DEPTH) path[depth] = parser.currentName();
+                    if (isColumnsObject(depth)) currentColumn = Column.of(parser.currentName());
+                }
+                default -> onScalar();
+            }
+        }
+        return rows;
+    }
+
+    private void onScalar() throws IOException {
+        if (isColumnsObject(depth - 1)) {
+            if (currentColumn != null) {
+                ColumnValues values = columns[currentColumn.ordinal()];
+                if (values == null) {
+                    values = columns[currentColumn.ordinal()] = new ColumnValues();
+                }
+                if (isSkipped(values.size())) {
+                    values.add(null);
+                } else {
+                    values.add(flag(currentColumn) ? flagValue() : parser.getText());
+                }
+            }
+        } else if (isPageEntry(depth)) {
+            switch (path[depth]) {
+                case "name" -> pageName = parser.getText();
+                case "filingCount" -> pageFilingCount = parser.getIntValue();
+                case "filingFrom" -> pageFilingFrom = parser.getText();
+                case "filingTo" -> pageFilingTo = parser.getText();
+                default -> {
+                    // unknown page attribute
+                }
+            }
+        } else if (depth == 1 && !pageMode && path[1] != null) {
+            switch (path[1]) {
+                case "cik" -> cik = parser.getText();
+                case "name" -> name = parser.getText();
+                default -> {
+                    // other company level fields are not mapped
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the container at the given depth is the object holding the filing columns.
+     */
+    private boolean isColumnsObject(int level) {
+        if (pageMode) {
+            return level == 1;
+        }
+        return level == 3 && "filings".equals(path[1]) && "recent".equals(path[2]);
+    }
+
+    /**
+     * Whether the container at the given depth is one of the objects in {@code filings.files}.
+     */
+    private boolean isPageEntry(int level) {
+        return !pageMode && level == 4 && "filings".equals(path[1]) && "files".equals(path[2]);
+    }
+
+    /**
+     * Whether the values of a row need not be collected, as the query already rejected it.
+     */
+    private boolean isSkipped(int row) {
+        return index == null && (row >= rowLimit || rejected.get(row));
+    }
+
+    /**
+     * Whether a column is needed to evaluate the query.
+     */
+    private boolean isPredicate(Column column) {
+        return switch (column) {
+            case FILING_DATE -> !DateRange.ALL.equals(query.filingDates());
+            case FORM -> !query.forms().isEmpty();
+            case IS_XBRL -> query.xbrlOnly();
+            default -> false;
+        };
+    }
+
+    /**
+     * Evaluates the query on a completed predicate column and marks the rows it rejects. Once all
+     * predicate columns are complete, the rows after the limit-th match are cut off as well.
+     */
+    private void onColumnEnd(Column column) {
+        if (index != null || !isPredicate(column)) {
+            return;
+        }
+        ColumnValues values = columns[column.ordinal()];
+        int length = values == null ? 0 : Math.min(values.size(), rowLimit);
+        for (int i = 0; i < length; i++) {
+            if (rejected.get(i)) {
+                continue;
+            }
+            String value = values.get(i);
+            if (column == Column.FILING_DATE && query.filingDates().isBefore(value)) {
+                // filings are listed newest first, so all further rows are older as well
+                rowLimit = i;
+                break;
+            }
+            boolean matches = switch (column) {
+                case FILING_DATE -> query.filingDates().contains(value);
+                case FORM -> query.matchesForm(value);
+                default -> query.matchesXbrl(TRUE.equals(value));
+            };
+            if (!matches) {
+                rejected.set(i);
+            }
+        }
+        if (--pendingPredicates == 0 && query.isLimited()) {
+            int matched = 0;
+            for (int i = rejected.nextClearBit(0); i < length && i < rowLimit; i = rejected.nextClearBit(i + 1)) {
+                if (++matched == remaining) {
+                    rowLimit = i + 1;
+                    break;
+                }
+            }
+        }
+    }
+
+    private List<CompanyFilingMetadataDto> toRows() {
+        ColumnValues accessionNumbers = columns[Column.ACCESSION_NUMBER.ordinal()];
+        int length = accessionNumbers == null ? 0 : accessionNumbers.size();
+        if (index != null) {
+            for (int i = 0; i < length; i++) {
+                int row = i;
+                index.add(cik, name, column -> value(column, row));
+            }
+            Arrays.fill(columns, null);
+            return List.of();
+        }
+        List<CompanyFilingMetadataDto> filings = new ArrayList<>(Math.min(length, remaining));
+
+        for (int i = 0; i < length; i++) {
+            String filingDate = value(Column.FILING_DATE, i);
+            if (i >= rowLimit || remaining == 0 || query.filingDates().isBefore(filingDate)) {
+                exhausted = true;
+                break;
+            }
+            if (rejected.get(i) || !query.matches(value(Column.FORM, i), filingDate, TRUE.equals(value(Column.IS_XBRL, i)))) {
+                continue;
+            }
+            remaining--;
+            filings.add(new CompanyFilingMetadataDto(
+                    cik,
+                    name,
+                    value(Column.ACCESSION_NUMBER, i),
+                    filingDate,
+                    value(Column.REPORT_DATE, i),
+                    value(Column.ACCEPTANCE_DATE_TIME, i),
+                    value(Column.ACT, i),
+                    value(Column.FORM, i),
+                    value(Column.FILE_NUMBER, i),
+                    value(Column.FILM_NUMBER, i),
+                    value(Column.ITEMS, i),
+                    value(Column.CORE_TYPE, i),
+                    value(Column.SIZE, i),
+                    TRUE.equals(value(Column.IS_XBRL, i)),
+                    TRUE.equals(value(Column.IS_INLINE_XBRL, i)),
+                    value(Column.PRIMARY_DOCUMENT, i),
+                    value(Column.PRIMARY_DOC_DESCRIPTION, i)
+            ));
+        }
+
+        // the columns are not needed anymore once the rows are built
+        Arrays.fill(columns, null);
+        rejected.clear();
+        return filings;
+    }
+
+    private String value(Column column, int index) {
+        ColumnValues values = columns[column.ordinal()];
+        return values != null && index < values.size() ? values.get(index) : null;
+    }
+
+    private static boolean flag(Column column) {
+        return column == Column.IS_XBRL || column == Column.IS_INLINE_XBRL;
+    }
+
+    /**
+     * The value of a 0/1 flag column, without allocating a String for every row.
+     */
+    private String flagValue() throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue() == 1 ? TRUE : FALSE;
+        }
+        return parser.getText();
+    }
+
+    /**
+     * The values of one column, in a growing array instead of a list per column.
+     */
+    private static final class ColumnValues {
+
+        private String[] values = new String[64];
+        private int size;
+
+        void add(String value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        String get(int index) {
+            return values[index];
+        }
+
+        int size() {
+            return size;
+        }
+    }
+
+    /**
+     * Reference to an older submissions page, e.g. {@code CIK0000320193-submissions-001.json}.
+     */
+    record SubmissionsPage(String name, int filingCount, String filingFrom, String filingTo) {
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        List<T> result = new ArrayList<>(first.size() + second.size());
+        result.addAll(first);
+        result.addAll(second);
+        return result;
+    }
+}
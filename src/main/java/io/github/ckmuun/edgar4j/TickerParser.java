@@ -0,0 +1,240 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Incremental parser for the SEC company tickers file ({@code company_tickers_exchange.json}).
+ * <p>
+ * The tickers come as valid, but rather strangely formatted JSON: {@code fields} names the
+ * columns, and every entry of {@code data} is an array holding one value per column, without any
+ * key-value semantics. Basically, this is CSV semantics in JSON syntax:
+ * <pre>
+ * {"fields":["cik","name","ticker","exchange"],
+ *  "data":[[320193,"Apple Inc.","AAPL","Nasdaq"], ...]}
+ * </pre>
+ * Columns are mapped by the names in {@code fields}, falling back to the order above if the
+ * header is missing or comes after the data. The raw bytes are fed through Jackson's
+ * non-blocking parser like in {@link SubmissionsParser}, so neither the body as a String nor a
+ * JSON tree is built, and each row becomes a {@link CompanyTickerDto} as soon as it is complete.
+ * <p>
+ * There are only a handful of exchanges across some ten thousand tickers. If enabled, exchange
+ * names are compared against the ones seen before directly in the parser's character buffer, so
+ * all rows share one String per exchange.
+ * <p>
+ * A parser instance holds the state of a single response and is not thread-safe.
+ */
+final class TickerParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String FIELDS = "fields";
+    private static final String DATA = "data";
+    private static final String[] DEFAULT_FIELDS = {"cik", "name", "ticker", "exchange"};
+    private static final int CIK = 0;
+    private static final int NAME = 1;
+    private static final int TICKER = 2;
+    private static final int EXCHANGE = 3;
+    private static final int IGNORED = -1;
+    // bounds the canonical exchanges should a file carry arbitrary values in that column
+    private static final int MAX_CANONICAL_EXCHANGES = 64;
+
+    private final JsonParser parser;
+    private final ByteBufferFeeder feeder;
+    private final boolean canonicalExchanges;
+    private final List<String> exchanges = new ArrayList<>();
+
+    private int depth;
+    private String topLevelField;
+    private List<String> fieldNames;
+    private int[] columns = columnsOf(List.of(DEFAULT_FIELDS));
+    private int position;
+    private final String[] row = new String[DEFAULT_FIELDS.length];
+
+    /**
+     * Creates a parser for one response.
+     *
+     * @param canonicalExchanges Whether all rows of the same exchange share one String
+     */
+    TickerParser(boolean canonicalExchanges) {
+        this.canonicalExchanges = canonicalExchanges;
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteBufferParser();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to create JSON parser", ioe);
+        }
+        this.feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Parses a complete response body.
+     */
+    List<CompanyTickerDto> parse(byte[] body) {
+        List<CompanyTickerDto> rows = new ArrayList<>(feed(ByteBuffer.wrap(body)));
+        rows.addAll(endOfInput());
+        return rows;
+    }
+
+    /**
+     * Parses a response body streamed as DataBuffers. Each buffer is released as soon as its
+     * tokens have been consumed.
+     */
+    Flux<CompanyTickerDto> parse(Flux<DataBuffer> body) {
+        return body
+                .concatMapIterable(this::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(endOfInput())))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * Feeds one DataBuffer into the parser and releases it.
+     *
+     * @return the rows completed by this buffer
+     */
+    List<CompanyTickerDto> feed(DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            List<CompanyTickerDto> rows = new ArrayList<>();
+            while (iterator.hasNext()) {
+                rows.addAll(feed(iterator.next()));
+            }
+            return rows;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    /**
+     * Feeds a chunk of the response body into the parser.
+     *
+     * @return the rows completed by this chunk
+     */
+    List<CompanyTickerDto> feed(ByteBuffer chunk) {
+        try {
+            feeder.feedInput(chunk);
+            return drain();
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse company tickers response", ioe);
+        }
+    }
+
+    /**
+     * Signals that the whole response body has been fed.
+     *
+     * @return any rows completed by the end of input
+     */
+    List<CompanyTickerDto> endOfInput() {
+        try {
+            feeder.endOfInput();
+            List<CompanyTickerDto> rows = drain();
+            parser.close();
+            return rows;
+        } catch (IOException ioe) {
+            throw new RuntimeException("Failed to parse company tickers response", ioe);
+        }
+    }
+
+    private List<CompanyTickerDto> drain() throws IOException {
+        List<CompanyTickerDto> rows = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            switch (token) {
+                case START_OBJECT, START_ARRAY -> {
+                    depth++;
+                    if (depth == 2 && FIELDS.equals(topLevelField)) {
+                        fieldNames = new ArrayList<>(DEFAULT_FIELDS.length);
+                    } else if (depth == 3 && DATA.equals(topLevelField)) {
+                        position = 0;
+                        Arrays.fill(row, null);
+                    }
+                }
+                case END_OBJECT, END_ARRAY -> {
+                    if (depth == 2 && FIELDS.equals(topLevelField) && fieldNames != null) {
+                        columns = columnsOf(fieldNames);
+                        fieldNames = null;
+                    } else if (depth == 3 && DATA.equals(topLevelField)) {
+                        rows.add(new CompanyTickerDto(row[CIK], row[NAME], row[TICKER], row[EXCHANGE]));
+                    }
+                    depth--;
+                }
+                case FIELD_NAME -> {
+                    if (depth == 1) topLevelField = parser.currentName();
+                }
+                default -> onScalar(token);
+            }
+        }
+        return rows;
+    }
+
+    private void onScalar(JsonToken token) throws IOException {
+        if (depth == 2 && fieldNames != null) {
+            fieldNames.add(parser.getText());
+        } else if (depth == 3 && DATA.equals(topLevelField)) {
+            int column = position < columns.length ? columns[position] : IGNORED;
+            position++;
+            if (column == IGNORED || token == JsonToken.VALUE_NULL) {
+                return;
+            }
+            row[column] = column == EXCHANGE && canonicalExchanges && token == JsonToken.VALUE_STRING
+                    ? exchange()
+                    : parser.getText();
+        }
+    }
+
+    /**
+     * Returns the current exchange name, reusing the String of an exchange seen before.
+     */
+    private String exchange() throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        for (String known : exchanges) {
+            if (equals(known, text, offset, length)) {
+                return known;
+            }
+        }
+        String exchange = new String(text, offset, length);
+        if (exchanges.size() < MAX_CANONICAL_EXCHANGES) {
+            exchanges.add(exchange);
+        }
+        return exchange;
+    }
+
+    private static boolean equals(String known, char[] text, int offset, int length) {
+        if (known.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (known.charAt(i) != text[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Maps the position of each value in a data row to the DTO field it holds.
+     */
+    private static int[] columnsOf(List<String> names) {
+        int[] columns = new int[names.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = switch (names.get(i)) {
+                case "cik" -> CIK;
+                case "name" -> NAME;
+                case "ticker" -> TICKER;
+                case "exchange" -> EXCHANGE;
+                default -> IGNORED;
+            };
+        }
+        return columns;
+    }
+}
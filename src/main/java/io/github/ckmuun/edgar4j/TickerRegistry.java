@@ -0,0 +1,295 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static io.github.ckmuun.edgar4j.Constants.SEC_BASE;
+import static io.github.ckmuun.edgar4j.Constants.TICKER_FILE_PATH;
+
+/**
+ * Cached registry of the SEC company tickers.
+ * Keeps ticker to CIK and CIK to ticker lookups in memory, persists the last
+ * response to a local file across restarts and revalidates it with a conditional
+ * request (ETag / If-Modified-Since) once the configured TTL has expired.
+ * Lookups within the TTL cost neither a request nor a parse. If revalidating fails, e.g. because
+ * SEC throttles the client, the cached tickers are used and revalidation is only retried after
+ * {@link #REVALIDATION_BACKOFF}.
+ */
+@Slf4j
+public class TickerRegistry {
+
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+    public static final Duration REVALIDATION_BACKOFF = Duration.ofMinutes(5);
+    public static final Path DEFAULT_CACHE_FILE =
+            Path.of(System.getProperty("java.io.tmpdir"), "edgar4j", "company_tickers_exchange.json");
+
+    private final WebClient webClient;
+    private final Path cacheFile;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean cacheFileLoaded;
+    // set after a failed revalidation, expired tickers are used until then
+    private volatile Instant retryAt;
+    private Mono<Snapshot> inflight;
+
+    /**
+     * Creates a new TickerRegistry persisting to the default cache file with the default TTL.
+     *
+     * @param webClient WebClient instance configured for SEC access
+     */
+    public TickerRegistry(WebClient webClient) {
+        this(webClient, DEFAULT_CACHE_FILE, DEFAULT_TTL);
+    }
+
+    /**
+     * Creates a new TickerRegistry.
+     *
+     * @param webClient WebClient instance configured for SEC access
+     * @param cacheFile File to persist the tickers to, or null to keep them in memory only
+     * @param ttl       How long a fetched ticker list is used before it is revalidated with SEC
+     */
+    public TickerRegistry(WebClient webClient, Path cacheFile, Duration ttl) {
+        this(webClient, cacheFile, ttl, Clock.systemUTC());
+    }
+
+    TickerRegistry(WebClient webClient, Path cacheFile, Duration ttl, Clock clock) {
+        this.webClient = webClient;
+        this.cacheFile = cacheFile;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns all company tickers in the order published by SEC.
+     *
+     * @return Mono containing the list of CompanyTickerDto objects
+     */
+    public Mono<List<CompanyTickerDto>> getTickers() {
+        return snapshot().map(Snapshot::tickers);
+    }
+
+    /**
+     * Looks up a company by its ticker symbol, ignoring case.
+     *
+     * @param ticker The stock ticker symbol (e.g., "AAPL")
+     * @return Mono containing the matching CompanyTickerDto, or empty if the ticker is unknown
+     */
+    public Mono<CompanyTickerDto> findByTicker(String ticker) {
+        return snapshot().mapNotNull(s -> s.byTicker().get(ticker.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Looks up a company by its CIK. If a company has several tickers, the first one listed by SEC is returned.
+     *
+     * @param cik Company CIK, with or without leading zeroes
+     * @return Mono containing the matching CompanyTickerDto, or empty if the CIK is unknown
+     */
+    public Mono<CompanyTickerDto> findByCik(String cik) {
+        return snapshot().mapNotNull(s -> s.byCik().get(FilingService.removeLeadingZeroesFromCik(cik)));
+    }
+
+    /**
+     * Returns the cached snapshot, loading it from the cache file or revalidating it with SEC when needed.
+     * Concurrent callers share a single in-flight request.
+     */
+    Mono<Snapshot> snapshot() {
+        Snapshot current = snapshot;
+        if (current != null && !isExpired(current)) {
+            return Mono.just(current);
+        }
+        return refresh();
+    }
+
+    private synchronized Mono<Snapshot> refresh() {
+        if (inflight == null) {
+            inflight = loadCacheFile()
+                    .flatMap(cached -> isExpired(cached) ? revalidate(cached) : Mono.just(cached))
+                    .switchIfEmpty(Mono.defer(() -> revalidate(null)))
+                    // cleared before the snapshot is emitted, so a caller that finds it expired starts a new refresh
+                    .doOnNext(fresh -> {
+                        snapshot = fresh;
+                        clearInflight();
+                    })
+                    .doOnError(e -> clearInflight())
+                    .cache();
+        }
+        return inflight;
+    }
+
+    private synchronized void clearInflight() {
+        inflight = null;
+    }
+
+    private boolean isExpired(Snapshot s) {
+        Instant now = clock.instant();
+        if (s.fetchedAt().plus(ttl).isAfter(now)) {
+            return false;
+        }
+        Instant retry = retryAt;
+        return retry == null || !now.isBefore(retry);
+    }
+
+    private Mono<Snapshot> loadCacheFile() {
+        if (snapshot != null) {
+            return Mono.just(snapshot);
+        }
+        if (cacheFile == null || cacheFileLoaded) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(this::readCacheFile)
+                .subscribeOn(Schedulers.boundedElastic())
+                .doFinally(signal -> cacheFileLoaded = true);
+    }
+
+    private Mono<Snapshot> revalidate(Snapshot cached) {
+        log.info("Fetching company tickers...");
+        return webClient.get()
+                .uri(SEC_BASE + TICKER_FILE_PATH)
+                .headers(headers -> {
+                    if (cached != null) cached.validators().applyTo(headers);
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == 304 && cached != null) {
+                        log.debug("Company tickers not modified, keeping cached copy");
+                        return response.releaseBody()
+                                .then(Mono.fromCallable(() -> touch(cached)).subscribeOn(Schedulers.boundedElastic()));
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        var validators = HttpValidators.from(response.headers().asHttpHeaders());
+                        return response.bodyToFlux(DataBuffer.class)
+                                .transform(this::parseCompanyTickerDtos)
+                                .collectList()
+                                .publishOn(Schedulers.boundedElastic())
+                                .map(tickers -> store(tickers, validators));
+                    }
+                    return response.createError();
+                })
+                .onErrorResume(e -> {
+                    if (cached == null) {
+                        return Mono.error(e);
+                    }
+                    log.warn("Failed to revalidate company tickers, using cached copy for {}: {}",
+                            REVALIDATION_BACKOFF, e.getMessage());
+                    retryAt = clock.instant().plus(REVALIDATION_BACKOFF);
+                    return Mono.just(cached);
+                });
+    }
+
+    private Snapshot touch(Snapshot cached) {
+        Instant now = clock.instant();
+        retryAt = null;
+        if (cacheFile != null) {
+            try {
+                Files.setLastModifiedTime(cacheFile, FileTime.from(now));
+            } catch (IOException ioe) {
+                log.warn("Failed to update ticker cache file {}: {}", cacheFile, ioe.getMessage());
+            }
+        }
+        return cached.withFetchedAt(now);
+    }
+
+    private Snapshot store(List<CompanyTickerDto> tickers, HttpValidators validators) {
+        Instant now = clock.instant();
+        retryAt = null;
+        if (cacheFile != null) {
+            try {
+                writeCacheFile(new CacheFile(validators.etag(), validators.lastModified(), tickers), now);
+            } catch (IOException ioe) {
+                log.warn("Failed to write ticker cache file {}: {}", cacheFile, ioe.getMessage());
+            }
+        }
+        return Snapshot.of(tickers, validators, now);
+    }
+
+    private Snapshot readCacheFile() {
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+        try {
+            CacheFile content = objectMapper.readValue(cacheFile.toFile(), CacheFile.class);
+            Instant fetchedAt = Files.getLastModifiedTime(cacheFile).toInstant();
+            log.debug("Loaded {} company tickers from {}", content.tickers().size(), cacheFile);
+            return Snapshot.of(content.tickers(), new HttpValidators(content.etag(), content.lastModified()), fetchedAt);
+        } catch (IOException ioe) {
+            log.warn("Ignoring unreadable ticker cache file {}: {}", cacheFile, ioe.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCacheFile(CacheFile content, Instant fetchedAt) throws IOException {
+        Path dir = cacheFile.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, cacheFile.getFileName().toString(), ".tmp");
+        try {
+            objectMapper.writeValue(tmp.toFile(), content);
+            Files.setLastModifiedTime(tmp, FileTime.from(fetchedAt));
+            try {
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Parses the company tickers response as it streams in, see {@link TickerParser}.
+     */
+    protected Flux<CompanyTickerDto> parseCompanyTickerDtos(Flux<DataBuffer> body) {
+        return Flux.defer(() -> new TickerParser(true).parse(body));
+    }
+
+    /**
+     * Immutable view of one fetched ticker list together with its lookup maps.
+     */
+    record Snapshot(List<CompanyTickerDto> tickers,
+                    Map<String, CompanyTickerDto> byTicker,
+                    Map<String, CompanyTickerDto> byCik,
+                    HttpValidators validators,
+                    Instant fetchedAt) {
+
+        static Snapshot of(List<CompanyTickerDto> tickers, HttpValidators validators, Instant fetchedAt) {
+            Map<String, CompanyTickerDto> byTicker = new HashMap<>(tickers.size() * 2);
+            Map<String, CompanyTickerDto> byCik = new HashMap<>(tickers.size() * 2);
+            for (CompanyTickerDto dto : tickers) {
+                if (dto.ticker() != null) byTicker.putIfAbsent(dto.ticker().toUpperCase(Locale.ROOT), dto);
+                if (dto.cik() != null) byCik.putIfAbsent(FilingService.removeLeadingZeroesFromCik(dto.cik()), dto);
+            }
+            return new Snapshot(List.copyOf(tickers), Map.copyOf(byTicker), Map.copyOf(byCik), validators, fetchedAt);
+        }
+
+        Snapshot withFetchedAt(Instant instant) {
+            return new Snapshot(tickers, byTicker, byCik, validators, instant);
+        }
+    }
+
+    /**
+     * On-disk format of the ticker cache. The fetch time is kept as the file's modification time,
+     * so a 304 revalidation only has to touch the file instead of rewriting it.
+     */
+    record CacheFile(String etag, String lastModified, List<CompanyTickerDto> tickers) {
+    }
+}
@@ -0,0 +1,234 @@
+package io.github.ckmuun.edgar4j;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.ckmuun.edgar4j.Constants.SEC_BASE_DATA;
+
+/**
+ * Polls the submissions of a watchlist of companies and emits only the filings that are new
+ * since the previous poll, e.g. to alert on 8-Ks within minutes.
+ * <p>
+ * For every CIK the poller keeps the ETag / Last-Modified of the last submissions response and
+ * the latest acceptanceDateTime seen. Polls are conditional requests, which SEC answers with
+ * 304 Not Modified and no body while nothing changed, so steady-state polling costs neither
+ * bandwidth nor parsing. The first poll of a CIK only records its latest filing.
+ * <p>
+ * {@link #poll()} spreads the requests evenly over the configured share of the SEC rate budget:
+ * every tick polls the CIK that has waited longest, if its interval has elapsed. With 500 CIKs
+ * and 5 requests per second a company is polled every 100 seconds at the most.
+ */
+@Slf4j
+public final class WatchlistPoller {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+    public static final double DEFAULT_REQUESTS_PER_SECOND = 5.0;
+
+    private final WebClient webClient;
+    private final Set<String> forms;
+    private final Duration interval;
+    private final Duration tick;
+    private final Scheduler scheduler;
+
+    private final Map<String, WatchState> states = new ConcurrentHashMap<>();
+    // CIKs in poll order: the head has waited longest
+    private final ConcurrentLinkedDeque<String> queue = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Creates a poller with the default interval and request rate.
+     *
+     * @param webClient WebClient instance configured for SEC access
+     * @param ciks      CIKs to watch
+     * @param forms     Forms to emit, e.g. 8-K and 10-Q; empty for all forms
+     */
+    public WatchlistPoller(WebClient webClient, Collection<String> ciks, Set<String> forms) {
+        this(webClient, ciks, forms, DEFAULT_INTERVAL, DEFAULT_REQUESTS_PER_SECOND);
+    }
+
+    /**
+     * Creates a poller.
+     *
+     * @param webClient         WebClient instance configured for SEC access
+     * @param ciks              CIKs to watch
+     * @param forms             Forms to emit, e.g. 8-K and 10-Q; empty for all forms
+     * @param interval          Minimum time between two polls of the same CIK
+     * @param requestsPerSecond Share of the SEC rate budget used for polling
+     */
+    public WatchlistPoller(WebClient webClient, Collection<String> ciks, Set<String> forms,
+                           Duration interval, double requestsPerSecond) {
+        this(webClient, ciks, forms, interval, requestsPerSecond, Schedulers.parallel());
+    }
+
+    WatchlistPoller(WebClient webClient, Collection<String> ciks, Set<String> forms,
+                    Duration interval, double requestsPerSecond, Scheduler scheduler) {
+        if (requestsPerSecond <= 0 || requestsPerSecond > SecRateLimiter.SEC_MAX_REQUESTS_PER_SECOND) {
+            throw new IllegalArgumentException("requestsPerSecond must be in (0, %s]: %s"
+                    .formatted(SecRateLimiter.SEC_MAX_REQUESTS_PER_SECOND, requestsPerSecond));
+        }
+        this.webClient = webClient;
+        this.forms = Set.copyOf(forms);
+        this.interval = interval;
+        this.tick = Duration.ofNanos((long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond));
+        this.scheduler = scheduler;
+        ciks.forEach(this::watch);
+    }
+
+    /**
+     * Adds a CIK to the watchlist. It is polled next.
+     */
+    public void watch(String cik) {
+        String normalized = FilingService.removeLeadingZeroesFromCik(cik);
+        if (states.putIfAbsent(normalized, WatchState.NEW) == null) {
+            queue.addFirst(normalized);
+        }
+    }
+
+    /**
+     * Removes a CIK from the watchlist.
+     */
+    public void unwatch(String cik) {
+        String normalized = FilingService.removeLeadingZeroesFromCik(cik);
+        states.remove(normalized);
+        queue.remove(normalized);
+    }
+
+    /**
+     * The watched CIKs, without leading zeroes.
+     */
+    public Set<String> watchlist() {
+        return Set.copyOf(states.keySet());
+    }
+
+    /**
+     * Polls the watchlist until the subscription is cancelled.
+     *
+     * @return Flux of the new filings of all watched companies, oldest first per company
+     */
+    public Flux<CompanyFilingMetadataDto> poll() {
+        return Flux.interval(Duration.ZERO, tick, scheduler)
+                .onBackpressureDrop()
+                .concatMap(ignored -> {
+                    String cik = nextDue();
+                    return cik == null ? Flux.empty() : poll(cik);
+                }, 1);
+    }
+
+    /**
+     * Polls every watched CIK once, regardless of the interval.
+     *
+     * @return Flux of the new filings, oldest first per company
+     */
+    public Flux<CompanyFilingMetadataDto> pollOnce() {
+        return Flux.fromIterable(new ArrayList<>(queue))
+                .concatMap(this::poll);
+    }
+
+    /**
+     * Takes the CIK that has waited longest if its interval has elapsed, and moves it to the end of the queue.
+     */
+    private String nextDue() {
+        String cik = queue.peekFirst();
+        if (cik == null) {
+            return null;
+        }
+        WatchState state = states.get(cik);
+        if (state != null && state.polledAt() != WatchState.NEVER
+                && scheduler.now(TimeUnit.MILLISECONDS) - state.polledAt() < interval.toMillis()) {
+            return null;
+        }
+        if (queue.remove(cik)) {
+            queue.addLast(cik);
+        }
+        return cik;
+    }
+
+    private Flux<CompanyFilingMetadataDto> poll(String cik) {
+        WatchState state = states.get(cik);
+        if (state == null) {
+            return Flux.empty();
+        }
+        return webClient.get()
+                .uri(SEC_BASE_DATA + "/submissions/CIK{cik}.json", FilingService.addLeadingZeroesToCik(cik))
+                .headers(state.validators()::applyTo)
+                .exchangeToMono(response -> {
+                    if (response.statusCode().value() == 304) {
+                        return response.releaseBody()
+                                .then(Mono.fromSupplier(() -> update(cik, state, state.validators(), List.of())));
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        var validators = HttpValidators.from(response.headers().asHttpHeaders());
+                        // only the recent filings: older pages never change
+                        return response.bodyToFlux(DataBuffer.class)
+                                .transform(SubmissionsParser.forSubmissions()::parse)
+                                .collectList()
+                                .map(filings -> update(cik, state, validators, filings));
+                    }
+                    return response.createError();
+                })
+                .onErrorResume(e -> {
+                    log.warn("Failed to poll submissions of CIK {}: {}", cik, e.getMessage());
+                    return Mono.just(List.of());
+                })
+                .flatMapIterable(filings -> filings);
+    }
+
+    /**
+     * Records the response of a poll.
+     *
+     * @param filings All recent filings of the response, newest first; empty if not modified
+     * @return The filings accepted after the previously latest filing, oldest first
+     */
+    private List<CompanyFilingMetadataDto> update(String cik, WatchState state, HttpValidators validators,
+                                                  List<CompanyFilingMetadataDto> filings) {
+        String latest = state.latestAcceptance();
+        List<CompanyFilingMetadataDto> fresh = new ArrayList<>();
+        for (CompanyFilingMetadataDto filing : filings) {
+            String accepted = filing.acceptanceDateTime();
+            if (accepted == null) {
+                continue;
+            }
+            // acceptance times are ISO instants of the same format, which compare correctly as strings
+            if (state.latestAcceptance() == null || accepted.compareTo(state.latestAcceptance()) > 0) {
+                if (state != WatchState.NEW && (forms.isEmpty() || forms.contains(filing.form()))) {
+                    fresh.add(filing);
+                }
+                if (latest == null || accepted.compareTo(latest) > 0) {
+                    latest = accepted;
+                }
+            }
+        }
+        Collections.reverse(fresh);
+        var updated = new WatchState(validators, latest, scheduler.now(TimeUnit.MILLISECONDS));
+        // a CIK removed during the poll stays removed
+        states.computeIfPresent(cik, (key, current) -> updated);
+        return fresh;
+    }
+
+    /**
+     * What is known about the submissions of a watched CIK.
+     *
+     * @param validators       Validators of the last submissions response
+     * @param latestAcceptance acceptanceDateTime of the latest filing seen, null before the first poll
+     * @param polledAt         Scheduler time of the last poll in millis, {@link #NEVER} before the first poll
+     */
+    private record WatchState(HttpValidators validators, String latestAcceptance, long polledAt) {
+        static final long NEVER = Long.MIN_VALUE;
+        static final WatchState NEW = new WatchState(HttpValidators.NONE, null, NEVER);
+    }
+}
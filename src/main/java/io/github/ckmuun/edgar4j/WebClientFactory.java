@@ -24,16 +24,31 @@ public final class WebClientFactory {
     
     /**
      * Creates a WebClient instance configured for accessing SEC EDGAR APIs.
+     * Requests are throttled by the JVM-wide {@link SecRateLimiter#shared()} limiter.
      * 
      * @param userAgent The user agent to use (SEC requires a real email address for production)
      * @return Configured WebClient instance
      */
     public static WebClient createWebClient(String userAgent) {
-        return WebClient.builder()
+        return createWebClient(userAgent, SecRateLimiter.shared());
+    }
+
+    /**
+     * Creates a WebClient instance configured for accessing SEC EDGAR APIs.
+     *
+     * @param userAgent   The user agent to use (SEC requires a real email address for production)
+     * @param rateLimiter Rate limiter to throttle requests with, or null to disable throttling
+     * @return Configured WebClient instance
+     */
+    public static WebClient createWebClient(String userAgent, SecRateLimiter rateLimiter) {
+        var builder = WebClient.builder()
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(20 * 1024 * 1024)) // 20 MB
                 // Do not set Accept-Encoding manually; let the client handle compression negotiation and auto-decompression
                 .defaultHeader("User-Agent", userAgent)
-                .defaultHeader("Accept-Charset", "UTF-8")
-                .build();
+                .defaultHeader("Accept-Charset", "UTF-8");
+        if (rateLimiter != null) {
+            builder.filter(rateLimiter.filter());
+        }
+        return builder.build();
     }
 }
@@ -0,0 +1,199 @@
+package io.github.ckmuun.edgar4j;
+
+import org.jsoup.nodes.Element;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Collects the numeric facts of an inline XBRL filing into an {@link XbrlFactTable}
+ * while {@link FormHtmlFilter} walks the DOM.
+ * <p>
+ * Contexts and units are read from the {@code ix:header}, facts from every {@code ix:nonFraction}
+ * element. A filing may reference contexts before defining them, so the periods and units of the
+ * facts are resolved once the whole filing has been visited.
+ */
+final class XbrlFactExtractor {
+
+    static final String NON_FRACTION = "ix:nonfraction";
+
+    private static final int INSTANT = 0;
+    private static final int START = 1;
+    private static final int END = 2;
+    private static final int DIMENSIONAL = 3;
+
+    private final XbrlFactTable table = new XbrlFactTable();
+    private final int filingId;
+
+    // raw unitRef of each fact until the units are resolved
+    private final StringDictionary unitRefs = new StringDictionary();
+    private final Map<String, int[]> periods = new HashMap<>();
+    private final Map<String, String> measures = new HashMap<>();
+    private boolean resolved;
+
+    XbrlFactExtractor(String accessionNumber) {
+        this.filingId = table.filings().intern(accessionNumber == null ? "" : accessionNumber);
+    }
+
+    /**
+     * Reads the contexts, units and hidden facts of an {@code ix:header} element.
+     */
+    void header(Element header) {
+        for (Element element : header.getAllElements()) {
+            switch (localName(element)) {
+                case "context" -> context(element);
+                case "unit" -> unit(element);
+                case "nonfraction" -> fact(element);
+                default -> {
+                    // resources other than contexts and units are not needed
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds an {@code ix:nonFraction} element to the table.
+     */
+    void fact(Element fact) {
+        if ("true".equals(fact.attr("xsi:nil"))) {
+            return;
+        }
+        double value = parseValue(fact.text(), fact.attr("format"), parseInt(fact.attr("scale"), 0));
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if ("-".equals(fact.attr("sign"))) {
+            value = -value;
+        }
+        String unitRef = fact.attr("unitRef");
+        String decimals = fact.attr("decimals");
+        table.add(filingId,
+                table.concepts().intern(fact.attr("name")),
+                table.contexts().intern(fact.attr("contextRef")),
+                unitRef.isEmpty() ? StringDictionary.NOT_FOUND : unitRefs.intern(unitRef),
+                value,
+                decimals.isEmpty() || "INF".equals(decimals) ? XbrlFactTable.DECIMALS_INF : parseInt(decimals, XbrlFactTable.DECIMALS_INF));
+    }
+
+    /**
+     * Resolves the periods and units of all facts.
+     *
+     * @return The facts of the filing
+     */
+    XbrlFactTable facts() {
+        if (!resolved) {
+            int[] unitIds = new int[unitRefs.size()];
+            for (int ref = 0; ref < unitIds.length; ref++) {
+                String unitRef = unitRefs.get(ref);
+                unitIds[ref] = table.units().intern(measures.getOrDefault(unitRef, unitRef));
+            }
+            for (int row = 0; row < table.size(); row++) {
+                int[] period = periods.get(table.context(row));
+                int unitRef = table.unitId(row);
+                int unit = unitRef == StringDictionary.NOT_FOUND ? StringDictionary.NOT_FOUND : unitIds[unitRef];
+                if (period == null) {
+                    table.resolve(row, XbrlFactTable.NO_DATE, XbrlFactTable.NO_DATE, false, unit);
+                } else if (period[INSTANT] != XbrlFactTable.NO_DATE) {
+                    table.resolve(row, XbrlFactTable.NO_DATE, period[INSTANT], period[DIMENSIONAL] != 0, unit);
+                } else {
+                    table.resolve(row, period[START], period[END], period[DIMENSIONAL] != 0, unit);
+                }
+            }
+            table.trimToSize();
+            resolved = true;
+        }
+        return table;
+    }
+
+    private void context(Element context) {
+        int[] period = {XbrlFactTable.NO_DATE, XbrlFactTable.NO_DATE, XbrlFactTable.NO_DATE, 0};
+        for (Element element : context.getAllElements()) {
+            switch (localName(element)) {
+                case "instant" -> period[INSTANT] = parseDate(element.text());
+                case "startdate" -> period[START] = parseDate(element.text());
+                case "enddate" -> period[END] = parseDate(element.text());
+                case "segment", "scenario" -> period[DIMENSIONAL] = 1;
+                default -> {
+                    // entity and identifier are the same for all contexts of a filing
+                }
+            }
+        }
+        periods.put(context.id(), period);
+    }
+
+    private void unit(Element unit) {
+        var numerator = new StringBuilder();
+        var denominator = new StringBuilder();
+        for (Element element : unit.getAllElements()) {
+            if ("measure".equals(localName(element))) {
+                var measure = element.parent() != null && "unitdenominator".equals(localName(element.parent()))
+                        ? denominator : numerator;
+                if (!measure.isEmpty()) measure.append('*');
+                measure.append(element.text().trim());
+            }
+        }
+        if (!denominator.isEmpty()) {
+            numerator.append('/').append(denominator);
+        }
+        measures.put(unit.id(), numerator.toString());
+    }
+
+    /**
+     * Parses the displayed value of a fact. Thousands separators, currency symbols and
+     * brackets are ignored; the sign of a fact is given by its {@code sign} attribute.
+     *
+     * @param text   Displayed text of the fact
+     * @param format Inline XBRL transformation, e.g. {@code ixt:num-dot-decimal}
+     * @param scale  Power of ten the displayed value is scaled by
+     * @return The value, or NaN if the text is not a number
+     */
+    static double parseValue(String text, String format, int scale) {
+        char decimalSeparator = format.contains("comma-decimal") || format.contains("numcommadecimal") ? ',' : '.';
+        var digits = new StringBuilder(text.length() + 6);
+        boolean hasDigits = false;
+        boolean hasSeparator = false;
+        boolean dashes = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+                hasDigits = true;
+            } else if (c == decimalSeparator && !hasSeparator) {
+                digits.append('.');
+                hasSeparator = true;
+            } else if (c == '-' || c == '\u2013' || c == '\u2014') {
+                dashes = true;
+            }
+        }
+        if (!hasDigits) {
+            // ixt:fixed-zero and ixt:zerodash display zero as a dash
+            return dashes || format.contains("zero") ? 0 : Double.NaN;
+        }
+        // one correctly rounded conversion instead of multiplying by a power of ten
+        return Double.parseDouble(digits.append('E').append(scale).toString());
+    }
+
+    private static int parseDate(String text) {
+        String date = text.trim();
+        try {
+            return (int) LocalDate.parse(date.length() > 10 ? date.substring(0, 10) : date).toEpochDay();
+        } catch (DateTimeException e) {
+            return XbrlFactTable.NO_DATE;
+        }
+    }
+
+    private static int parseInt(String text, int defaultValue) {
+        try {
+            return text.isEmpty() ? defaultValue : Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String localName(Element element) {
+        String name = element.normalName();
+        return name.substring(name.indexOf(':') + 1);
+    }
+}
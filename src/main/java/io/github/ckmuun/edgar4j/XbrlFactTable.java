@@ -0,0 +1,296 @@
+package io.github.ckmuun.edgar4j;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+/**
+ * Numeric inline XBRL facts ({@code ix:nonFraction}) stored column by column.
+ * <p>
+ * Every fact is a row. Its concept, context, unit and filing are stored as ids of a
+ * {@link StringDictionary}, its period as epoch days and its value as a double, so a fact
+ * takes about 30 bytes instead of a handful of objects and strings. Scanning a column is a
+ * loop over a primitive array:
+ * <pre>{@code
+ * int revenues = facts.concepts().indexOf("us-gaap:Revenues");
+ * for (int row = 0; row < facts.size(); row++) {
+ *     if (facts.conceptId(row) == revenues && !facts.isDimensional(row)) {
+ *         System.out.println(facts.periodEndDate(row) + " " + facts.value(row));
+ *     }
+ * }
+ * }</pre>
+ * Tables of several filings can be combined with {@link #addAll}. Context ids are only
+ * unique within a filing, so contexts of different filings are told apart by the filing column.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class XbrlFactTable {
+
+    /**
+     * Period start of instant facts, and period end of facts whose context could not be resolved.
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Decimals of facts reported with {@code decimals="INF"} or without decimals.
+     */
+    public static final int DECIMALS_INF = Byte.MAX_VALUE;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final StringDictionary filings = new StringDictionary();
+    private final StringDictionary concepts = new StringDictionary();
+    private final StringDictionary contexts = new StringDictionary();
+    private final StringDictionary units = new StringDictionary();
+
+    private int size;
+    private int[] filing = new int[INITIAL_CAPACITY];
+    private int[] concept = new int[INITIAL_CAPACITY];
+    private int[] context = new int[INITIAL_CAPACITY];
+    private int[] unit = new int[INITIAL_CAPACITY];
+    private int[] periodStart = new int[INITIAL_CAPACITY];
+    private int[] periodEnd = new int[INITIAL_CAPACITY];
+    private double[] value = new double[INITIAL_CAPACITY];
+    private byte[] decimals = new byte[INITIAL_CAPACITY];
+    private final BitSet dimensional = new BitSet();
+
+    /**
+     * Number of facts.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Accession numbers of the filings in this table.
+     */
+    public StringDictionary filings() {
+        return filings;
+    }
+
+    /**
+     * Concept names, e.g. {@code us-gaap:Revenues}.
+     */
+    public StringDictionary concepts() {
+        return concepts;
+    }
+
+    /**
+     * Context ids as used in the filings, e.g. {@code c-1}.
+     */
+    public StringDictionary contexts() {
+        return contexts;
+    }
+
+    /**
+     * Unit measures, e.g. {@code iso4217:USD} or {@code iso4217:USD/xbrli:shares}.
+     */
+    public StringDictionary units() {
+        return units;
+    }
+
+    public int filingId(int row) {
+        checkRow(row);
+        return filing[row];
+    }
+
+    public String filing(int row) {
+        return filings.get(filingId(row));
+    }
+
+    public int conceptId(int row) {
+        checkRow(row);
+        return concept[row];
+    }
+
+    public String concept(int row) {
+        return concepts.get(conceptId(row));
+    }
+
+    public int contextId(int row) {
+        checkRow(row);
+        return context[row];
+    }
+
+    public String context(int row) {
+        return contexts.get(contextId(row));
+    }
+
+    public int unitId(int row) {
+        checkRow(row);
+        return unit[row];
+    }
+
+    /**
+     * Unit measure of a fact, or null if the fact has no unit.
+     */
+    public String unit(int row) {
+        int id = unitId(row);
+        return id == StringDictionary.NOT_FOUND ? null : units.get(id);
+    }
+
+    /**
+     * Start of the period of a duration fact as epoch day, {@link #NO_DATE} for instant facts.
+     */
+    public int periodStart(int row) {
+        checkRow(row);
+        return periodStart[row];
+    }
+
+    /**
+     * End of the period of a duration fact or date of an instant fact as epoch day.
+     */
+    public int periodEnd(int row) {
+        checkRow(row);
+        return periodEnd[row];
+    }
+
+    public LocalDate periodStartDate(int row) {
+        return toDate(periodStart(row));
+    }
+
+    public LocalDate periodEndDate(int row) {
+        return toDate(periodEnd(row));
+    }
+
+    public boolean isInstant(int row) {
+        return periodStart(row) == NO_DATE;
+    }
+
+    /**
+     * Whether the context of a fact has a segment or scenario, i.e. the fact is broken down
+     * by some dimension such as a business segment instead of describing the whole company.
+     */
+    public boolean isDimensional(int row) {
+        checkRow(row);
+        return dimensional.get(row);
+    }
+
+    /**
+     * Value of a fact, scaled and signed.
+     */
+    public double value(int row) {
+        checkRow(row);
+        return value[row];
+    }
+
+    /**
+     * Accuracy of a fact as number of decimal places, {@link #DECIMALS_INF} if exact.
+     */
+    public int decimals(int row) {
+        checkRow(row);
+        return decimals[row];
+    }
+
+    /**
+     * Rows of all facts of a concept, in table order.
+     *
+     * @param conceptName Concept name, e.g. {@code us-gaap:Revenues}
+     * @return Row numbers, empty if the concept does not occur
+     */
+    public IntStream rows(String conceptName) {
+        int id = concepts.indexOf(conceptName);
+        if (id == StringDictionary.NOT_FOUND) {
+            return IntStream.empty();
+        }
+        return IntStream.range(0, size).filter(row -> concept[row] == id);
+    }
+
+    /**
+     * Appends all facts of another table, e.g. to collect the facts of many filings in one table.
+     *
+     * @param other Table to copy the facts from
+     */
+    public void addAll(XbrlFactTable other) {
+        int[] filingIds = remap(other.filings, filings);
+        int[] conceptIds = remap(other.concepts, concepts);
+        int[] contextIds = remap(other.contexts, contexts);
+        int[] unitIds = remap(other.units, units);
+        ensureCapacity(size + other.size);
+        for (int row = 0; row < other.size; row++) {
+            int to = size + row;
+            filing[to] = filingIds[other.filing[row]];
+            concept[to] = conceptIds[other.concept[row]];
+            context[to] = contextIds[other.context[row]];
+            unit[to] = other.unit[row] == StringDictionary.NOT_FOUND ? StringDictionary.NOT_FOUND : unitIds[other.unit[row]];
+            periodStart[to] = other.periodStart[row];
+            periodEnd[to] = other.periodEnd[row];
+            value[to] = other.value[row];
+            decimals[to] = other.decimals[row];
+            dimensional.set(to, other.dimensional.get(row));
+        }
+        size += other.size;
+    }
+
+    /**
+     * Shrinks the columns to the number of facts once no more facts are added.
+     */
+    public void trimToSize() {
+        resize(size);
+    }
+
+    /**
+     * Appends a fact whose period and unit are set later with {@link #resolve}.
+     *
+     * @return Row of the fact
+     */
+    int add(int filingId, int conceptId, int contextId, int unitId, double factValue, int factDecimals) {
+        ensureCapacity(size + 1);
+        filing[size] = filingId;
+        concept[size] = conceptId;
+        context[size] = contextId;
+        unit[size] = unitId;
+        periodStart[size] = NO_DATE;
+        periodEnd[size] = NO_DATE;
+        value[size] = factValue;
+        decimals[size] = (byte) Math.max(Byte.MIN_VALUE, Math.min(DECIMALS_INF, factDecimals));
+        return size++;
+    }
+
+    void resolve(int row, int start, int end, boolean isDimensional, int unitId) {
+        periodStart[row] = start;
+        periodEnd[row] = end;
+        dimensional.set(row, isDimensional);
+        unit[row] = unitId;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > concept.length) {
+            resize(Math.max(capacity, concept.length + (concept.length >> 1)));
+        }
+    }
+
+    private void resize(int capacity) {
+        filing = Arrays.copyOf(filing, capacity);
+        concept = Arrays.copyOf(concept, capacity);
+        context = Arrays.copyOf(context, capacity);
+        unit = Arrays.copyOf(unit, capacity);
+        periodStart = Arrays.copyOf(periodStart, capacity);
+        periodEnd = Arrays.copyOf(periodEnd, capacity);
+        value = Arrays.copyOf(value, capacity);
+        decimals = Arrays.copyOf(decimals, capacity);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for " + size + " facts");
+        }
+    }
+
+    private static int[] remap(StringDictionary from, StringDictionary to) {
+        int[] ids = new int[from.size()];
+        for (int id = 0; id < ids.length; id++) {
+            ids[id] = to.intern(from.get(id));
+        }
+        return ids;
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkArchiveReaderTest {
+
+    private static final String COMPANY_FACTS_JSON = """
+            {"cik":320193,"entityName":"Apple Inc.","facts":{
+              "dei":{"EntityCommonStockSharesOutstanding":{"label":"Shares","units":{"shares":[
+                {"end":"2024-10-18","val":15115823000,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01"}]}}},
+              "us-gaap":{"Revenues":{"label":"Revenues","units":{"USD":[
+                {"start":"2023-10-01","end":"2024-06-29","val":296105000000,"accn":"0000320193-24-000081","fy":2024,"fp":"Q3","form":"10-Q","filed":"2024-08-02"},
+                {"start":"2023-10-01","end":"2024-09-28","val":391035000000,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01"}]}}}}}
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private final BulkArchiveReader reader = new BulkArchiveReader(2);
+
+    @Test
+    void testReadSubmissionsArchive() throws IOException {
+        Path archive = zip("submissions.zip", Map.of(
+                "CIK0000320193.json", SubmissionsParserTest.SUBMISSIONS_JSON,
+                "CIK0000320193-submissions-001.json",
+                "{\"accessionNumber\":[\"0000320193-01-000001\"],\"filingDate\":[\"2001-12-21\"],\"form\":[\"10-K405\"]}"));
+
+        var filings = reader.readSubmissionsArchive(archive)
+                .sort(Comparator.comparing(CompanyFilingMetadataDto::accessionNumber))
+                .collectList()
+                .block();
+
+        assertEquals(3, filings.size());
+        assertEquals("0000320193-01-000001", filings.getFirst().accessionNumber());
+        assertEquals("320193", filings.getFirst().cik());
+        assertEquals("10-K405", filings.getFirst().form());
+        assertEquals("Apple Inc.", filings.getLast().name());
+    }
+
+    @Test
+    void testReadCompanyFactsArchive() throws IOException {
+        Path archive = zip("companyfacts.zip", Map.of("CIK0000320193.json", COMPANY_FACTS_JSON));
+
+        var filings = reader.readCompanyFactsArchive(archive).collectList().block();
+
+        assertEquals(List.of("0000320193-24-000123", "0000320193-24-000081"),
+                filings.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        var latest = filings.getFirst();
+        assertEquals("320193", latest.cik());
+        assertEquals("Apple Inc.", latest.name());
+        assertEquals("10-K", latest.form());
+        assertEquals("2024-11-01", latest.filingDate());
+    }
+
+    @Test
+    void testMalformedEntryFailsWithEntryName() throws IOException {
+        Path archive = zip("submissions.zip", Map.of("CIK0000000001.json", "{\"filings\":"));
+
+        var error = assertThrows(RuntimeException.class, () -> reader.readSubmissionsArchive(archive).blockLast());
+        assertTrue(error.getMessage().contains("CIK0000000001.json"));
+    }
+
+    private Path zip(String name, Map<String, String> entries) throws IOException {
+        Path archive = tempDir.resolve(name);
+        try (OutputStream out = Files.newOutputStream(archive); var zip = new ZipOutputStream(out)) {
+            for (var entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return archive;
+    }
+}
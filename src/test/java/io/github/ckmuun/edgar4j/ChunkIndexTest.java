@@ -0,0 +1,109 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkIndexTest {
+
+    private ChunkIndex index = new ChunkIndex();
+
+    @AfterEach
+    void tearDown() {
+        index.close();
+    }
+
+    @Test
+    void testPhraseSearch() {
+        index.add(document("320193", "10-K", "2024-11-01",
+                chunk("Item 1A. Risk Factors", "There is substantial doubt about our ability to continue as a going concern."),
+                chunk("Item 9A. Controls and Procedures", "Management identified no material weakness. Going, concern? Not a going concern.")));
+        index.add(document("789019", "10-K", "2023-07-27",
+                chunk("Item 9A. Controls and Procedures", "We identified a material weakness in internal control.")));
+        index.flush();
+
+        assertEquals(3, index.size());
+        assertEquals(2, index.search("going concern").size());
+        assertEquals(2, index.search("going concern").get(1).occurrences());
+        assertEquals(2, index.search("Material Weakness").size());
+        assertTrue(index.search("concern going").isEmpty());
+        assertTrue(index.search("weakness material").isEmpty());
+        assertTrue(index.search("unknown phrase").isEmpty());
+        assertTrue(index.search("  ").isEmpty());
+    }
+
+    @Test
+    void testFiltersOnMetadata() {
+        index.add(document("0000320193", "10-K", "2024-11-01",
+                chunk("Item 9A. Controls and Procedures", "No material weakness was identified.")));
+        index.add(document("789019", "10-Q", "2023-07-27",
+                chunk("Item 4. Controls and Procedures", "We identified a material weakness.")));
+        index.flush();
+
+        assertEquals(1, index.search("material weakness", ChunkFilter.builder().cik("320193").build()).size());
+        assertEquals(1, index.search("material weakness", ChunkFilter.builder().form("10-Q").build()).size());
+        assertEquals(1, index.search("material weakness",
+                ChunkFilter.builder().itemTitle("Item 9A. Controls and Procedures").build()).size());
+        assertEquals(1, index.search("material weakness",
+                ChunkFilter.builder().filingDates(DateRange.since(LocalDate.of(2024, 1, 1))).build()).size());
+        assertTrue(index.search("material weakness", ChunkFilter.builder().form("8-K").build()).isEmpty());
+    }
+
+    @Test
+    void testOnlyFlushedChunksAreSearchable() {
+        index.add(chunk("Item 1. Business", "going concern"));
+        assertTrue(index.search("going concern").isEmpty());
+
+        index.flush();
+        assertEquals(1, index.search("going concern").size());
+    }
+
+    @Test
+    void testMergedSegmentsMatchLinearScan() {
+        index.close();
+        index = new ChunkIndex(7, 3);
+        String[] words = {"going", "concern", "material", "weakness", "substantial", "doubt", "the", "a"};
+        var random = new Random(42);
+        List<DocumentChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            var text = new StringBuilder();
+            for (int w = 0; w < 30; w++) {
+                text.append(words[random.nextInt(words.length)]).append(' ');
+            }
+            DocumentChunk chunk = chunk("Item " + (i % 5) + ". Item", text.toString());
+            chunks.add(chunk);
+            index.add(chunk);
+        }
+        index.forceMerge();
+
+        assertEquals(1, index.segmentCount());
+        assertEquals(200, index.size());
+        for (String phrase : List.of("going concern", "material weakness", "substantial doubt the", "a")) {
+            var pattern = Pattern.compile("\\b" + phrase + "\\b");
+            long expected = chunks.stream().filter(chunk -> pattern.matcher(chunk.getContent()).find()).count();
+            assertEquals(expected, index.search(phrase).size(), phrase);
+        }
+    }
+
+    private static Document document(String cik, String form, String filingDate, DocumentChunk... chunks) {
+        List<DocumentChunk> withMetadata = new ArrayList<>();
+        for (DocumentChunk chunk : chunks) {
+            withMetadata.add(new DocumentChunk(chunk.getContent(), Map.of(
+                    "cik", cik, "form", form, "filingDate", filingDate,
+                    "itemTitle", chunk.getMetadata().get("itemTitle"))));
+        }
+        return new Document(null, withMetadata, Map.of("cik", cik));
+    }
+
+    private static DocumentChunk chunk(String itemTitle, String content) {
+        return new DocumentChunk(content, Map.of("itemTitle", itemTitle));
+    }
+}
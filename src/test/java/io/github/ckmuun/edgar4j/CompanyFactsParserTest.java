@@ -0,0 +1,119 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompanyFactsParserTest {
+
+    static final String COMPANY_FACTS_JSON = """
+            {"cik":320193,"entityName":"Apple Inc.","facts":{
+              "dei":{"EntityCommonStockSharesOutstanding":{"label":"Entity Common Stock, Shares Outstanding","description":"...",
+                "units":{"shares":[
+                  {"end":"2024-10-18","val":15115823000,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01","frame":"CY2024Q3I"}]}}},
+              "us-gaap":{
+                "Revenues":{"label":"Revenues","description":"...","units":{"USD":[
+                  {"start":"2022-09-25","end":"2023-09-30","val":383285000000,"accn":"0000320193-23-000106","fy":2023,"fp":"FY","form":"10-K","filed":"2023-11-03"},
+                  {"start":"2022-09-25","end":"2023-09-30","val":383285000000,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01","frame":"CY2023"},
+                  {"start":"2023-10-01","end":"2024-09-28","val":391035000000,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01","frame":"CY2024"},
+                  {"start":"2024-03-31","end":"2024-06-29","val":85777000000,"accn":"0000320193-24-000081","fy":null,"fp":null,"form":"10-Q","filed":"2024-08-02"}]}},
+                "EarningsPerShareDiluted":{"label":"EPS","description":"...","units":{"USD/shares":[
+                  {"start":"2023-10-01","end":"2024-09-28","val":6.08,"accn":"0000320193-24-000123","fy":2024,"fp":"FY","form":"10-K","filed":"2024-11-01","frame":"CY2024"}]}}}}}
+            """;
+
+    @Test
+    void testParsesSeriesByConceptAndUnit() {
+        var facts = new CompanyFactsParser().parse(COMPANY_FACTS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("320193", facts.cik());
+        assertEquals("Apple Inc.", facts.entityName());
+        assertEquals(Set.of("dei:EntityCommonStockSharesOutstanding", "us-gaap:Revenues", "us-gaap:EarningsPerShareDiluted"),
+                facts.concepts());
+        assertEquals(6, facts.factCount());
+        assertNull(facts.series("us-gaap:Revenues", "EUR"));
+        assertEquals(Set.of("USD"), facts.series("us-gaap:Revenues").keySet());
+
+        var revenues = facts.series("us-gaap:Revenues", "USD");
+        assertEquals(4, revenues.size());
+        assertEquals(LocalDate.of(2023, 10, 1), revenues.periodStartDate(2));
+        assertEquals(LocalDate.of(2024, 9, 28), revenues.periodEndDate(2));
+        assertEquals(391_035_000_000d, revenues.value(2));
+        assertEquals("0000320193-24-000123", revenues.accessionNumber(2));
+        assertEquals("10-K", revenues.form(2));
+        assertEquals(LocalDate.of(2024, 11, 1), revenues.filedDate(2));
+        assertEquals(2024, revenues.fiscalYear(2));
+        assertEquals("FY", revenues.fiscalPeriod(2));
+        assertEquals("CY2024", revenues.frame(2));
+
+        assertEquals(FactSeries.NO_FISCAL_YEAR, revenues.fiscalYear(3));
+        assertNull(revenues.fiscalPeriod(3));
+        assertNull(revenues.frame(3));
+        // accession numbers are shared between series
+        assertEquals(revenues.accessionId(2), facts.series("us-gaap:EarningsPerShareDiluted", "USD/shares").accessionId(0));
+
+        // the restated value of fiscal 2023 comes from the latest filing
+        int fiscal2023 = revenues.indexOfPeriod((int) LocalDate.of(2022, 9, 25).toEpochDay(), (int) LocalDate.of(2023, 9, 30).toEpochDay());
+        assertEquals(1, fiscal2023);
+
+        var shares = facts.series("dei:EntityCommonStockSharesOutstanding", "shares");
+        assertTrue(shares.isInstant(0));
+        assertEquals(15_115_823_000d, shares.value(0));
+        assertEquals(6.08, facts.series("us-gaap:EarningsPerShareDiluted", "USD/shares").value(0));
+    }
+
+    @Test
+    void testGetCompanyFactsStreamsResponse() {
+        byte[] body = COMPANY_FACTS_JSON.getBytes(StandardCharsets.UTF_8);
+        List<String> paths = new ArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            paths.add(path);
+            return SecStub.ok(MediaType.APPLICATION_JSON, chunks(body, 64));
+        }));
+
+        var facts = filingService.getCompanyFacts("320193").block();
+
+        assertEquals(List.of("/api/xbrl/companyfacts/CIK0000320193.json"), paths);
+        assertEquals(6, facts.factCount());
+        assertEquals(85_777_000_000d, facts.series("us-gaap:Revenues", "USD").value(3));
+    }
+
+    @Test
+    void testEpochDay() {
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), CompanyFactsParser.epochDay("2024-02-29".toCharArray(), 0, 10));
+        assertEquals(FactSeries.NO_DATE, CompanyFactsParser.epochDay("2023-02-29".toCharArray(), 0, 10));
+        assertEquals(FactSeries.NO_DATE, CompanyFactsParser.epochDay("20240229".toCharArray(), 0, 8));
+    }
+
+    @Test
+    void testRejectsIdsBeyondNarrowedColumns() {
+        var series = new FactSeries("us-gaap:Revenues", "USD", new CompanyFacts.Dictionaries());
+
+        assertThrows(IllegalArgumentException.class, () -> series.add(FactSeries.NO_DATE, 0, 1, 0,
+                Short.MAX_VALUE + 1, 0, 2024, StringDictionary.NOT_FOUND, StringDictionary.NOT_FOUND));
+        assertThrows(IllegalArgumentException.class, () -> series.add(FactSeries.NO_DATE, 0, 1, 0,
+                StringDictionary.NOT_FOUND, 0, 2024, Byte.MAX_VALUE + 1, StringDictionary.NOT_FOUND));
+        assertEquals(0, series.size());
+
+        // a fiscal year that does not fit the column is treated as missing
+        var facts = new CompanyFactsParser().parse(COMPANY_FACTS_JSON.replace("\"fy\":2024", "\"fy\":99999")
+                .getBytes(StandardCharsets.UTF_8));
+        assertEquals(FactSeries.NO_FISCAL_YEAR, facts.series("us-gaap:Revenues", "USD").fiscalYear(2));
+    }
+
+    private static Flux<DataBuffer> chunks(byte[] body, int chunkSize) {
+        return Flux.range(0, (body.length + chunkSize - 1) / chunkSize)
+                .map(i -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(body, i * chunkSize, Math.min(body.length, (i + 1) * chunkSize))));
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgarClientTest {
+
+    private static final String TICKERS_JSON = """
+            {"fields":["cik","name","ticker","exchange"],
+             "data":[[320193,"Apple Inc.","AAPL","Nasdaq"],[789019,"MICROSOFT CORP","MSFT","Nasdaq"]]}
+            """;
+    private static final String FILING_HTML = """
+            <html><body><div><span>Item 1. Business</span></div><div><span>Business content.</span></div></body></html>
+            """;
+
+    private final ParseScheduler parseScheduler = ParseScheduler.bounded(2);
+    private final EdgarClient edgarClient = edgarClient();
+
+    @AfterEach
+    void tearDown() {
+        edgarClient.close();
+        parseScheduler.dispose();
+    }
+
+    @Test
+    void testSingleCalls() {
+        assertEquals(2, edgarClient.getTickers().size());
+        assertEquals("320193", edgarClient.getCompanyTicker("aapl").orElseThrow().cik());
+        assertTrue(edgarClient.getCompanyTicker("NOPE").isEmpty());
+        assertEquals(2, edgarClient.getFilings("0000320193").size());
+
+        var document = edgarClient.loadLatest10K("AAPL");
+        assertEquals("0000320193-24-000123", document.metadata().get("accessionNumber"));
+    }
+
+    @Test
+    void testSingleCallRethrowsFailure() {
+        assertThrows(RuntimeException.class, () -> edgarClient.getFilings("MSFT"));
+    }
+
+    @Test
+    void testBulkCallsCollectFailures() {
+        List<BatchError> errors = new ArrayList<>();
+
+        var documents = edgarClient.loadLatest10Ks(List.of("AAPL", "MSFT", "AAPL", "NOPE"), errors::add);
+
+        assertEquals(List.of("AAPL"), List.copyOf(documents.keySet()));
+        assertEquals("10-K", documents.get("AAPL").metadata().get("form"));
+        assertEquals(Set.of("MSFT", "NOPE"), errors.stream().map(BatchError::identifier).collect(Collectors.toSet()));
+
+        var tickers = edgarClient.getCompanyTickers(List.of("MSFT", "NOPE", "AAPL"));
+        assertEquals(List.of("MSFT", "AAPL"), List.copyOf(tickers.keySet()));
+    }
+
+    @Test
+    void testRejectsInvalidConcurrency() {
+        var filingService = new FilingService(WebClient.create(), null);
+        assertThrows(IllegalArgumentException.class, () -> new EdgarClient(filingService, 0));
+    }
+
+    private EdgarClient edgarClient() {
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            if (path.endsWith("company_tickers_exchange.json")) {
+                return SecStub.ok(MediaType.APPLICATION_JSON, TICKERS_JSON);
+            }
+            if (path.endsWith("CIK0000320193.json")) {
+                return SecStub.ok(MediaType.APPLICATION_JSON, SubmissionsParserTest.SUBMISSIONS_JSON);
+            }
+            if (path.endsWith(".htm")) {
+                return SecStub.ok(MediaType.TEXT_HTML, FILING_HTML);
+            }
+            return SecStub.status(HttpStatus.INTERNAL_SERVER_ERROR);
+        }));
+        return new EdgarClient(new EdgarService(filingService, new ParsingService(), parseScheduler), filingService, 4);
+    }
+}
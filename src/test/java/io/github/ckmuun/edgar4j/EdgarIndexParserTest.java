@@ -0,0 +1,148 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgarIndexParserTest {
+
+    static final String QUARTERLY_MASTER = """
+            Description:           Master Index of EDGAR Dissemination Feed
+            Last Data Received:    December 31, 2024
+            Comments:              webmaster@sec.gov
+            Anonymous FTP:         ftp://ftp.sec.gov/edgar/
+            Cloud HTTP:            https://www.sec.gov/Archives/
+            \s
+            CIK|Company Name|Form Type|Date Filed|Filename
+            --------------------------------------------------------------------------------
+            320193|Apple Inc.|10-K|2024-11-01|edgar/data/320193/0000320193-24-000123.txt
+            789019|MICROSOFT CORP|10-Q|2024-10-30|edgar/data/789019/0000950170-24-118967.txt
+            1018724|AMAZON COM INC|8-K|2024-12-20|edgar/data/1018724/0001018724-24-000190.txt
+            """;
+
+    static final String DAILY_MASTER = """
+            Description:           Daily Index of EDGAR Dissemination Feed by Company Name
+            Last Data Received:    Jan 02, 2025
+            \s
+            CIK|Company Name|Form Type|Date Filed|File Name
+            --------------------------------------------------------------------------------
+            1000275|ROYAL BANK OF CANADA|424B2|20250102|edgar/data/1000275/0000950103-25-000017.txt
+            """;
+
+    static final String FORM_IDX = """
+            Description:           Master Index of EDGAR Dissemination Feed by Form Type
+            Last Data Received:    December 31, 2024
+            \s
+            Form Type   Company Name                                                  CIK         Date Filed  File Name
+            ---------------------------------------------------------------------------------------------------------------------------------------------
+            10-K        Apple Inc.                                                    320193      2024-11-01  edgar/data/320193/0000320193-24-000123.txt
+            10-Q        MICROSOFT CORP                                                789019      2024-10-30  edgar/data/789019/0000950170-24-118967.txt
+            """;
+
+    @Test
+    void testParsePipeDelimitedIndex() {
+        var filings = EdgarIndexParser.parse(buffer(QUARTERLY_MASTER), FilingIndex.NO_DATE);
+
+        assertEquals(3, filings.size());
+        var apple = filings.getFirst();
+        assertEquals("320193", apple.cik());
+        assertEquals("Apple Inc.", apple.name());
+        assertEquals("10-K", apple.form());
+        assertEquals("2024-11-01", apple.filingDate());
+        assertEquals("0000320193-24-000123", apple.accessionNumber());
+        assertNull(apple.primaryDocument());
+
+        var daily = EdgarIndexParser.parse(buffer(DAILY_MASTER), FilingIndex.NO_DATE);
+        assertEquals("2025-01-02", daily.getFirst().filingDate());
+        assertEquals("424B2", daily.getFirst().form());
+    }
+
+    @Test
+    void testParseFixedWidthIndex() {
+        var filings = EdgarIndexParser.parse(buffer(FORM_IDX), FilingIndex.NO_DATE);
+
+        assertEquals(EdgarIndexParser.parse(buffer(QUARTERLY_MASTER), FilingIndex.NO_DATE).subList(0, 2), filings);
+    }
+
+    @Test
+    void testOnlyFilingsAfterWatermarkAreReturned() {
+        int watermark = (int) LocalDate.of(2024, 11, 1).toEpochDay();
+
+        var filings = EdgarIndexParser.parse(buffer(QUARTERLY_MASTER), watermark);
+
+        assertEquals(List.of("1018724"), filings.stream().map(CompanyFilingMetadataDto::cik).toList());
+    }
+
+    @Test
+    void testGetNewFilingsAdvancesPersistedWatermark(@TempDir Path directory) throws Exception {
+        Map<String, String> indexes = Map.of(
+                "/Archives/edgar/full-index/2024/QTR4/master.idx", QUARTERLY_MASTER,
+                "/Archives/edgar/daily-index/2025/QTR1/master.20250102.idx", DAILY_MASTER);
+        List<String> requestedPaths = new ArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            String body = indexes.get(path);
+            return body != null ? SecStub.ok(MediaType.TEXT_PLAIN, body) : null;
+        }));
+        Path file = directory.resolve("watermark");
+        var watermark = IndexWatermark.load(file, LocalDate.of(2024, 10, 31));
+
+        var filings = filingService.getNewFilings(watermark, LocalDate.of(2025, 1, 3)).collectList().block();
+
+        assertEquals(List.of("0000320193-24-000123", "0001018724-24-000190", "0000950103-25-000017"),
+                filings.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals(List.of(
+                "/Archives/edgar/full-index/2024/QTR4/master.idx",
+                "/Archives/edgar/daily-index/2025/QTR1/master.20250101.idx",
+                "/Archives/edgar/daily-index/2025/QTR1/master.20250102.idx",
+                "/Archives/edgar/daily-index/2025/QTR1/master.20250103.idx"), requestedPaths);
+        // today's index is not published yet, so the crawl stops after yesterday
+        assertEquals(LocalDate.of(2025, 1, 2), watermark.get());
+        assertEquals("2025-01-02", Files.readString(file));
+        assertEquals(LocalDate.of(2025, 1, 2), IndexWatermark.load(file, LocalDate.MIN).get());
+
+        requestedPaths.clear();
+        var next = filingService.getNewFilings(watermark, LocalDate.of(2025, 1, 3)).collectList().block();
+        assertTrue(next.isEmpty());
+        assertEquals(List.of("/Archives/edgar/daily-index/2025/QTR1/master.20250103.idx"), requestedPaths);
+    }
+
+    @Test
+    void testThrottledIndexDoesNotAdvanceWatermark(@TempDir Path directory) {
+        // 2025-01-01 had no filings, then SEC throttles the client
+        var filingService = SecStub.filingService(SecStub.webClient(path -> path.endsWith("master.20250101.idx")
+                ? null
+                : SecStub.status(HttpStatus.FORBIDDEN)));
+        var watermark = IndexWatermark.load(directory.resolve("watermark"), LocalDate.of(2024, 12, 31));
+
+        assertThrows(WebClientResponseException.Forbidden.class,
+                () -> filingService.getNewFilings(watermark, LocalDate.of(2025, 1, 4)).collectList().block());
+        assertEquals(LocalDate.of(2025, 1, 1), watermark.get());
+    }
+
+    @Test
+    void testInvalidQuarterIsReportedThroughFlux() {
+        var filingService = SecStub.filingService(SecStub.webClient(path -> null));
+
+        var index = filingService.getQuarterlyIndex(2024, 5);
+        assertThrows(IllegalArgumentException.class, index::blockLast);
+        assertTrue(filingService.getQuarterlyIndex(2024, 4).collectList().block().isEmpty());
+    }
+
+    private static ByteBuffer buffer(String index) {
+        return ByteBuffer.wrap(index.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -5,9 +5,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
+import static io.github.ckmuun.edgar4j.Constants.TEN_K_ITEMS_REGEX;
 import static org.junit.jupiter.api.Assertions.*;
 
 class EdgarParsingServiceTest {
@@ -190,4 +194,154 @@ class EdgarParsingServiceTest {
 
         assertTrue(exception.getMessage().contains("Currently only 10-K forms supported"));
     }
+
+    @Test
+    void testStreamEdgarFormMatchesDomParse() {
+        String htmlContent = """
+            <html>
+                <body>
+                    <div style="display:none"><ix:header><ix:resources>XBRL data</ix:resources></ix:header></div>
+                    <div><span>Item 1. Business</span></div>
+                    <div><span style="font-weight:bold">This is the business section content.</span></div>
+                    <div><span>See <a href="#toc">table of contents</a></span></div>
+                    <table><tr><td><span>Net sales</span></td><td><span>391,035</span></td></tr></table>
+                    <div><span>Item 1A. Risk Factors</span></div>
+                    <div><span>Risk factor content here.</span></div>
+                    <div><span>Item 2. Properties</span></div>
+                    <p>Properties content here.</p>
+                </body>
+            </html>
+            """;
+        CompanyFilingMetadataDto metadata = CompanyFilingMetadataDto.builder()
+                .cik("0000320193")
+                .form("10-K")
+                .build();
+
+        var expected = parsingService.parseEdgarForm(
+                new CompanyFilingDto(metadata, new ByteArrayInputStream(htmlContent.getBytes(StandardCharsets.UTF_8))));
+        var streamed = parsingService.streamEdgarForm(
+                new CompanyFilingDto(metadata, new ByteArrayInputStream(htmlContent.getBytes(StandardCharsets.UTF_8))))
+                .collectList()
+                .block();
+
+        assertEquals("XBRL_HEADER", streamed.getFirst().getMetadata().get("documentType"));
+        assertEquals(expected.xbrlHeader().getContent().trim(), streamed.getFirst().getContent().trim());
+
+        var items = streamed.subList(1, streamed.size());
+        assertEquals(3, items.size());
+        assertEquals(expected.chunks().size(), items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(expected.chunks().get(i).getMetadata(), items.get(i).getMetadata());
+            assertEquals(normalize(expected.chunks().get(i).getContent()), normalize(items.get(i).getContent()));
+        }
+        assertFalse(items.getFirst().getContent().contains("table of contents"));
+
+        // the chunks share the filing metadata of the document instead of copying it
+        assertSame(expected.metadata(), expected.xbrlHeader().getFiling());
+        assertSame(expected.metadata(), expected.chunks().getFirst().getFiling());
+        assertEquals("Item 1. Business", expected.chunks().getFirst().getItemTitle());
+        assertEquals(Map.of("cik", "0000320193", "form", "10-K", "documentType", "FORM_ITEM",
+                "itemIndex", 0, "itemTitle", "Item 1. Business"), expected.chunks().getFirst().getMetadata());
+    }
+
+    @Test
+    void testStreamEdgarForm_UnsupportedForm() {
+        CompanyFilingDto filing = new CompanyFilingDto(
+                CompanyFilingMetadataDto.builder().form("8-K").build(),
+                new ByteArrayInputStream("<html></html>".getBytes())
+        );
+
+        assertThrows(IllegalArgumentException.class, () -> parsingService.streamEdgarForm(filing).blockLast());
+    }
+
+    @Test
+    void testParseEdgarFormMatchesMultiPassPipeline() {
+        String tricky = """
+            <html><body>
+                <div><ix:header><ix:resources>XBRL data</ix:resources></ix:header></div>
+                <div style="x"><span>Item 1. Business</span></div>
+                <div>Mixed <b>bold</b> text<br>after break</div>
+                <div><span>&nbsp;</span><span>&#8203;</span></div>
+                <div><span><a href="#toc">Table of Contents</a></span></div>
+                <pre>&nbsp;</pre>
+                <div><div><div><span> </span></div></div><p>nested</p></div>
+                <div><span>Item 1A. Risk Factors</span></div>
+                <table><tr><td colspan="2"><span>Net sales</span></td><td></td></tr></table>
+            </body></html>
+            """;
+        for (String html : List.of(tricky, FormParsingBenchmark.generateFiling(20))) {
+            var expectedDocument = Jsoup.parse(html);
+            String expectedHeader = new String(parsingService.getXbrlHeader(expectedDocument), StandardCharsets.UTF_8);
+            parsingService.stripFormHtml(expectedDocument);
+            var metadata = Map.<String, Object>of("form", "10-K");
+            var expected = parsingService.getFormItemsFromHtml(expectedDocument, TEN_K_ITEMS_REGEX, metadata);
+
+            var document = parsingService.parseEdgarForm(new CompanyFilingDto(
+                    CompanyFilingMetadataDto.builder().form("10-K").build(),
+                    new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8))));
+
+            assertEquals(expectedHeader, document.xbrlHeader().getContent());
+            assertEquals(expected.size(), document.chunks().size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getContent(), document.chunks().get(i).getContent());
+                assertEquals(expected.get(i).getMetadata(), document.chunks().get(i).getMetadata());
+            }
+        }
+    }
+
+    @Test
+    void testParallelItemsMatchSequentialParse() {
+        var parallel = new ParsingService(ForkJoinPool.commonPool());
+        String noItems = "<html><body><p>No items in here.</p></body></html>";
+        for (String html : List.of(FormParsingBenchmark.generateFiling(20), noItems)) {
+            var metadata = CompanyFilingMetadataDto.builder().form("10-K").build();
+            var expected = parsingService.parseEdgarForm(
+                    new CompanyFilingDto(metadata, new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8))));
+
+            var document = parallel.parseEdgarForm(
+                    new CompanyFilingDto(metadata, new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8))));
+
+            assertEquals(expected.chunks().size(), document.chunks().size());
+            for (int i = 0; i < expected.chunks().size(); i++) {
+                assertEquals(expected.chunks().get(i).getContent(), document.chunks().get(i).getContent());
+                assertEquals(expected.chunks().get(i).getMetadata(), document.chunks().get(i).getMetadata());
+            }
+
+            var expectedItems = parsingService.getFormItemsFromHtml(Jsoup.parse(html), TEN_K_ITEMS_REGEX, Map.of("form", "10-K"));
+            var items = parallel.getFormItemsFromHtml(Jsoup.parse(html), TEN_K_ITEMS_REGEX, Map.of("form", "10-K"));
+            assertEquals(expectedItems.size(), items.size());
+            for (int i = 0; i < expectedItems.size(); i++) {
+                assertEquals(expectedItems.get(i).getContent(), items.get(i).getContent());
+                assertEquals(expectedItems.get(i).getMetadata(), items.get(i).getMetadata());
+            }
+        }
+    }
+
+    @Test
+    void testParallelFilterMatchesSequentialTraversal() {
+        String noBlocks = "<html><body><p>Item 1. Business</p></body></html>";
+        var metadata = FilingMetadata.of(Map.of("form", "10-K"));
+        for (String html : List.of(FormParsingBenchmark.generateFiling(20), XbrlFactTableTest.FILING, noBlocks)) {
+            var expectedDom = Jsoup.parse(html);
+            var expected = new FormHtmlFilter("0000320193-24-000123");
+            expected.filter(expectedDom, null);
+
+            var dom = Jsoup.parse(html);
+            var filter = new FormHtmlFilter("0000320193-24-000123");
+            filter.filter(dom, ForkJoinPool.commonPool());
+
+            assertEquals(expectedDom.outerHtml(), dom.outerHtml());
+            assertEquals(expected.xbrlHeader(), filter.xbrlHeader());
+            assertEquals(expected.facts().size(), filter.facts().size());
+            var expectedItems = expected.formItems(TEN_K_ITEMS_REGEX, metadata);
+            var items = filter.formItems(TEN_K_ITEMS_REGEX, metadata);
+            assertFalse(items.isEmpty());
+            assertEquals(expectedItems.stream().map(DocumentChunk::getContent).toList(),
+                    items.stream().map(DocumentChunk::getContent).toList());
+        }
+    }
+
+    private static String normalize(String content) {
+        return content.replaceAll("\\s+", " ").trim();
+    }
 }
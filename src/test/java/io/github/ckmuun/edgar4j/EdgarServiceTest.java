@@ -0,0 +1,162 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EdgarServiceTest {
+
+    private static final String TICKERS_JSON = """
+            {"fields":["cik","name","ticker","exchange"],
+             "data":[[320193,"Apple Inc.","AAPL","Nasdaq"],[789019,"MICROSOFT CORP","MSFT","Nasdaq"]]}
+            """;
+    private static final String FILING_HTML = """
+            <html><body><div><span>Item 1. Business</span></div><div><span>Business content.</span></div></body></html>
+            """;
+
+    private final List<String> requestedPaths = new CopyOnWriteArrayList<>();
+    private final ParseScheduler parseScheduler = ParseScheduler.bounded(2);
+
+    @AfterEach
+    void tearDown() {
+        parseScheduler.dispose();
+    }
+
+    @Test
+    void testLoadFilingsSkipsFailedItems() {
+        var edgarService = edgarService();
+        List<BatchError> errors = new ArrayList<>();
+
+        var documents = edgarService.loadFilings(List.of("AAPL", "0000320193", "MSFT", "NOPE"),
+                        Set.of("10-K", "10-Q"), DateRange.ALL, errors::add)
+                .collectList()
+                .block();
+
+        // AAPL and 0000320193 are the same company and only loaded once
+        assertEquals(2, documents.size());
+        documents.sort(Comparator.comparing(d -> (String) d.metadata().get("accessionNumber")));
+        assertEquals(List.of("0000320193-24-000081", "0000320193-24-000123"),
+                documents.stream().map(d -> d.metadata().get("accessionNumber")).toList());
+        assertEquals("Item 1. Business", documents.getFirst().chunks().getFirst().getMetadata().get("itemTitle"));
+
+        assertEquals(Set.of("MSFT", "NOPE"), errors.stream().map(BatchError::identifier).collect(Collectors.toSet()));
+        assertEquals(1, requestedPaths.stream().filter(path -> path.endsWith("CIK0000320193.json")).count());
+        assertEquals(1, requestedPaths.stream().filter(path -> path.endsWith("company_tickers_exchange.json")).count());
+    }
+
+    @Test
+    void testLoadFilingsFiltersFormsAndDates() {
+        var documents = edgarService().loadFilings(List.of("320193"), Set.of("10-K", "10-Q"),
+                        DateRange.since(LocalDate.of(2024, 9, 1)), error -> fail(error.toString()))
+                .collectList()
+                .block();
+
+        assertEquals(1, documents.size());
+        assertEquals("10-K", documents.getFirst().metadata().get("form"));
+        assertTrue(requestedPaths.stream().noneMatch(path -> path.endsWith("aapl-20240629.htm")));
+    }
+
+    @Test
+    void testLoadFilingsClosesFilingsDroppedOnCancel() throws InterruptedException {
+        var webClient = webClient();
+        Set<String> opened = ConcurrentHashMap.newKeySet();
+        Set<String> closed = ConcurrentHashMap.newKeySet();
+        var bothOpened = new CountDownLatch(2);
+        var filingService = new FilingService(webClient, SecStub.tickerRegistry(webClient)) {
+            @Override
+            public Mono<CompanyFilingDto> getCompanyFiling(CompanyFilingMetadataDto metadata) {
+                String accessionNumber = metadata.accessionNumber();
+                return Mono.fromCallable(() -> {
+                    opened.add(accessionNumber);
+                    bothOpened.countDown();
+                    return new CompanyFilingDto(metadata, new ByteArrayInputStream(FILING_HTML.getBytes(StandardCharsets.UTF_8)) {
+                        @Override
+                        public synchronized int read(byte[] bytes, int offset, int length) {
+                            // hold the parse until the next filing has been downloaded
+                            try {
+                                bothOpened.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return super.read(bytes, offset, length);
+                        }
+
+                        @Override
+                        public void close() {
+                            closed.add(accessionNumber);
+                        }
+                    });
+                }).hide();
+            }
+        };
+        // with a single parse slot, the second filing is downloaded while the first one is parsed
+        var singleSlot = ParseScheduler.bounded(1);
+        try {
+            var first = new EdgarService(filingService, new ParsingService(), singleSlot)
+                    .loadFilings(List.of("320193"), Set.of("10-K", "10-Q"), DateRange.ALL, error -> fail(error.toString()))
+                    .take(1)
+                    .blockLast();
+
+            assertNotNull(first);
+            assertEquals(2, opened.size());
+            // the dropped filing may be discarded by the thread still draining the downloads
+            for (int i = 0; i < 100 && !closed.containsAll(opened); i++) {
+                Thread.sleep(20);
+            }
+            assertEquals(opened, closed);
+        } finally {
+            singleSlot.dispose();
+        }
+    }
+
+    @Test
+    void testDateRange() {
+        var range = DateRange.between(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31));
+
+        assertTrue(range.contains("2024-01-01"));
+        assertTrue(range.contains("2024-12-31"));
+        assertFalse(range.contains("2025-01-01"));
+        assertTrue(range.isBefore("2023-12-31"));
+        assertTrue(DateRange.ALL.contains(null));
+        assertThrows(IllegalArgumentException.class, () -> DateRange.between(LocalDate.of(2025, 1, 1), LocalDate.of(2024, 1, 1)));
+    }
+
+    private EdgarService edgarService() {
+        var filingService = SecStub.filingService(webClient());
+        return new EdgarService(filingService, new ParsingService(), parseScheduler);
+    }
+
+    private WebClient webClient() {
+        return SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            if (path.endsWith("company_tickers_exchange.json")) {
+                return SecStub.ok(MediaType.APPLICATION_JSON, TICKERS_JSON);
+            }
+            if (path.endsWith("CIK0000320193.json")) {
+                return SecStub.ok(MediaType.APPLICATION_JSON, SubmissionsParserTest.SUBMISSIONS_JSON);
+            }
+            if (path.endsWith(".htm")) {
+                return SecStub.ok(MediaType.TEXT_HTML, FILING_HTML);
+            }
+            return SecStub.status(HttpStatus.INTERNAL_SERVER_ERROR);
+        });
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilingCacheTest {
+
+    private static final String FILING_HTML = "<html><body><p>Item 1. Business</p></body></html>";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testPutAndGet() throws IOException {
+        var cache = new FilingCache(tempDir, 1024 * 1024);
+        assertNull(cache.get("320193", "000032019324000123", "aapl-20240928.htm"));
+
+        cache.put("320193", "000032019324000123", "aapl-20240928.htm", stream(FILING_HTML));
+
+        assertTrue(cache.contains("320193", "000032019324000123", "aapl-20240928.htm"));
+        assertTrue(Files.exists(tempDir.resolve("320193/000032019324000123/aapl-20240928.htm.gz")));
+        try (InputStream in = cache.get("320193", "000032019324000123", "aapl-20240928.htm")) {
+            assertEquals(FILING_HTML, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() throws IOException {
+        byte[] random = new byte[4096];
+        new Random(42).nextBytes(random); // incompressible, so every entry takes about 4 KB
+        var cache = new FilingCache(tempDir, 10_000);
+
+        cache.put("1", "a", "doc.htm", new ByteArrayInputStream(random));
+        cache.put("1", "b", "doc.htm", new ByteArrayInputStream(random));
+        cache.get("1", "a", "doc.htm").close();
+        cache.put("1", "c", "doc.htm", new ByteArrayInputStream(random));
+
+        assertTrue(cache.contains("1", "a", "doc.htm"));
+        assertFalse(cache.contains("1", "b", "doc.htm"));
+        assertTrue(cache.contains("1", "c", "doc.htm"));
+        assertFalse(Files.exists(tempDir.resolve("1/b/doc.htm.gz")));
+        assertTrue(cache.size() <= 10_000);
+    }
+
+    @Test
+    void testReopenPicksUpExistingEntries() throws IOException {
+        new FilingCache(tempDir, 1024 * 1024).put("1", "a", "doc.htm", stream(FILING_HTML));
+
+        var reopened = new FilingCache(tempDir, 1024 * 1024);
+
+        assertTrue(reopened.contains("1", "a", "doc.htm"));
+        assertTrue(reopened.size() > 0);
+    }
+
+    @Test
+    void testRejectsPathSegments() {
+        var cache = new FilingCache(tempDir, 1024);
+        assertThrows(IllegalArgumentException.class, () -> cache.get("1", "..", "doc.htm"));
+        assertThrows(IllegalArgumentException.class, () -> cache.get("1", "a", "../doc.htm"));
+    }
+
+    @Test
+    void testCacheHitMakesNoRequest() throws IOException {
+        var requests = new AtomicInteger();
+        var webClient = SecStub.webClient(path -> {
+            requests.incrementAndGet();
+            return SecStub.ok(MediaType.TEXT_HTML, FILING_HTML);
+        });
+        var filingService = SecStub.filingService(webClient, new FilingCache(tempDir, 1024 * 1024));
+        var metadata = CompanyFilingMetadataDto.builder()
+                .cik("0000320193")
+                .accessionNumber("0000320193-24-000123")
+                .primaryDocument("aapl-20240928.htm")
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            var filing = filingService.getCompanyFiling(metadata).block();
+            try (InputStream in = filing.file()) {
+                assertEquals(FILING_HTML, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testCachesNestedDocumentsAndDownloadsUncacheableOnes() throws IOException {
+        var cache = new FilingCache(tempDir, 1024 * 1024);
+        assertTrue(FilingCache.isValidKey("1", "a", "xslF345X05/wk-form4.xml"));
+        assertFalse(FilingCache.isValidKey("1", "a", null));
+        assertFalse(FilingCache.isValidKey("1", "a", "xslF345X05/../doc.htm"));
+
+        var requests = new AtomicInteger();
+        var webClient = SecStub.webClient(path -> {
+            requests.incrementAndGet();
+            return SecStub.ok(MediaType.TEXT_HTML, FILING_HTML);
+        });
+        var filingService = SecStub.filingService(webClient, cache);
+        var form4 = CompanyFilingMetadataDto.builder()
+                .cik("320193")
+                .accessionNumber("0001140361-24-046512")
+                .primaryDocument("xslF345X05/wk-form4_1731364234.xml")
+                .build();
+        // index filings name no primary document
+        var indexFiling = CompanyFilingMetadataDto.builder()
+                .cik("320193")
+                .accessionNumber("0000320193-24-000123")
+                .build();
+
+        for (var metadata : List.of(form4, form4, indexFiling, indexFiling)) {
+            try (InputStream in = filingService.getCompanyFiling(metadata).block().file()) {
+                assertEquals(FILING_HTML, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(3, requests.get());
+        assertTrue(Files.exists(tempDir.resolve("320193/000114036124046512/xslF345X05/wk-form4_1731364234.xml.gz")));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilingDirectoryTest {
+
+    private static final String INDEX_JSON = """
+            {"directory":{"item":[
+              {"last-modified":"2024-11-01 18:04:26","name":"0000320193-24-000123.txt","type":"text.gif","size":"9832015"},
+              {"last-modified":"2024-11-01 18:04:26","name":"R1.htm","type":"text.gif","size":"4512"},
+              {"last-modified":"2024-11-01 18:04:26","name":"R2.htm","type":"text.gif","size":""},
+              {"last-modified":"2024-11-01 18:04:26","name":"a10-kexhibit21109282024.htm","type":"text.gif","size":"3120"},
+              {"last-modified":"2024-11-01 18:04:26","name":"aapl-20240928.htm","type":"text.gif","size":"1523020"},
+              {"last-modified":"2024-11-01 18:04:26","name":"aapl-20240928_htm.xml","type":"text.gif","size":"871230"},
+              {"last-modified":"2024-11-01 18:04:26","name":"images","type":"folder.gif","size":""}],
+             "name":"/Archives/edgar/data/320193/000032019324000123",
+             "parent-dir":"/Archives/edgar/data/320193/"}}
+            """;
+
+    @Test
+    void testFilesMatchingGlobs() throws IOException {
+        var directory = FilingDirectory.of("320193", "000032019324000123", new ObjectMapper().readTree(INDEX_JSON));
+
+        assertEquals(7, directory.entries().size());
+        assertEquals(6, directory.files().size());
+        assertEquals(List.of("R1.htm", "R2.htm"), names(directory.files("R*.htm")));
+        assertEquals(List.of("a10-kexhibit21109282024.htm", "aapl-20240928_htm.xml"),
+                names(directory.files("*exhibit21*", "*_htm.xml")));
+        assertEquals(4512, directory.files("R1.htm").getFirst().size());
+        assertEquals(-1, directory.files("R2.htm").getFirst().size());
+    }
+
+    @Test
+    void testGetFilingFilesDownloadsOnlyMatchingFiles() throws IOException {
+        List<String> requestedPaths = new CopyOnWriteArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            if (path.endsWith("/index.json")) {
+                return SecStub.ok(MediaType.APPLICATION_JSON, INDEX_JSON);
+            }
+            return SecStub.ok(MediaType.TEXT_HTML, "<html>" + path.substring(path.lastIndexOf('/') + 1) + "</html>");
+        }));
+        var metadata = CompanyFilingMetadataDto.builder()
+                .cik("0000320193")
+                .accessionNumber("0000320193-24-000123")
+                .form("10-K")
+                .primaryDocument("aapl-20240928.htm")
+                .build();
+
+        var files = filingService.getFilingFiles(metadata, "R*.htm").collectList().block();
+
+        assertEquals(List.of("R1.htm", "R2.htm"), files.stream().map(file -> file.metadata().primaryDocument()).toList());
+        assertEquals("10-K", files.getFirst().metadata().form());
+        for (var file : files) {
+            try (InputStream in = file.file()) {
+                assertEquals("<html>" + file.metadata().primaryDocument() + "</html>", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals("/Archives/edgar/data/320193/000032019324000123/index.json", requestedPaths.getFirst());
+        assertEquals(3, requestedPaths.size());
+    }
+
+    @Test
+    void testGetFilingFilesClosesDownloadsDroppedOnError() throws IOException {
+        var indexJson = new ObjectMapper().readTree(INDEX_JSON);
+        var webClient = SecStub.webClient(path -> null);
+        List<String> closed = new CopyOnWriteArrayList<>();
+        var filingService = new FilingService(webClient, SecStub.tickerRegistry(webClient)) {
+            @Override
+            public Mono<FilingDirectory> getFilingDirectory(String cik, String accessionNumber) {
+                return Mono.just(FilingDirectory.of(cik, accessionNumber, indexJson));
+            }
+
+            @Override
+            public Mono<CompanyFilingDto> getCompanyFiling(CompanyFilingMetadataDto metadata) {
+                String name = metadata.primaryDocument();
+                // R2.htm is downloaded while R1.htm is still pending, then R1.htm fails
+                if (name.equals("R1.htm")) {
+                    return Mono.delay(Duration.ofMillis(200)).then(Mono.error(new IllegalStateException("R1.htm failed")));
+                }
+                return Mono.just(new CompanyFilingDto(metadata, new ByteArrayInputStream(new byte[0]) {
+                    @Override
+                    public void close() {
+                        closed.add(name);
+                    }
+                })).hide();
+            }
+        };
+        var metadata = CompanyFilingMetadataDto.builder()
+                .cik("320193")
+                .accessionNumber("0000320193-24-000123")
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> filingService.getFilingFiles(metadata, "R*.htm").blockLast());
+
+        assertEquals(List.of("R2.htm"), closed);
+    }
+
+    private static List<String> names(List<FilingDirectory.Entry> entries) {
+        return entries.stream().map(FilingDirectory.Entry::name).toList();
+    }
+}
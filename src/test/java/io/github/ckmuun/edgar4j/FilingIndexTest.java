@@ -0,0 +1,100 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static io.github.ckmuun.edgar4j.SubmissionsParserTest.SUBMISSIONS_JSON;
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilingIndexTest {
+
+    @Test
+    void testRowsAreCreatedFromColumns() {
+        var builder = new FilingIndex.Builder();
+        var rows = SubmissionsParser.forSubmissions().collectInto(builder).parse(SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8));
+        var index = builder.build();
+
+        assertTrue(rows.isEmpty());
+        assertEquals(2, index.size());
+        // sorted by filing date, oldest first
+        var tenK = index.get(1);
+        assertEquals("320193", tenK.cik());
+        assertEquals("Apple Inc.", tenK.name());
+        assertEquals("0000320193-24-000123", tenK.accessionNumber());
+        assertEquals("2024-11-01", tenK.filingDate());
+        assertEquals("2024-09-28", tenK.reportDate());
+        assertEquals("2024-11-01T18:04:26.000Z", tenK.acceptanceDateTime());
+        assertEquals("34", tenK.act());
+        assertEquals("10-K", tenK.form());
+        assertEquals("001-36743", tenK.fileNumber());
+        assertEquals("241416806", tenK.filmNumber());
+        assertNull(tenK.items());
+        assertEquals("9832015", tenK.size());
+        assertTrue(tenK.isXbrl());
+        assertTrue(tenK.isInlineXbrl());
+        assertEquals("aapl-20240928.htm", tenK.primaryDocument());
+        assertFalse(index.isInlineXbrl(0));
+        assertEquals(LocalDate.of(2024, 8, 2), index.filingDate(0));
+        assertEquals(5823118L, index.fileSize(0));
+    }
+
+    @Test
+    void testMatchesParsedFilings() {
+        var filings = SubmissionsParser.forSubmissions().parse(SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8));
+        var index = FilingIndex.of(filings);
+
+        assertEquals(List.of("0000320193-24-000081", "0000320193-24-000123"),
+                index.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals(1, index.indexOf("0000320193-24-000123"));
+        assertEquals(-1, index.indexOf("0000320193-24-999999"));
+        assertEquals(List.of(1), index.rowsOfForm("10-K").boxed().toList());
+        assertTrue(index.rowsOfForm("8-K").findAny().isEmpty());
+    }
+
+    @Test
+    void testDateRangeAndMerge() {
+        String other = SUBMISSIONS_JSON
+                .replace("320193", "789019")
+                .replace("Apple Inc.", "Microsoft Corp")
+                .replace("2024-11-01", "2023-07-27");
+        var index = FilingIndex.merge(List.of(
+                parse(SUBMISSIONS_JSON), parse(other)));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("2023-07-27", "2024-08-02", "2024-08-02", "2024-11-01"),
+                index.stream().map(CompanyFilingMetadataDto::filingDate).toList());
+        assertEquals(List.of(789019, 320193, 789019, 320193), index.rows(DateRange.ALL).map(index::cik).boxed().toList());
+        assertEquals(List.of(1, 2), index.rows(DateRange.between(LocalDate.of(2024, 8, 2), LocalDate.of(2024, 8, 2))).boxed().toList());
+        assertEquals(List.of(3), index.rows(DateRange.since(LocalDate.of(2024, 8, 3))).boxed().toList());
+        assertEquals(0L, index.rows(DateRange.since(LocalDate.of(2025, 1, 1))).count());
+        assertEquals("Microsoft Corp", index.get(0).name());
+    }
+
+    @Test
+    void testGetCompanyFilingIndexLoadsOlderPages() {
+        String main = SUBMISSIONS_JSON.replace("\"files\":[]", """
+                "files":[{"name":"CIK0000320193-submissions-001.json","filingCount":1,"filingFrom":"2002-01-02","filingTo":"2015-06-01"}]""");
+        String page001 = """
+                {"accessionNumber":["0000320193-15-000001"],"filingDate":["2015-06-01"],"form":["8-K"]}""";
+        var filingService = SecStub.filingService(SecStub.webClient(path ->
+                SecStub.ok(MediaType.APPLICATION_JSON, path.endsWith("-001.json") ? page001 : main)));
+
+        var index = filingService.getCompanyFilingIndex("320193").block();
+
+        assertEquals(3, index.size());
+        assertEquals("0000320193-15-000001", index.accessionNumber(0));
+        assertEquals("8-K", index.form(0));
+        assertEquals("Apple Inc.", index.get(0).name());
+        assertEquals(FilingIndex.NO_NUMBER, index.fileSize(0));
+    }
+
+    private static FilingIndex parse(String json) {
+        var builder = new FilingIndex.Builder();
+        SubmissionsParser.forSubmissions().collectInto(builder).parse(json.getBytes(StandardCharsets.UTF_8));
+        return builder.build();
+    }
+}
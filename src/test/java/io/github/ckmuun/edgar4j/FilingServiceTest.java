@@ -5,7 +5,16 @@ import org.jsoup.Jsoup;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import static io.github.ckmuun.edgar4j.Constants.SEC_BASE;
 import static io.github.ckmuun.edgar4j.Constants.TICKER_FILE_PATH;
@@ -47,11 +56,11 @@ public class FilingServiceTest {
     @Test
     @Disabled
     void get10QForm_basic() {
-        var data = filingService.execFilingRequest(
+        var data = DataBufferUtils.join(filingService.execFilingRequest(
                 "320193",
                 "000032019325000073",
                 "aapl-20250628.htm"
-        ).block();
+        )).block();
         Assertions.assertNotNull(data);
 
         Assertions.assertDoesNotThrow(
@@ -60,4 +69,28 @@ public class FilingServiceTest {
                 }
         );
     }
+
+    @Test
+    void getCompanyFiling_streamsToSpoolFile() throws IOException {
+        byte[] chunk = "<p>Item 1A. Risk Factors</p>\n".repeat(1024).getBytes(StandardCharsets.UTF_8);
+        int chunks = 1024; // ~30 MB, more than the in-memory codec limit
+        var service = SecStub.filingService(SecStub.webClient(path -> SecStub.ok(MediaType.TEXT_HTML,
+                Flux.range(0, chunks).map(i -> DefaultDataBufferFactory.sharedInstance.wrap(chunk)))));
+        var metadata = CompanyFilingMetadataDto.builder()
+                .cik("320193")
+                .accessionNumber("0000320193-24-000123")
+                .primaryDocument("aapl-20240928.htm")
+                .build();
+
+        var filing = service.getCompanyFiling(metadata).block();
+        Assertions.assertNotNull(filing);
+
+        long total = 0;
+        try (InputStream in = filing.file()) {
+            byte[] first = in.readNBytes(chunk.length);
+            Assertions.assertArrayEquals(chunk, first);
+            total = first.length + in.transferTo(OutputStream.nullOutputStream());
+        }
+        Assertions.assertEquals((long) chunk.length * chunks, total);
+    }
 }
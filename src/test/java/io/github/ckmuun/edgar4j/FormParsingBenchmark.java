@@ -0,0 +1,138 @@
+package io.github.ckmuun.edgar4j;
+
+import org.jsoup.Jsoup;
+import org.jsoup.select.NodeTraversor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static io.github.ckmuun.edgar4j.Constants.TEN_K_ITEMS_REGEX;
+
+/**
+ * Compares the single-pass {@link FormHtmlFilter} with the previous sequence of
+ * {@code getXbrlHeader}, {@code stripFormHtml} and {@code getFormItemsFromHtml} on an already parsed DOM.
+ * Uses a real 10-K when {@code -Dedgar.bench.filing=/path/aapl-20240928.htm} is set,
+ * otherwise a generated filing with the given number of paragraphs per item.
+ * {@code singlePassParallel} filters the subtrees and splits the items on the common fork/join pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormParsingBenchmark {
+
+    private static final FilingMetadata METADATA = FilingMetadata.of(Map.of("form", "10-K"));
+
+    @Param({"200"})
+    public int paragraphsPerItem;
+
+    private final ParsingService parsingService = new ParsingService();
+    private org.jsoup.nodes.Document parsed;
+    private org.jsoup.nodes.Document document;
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FormParsingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String fixture = System.getProperty("edgar.bench.filing");
+        String html = fixture != null
+                ? Files.readString(Path.of(fixture), StandardCharsets.UTF_8)
+                : generateFiling(paragraphsPerItem);
+        parsed = Jsoup.parse(html);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyDocument() {
+        // both variants modify the DOM
+        document = parsed.clone();
+    }
+
+    @Benchmark
+    public List<DocumentChunk> multiPass() {
+        parsingService.getXbrlHeader(document);
+        parsingService.stripFormHtml(document);
+        return parsingService.getFormItemsFromHtml(document, TEN_K_ITEMS_REGEX, METADATA);
+    }
+
+    @Benchmark
+    public List<DocumentChunk> singlePass() {
+        var formHtml = new FormHtmlFilter();
+        NodeTraversor.filter(formHtml, document);
+        return formHtml.formItems(TEN_K_ITEMS_REGEX, METADATA);
+    }
+
+    @Benchmark
+    public List<DocumentChunk> singlePassParallel() {
+        var formHtml = new FormHtmlFilter();
+        formHtml.filter(document, ForkJoinPool.commonPool());
+        return formHtml.formItems(TEN_K_ITEMS_REGEX, METADATA, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Generates an inline XBRL 10-K shaped like the ones large filers submit: a hidden XBRL header,
+     * a linked table of contents and items made of deeply nested divs, spans and tables.
+     */
+    static String generateFiling(int paragraphsPerItem) {
+        String[] items = {"Item 1. Business", "Item 1A. Risk Factors", "Item 2. Properties",
+                "Item 3. Legal Proceedings", "Item 7. Management's Discussion and Analysis",
+                "Item 8. Financial Statements and Supplementary Data", "Item 9A. Controls and Procedures"};
+        var html = new StringBuilder(paragraphsPerItem * items.length * 600);
+        html.append("<html><head><title>aapl-20240928</title></head><body>")
+                .append("<div style=\"display:none\"><ix:header><ix:hidden>");
+        for (int i = 0; i < 200; i++) {
+            html.append("<ix:nonNumeric name=\"dei:Fact").append(i).append("\" contextRef=\"c-1\">value ")
+                    .append(i).append("</ix:nonNumeric>");
+        }
+        html.append("</ix:hidden><ix:resources><xbrli:context id=\"c-1\"></xbrli:context></ix:resources>")
+                .append("</ix:header></div>");
+        html.append("<div><table>");
+        for (String item : items) {
+            html.append("<tr><td colspan=\"3\"><div><span><a href=\"#item\">").append(item)
+                    .append("</a></span></div></td><td><span>&#160;</span></td></tr>");
+        }
+        html.append("</table></div>");
+        for (String item : items) {
+            html.append("<div style=\"margin-top:12pt\"><span style=\"font-weight:700\">").append(item).append("</span></div>");
+            for (int p = 0; p < paragraphsPerItem; p++) {
+                html.append("<div style=\"text-indent:24pt\"><div><span style=\"color:#000000\">")
+                        .append("The Company designs, manufactures and markets smartphones, personal computers, ")
+                        .append("tablets, wearables and accessories, and sells a variety of related services.")
+                        .append("</span><span>&#160;</span></div>");
+                if (p % 10 == 0) {
+                    html.append("<table><tr><td colspan=\"2\"><span>Net sales</span></td><td><span>$</span></td>")
+                            .append("<td><span><ix:nonFraction name=\"us-gaap:Revenues\">391,035</ix:nonFraction>")
+                            .append("</span></td><td><span></span></td></tr></table>");
+                }
+                html.append("<div><br></div></div>");
+            }
+            html.append("<div><span><a href=\"#toc\">Table of Contents</a></span></div><hr>");
+        }
+        html.append("</body></html>");
+        return html.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrameScreenerTest {
+
+    private static final String REVENUES_JSON = """
+            {"taxonomy":"us-gaap","tag":"Revenues","ccp":"CY2023","uom":"USD","label":"Revenues","description":"...","pts":4,
+             "data":[
+              {"accn":"0000950170-23-035122","cik":789019,"entityName":"MICROSOFT CORPORATION","loc":"US-WA","start":"2022-07-01","end":"2023-06-30","val":211915000000},
+              {"accn":"0000320193-23-000106","cik":320193,"entityName":"Apple Inc.","loc":"US-CA","start":"2022-09-25","end":"2023-09-30","val":383285000000},
+              {"accn":"0001234567-24-000001","cik":1234567,"entityName":"SMALL CORP","loc":"US-NY","start":"2023-01-01","end":"2023-12-31","val":5000000},
+              {"accn":"0001018724-24-000008","cik":1018724,"entityName":"AMAZON COM INC","loc":"US-WA","start":"2023-01-01","end":"2023-12-31","val":574785000000}]}
+            """;
+    private static final String NET_INCOME_JSON = """
+            {"taxonomy":"us-gaap","tag":"NetIncomeLoss","ccp":"CY2023","uom":"USD","label":"Net Income","description":"...","pts":3,
+             "data":[
+              {"accn":"0000320193-23-000106","cik":320193,"entityName":"Apple Inc.","loc":"US-CA","start":"2022-09-25","end":"2023-09-30","val":96995000000},
+              {"accn":"0000950170-23-035122","cik":789019,"entityName":"MICROSOFT CORPORATION","loc":"US-WA","start":"2022-07-01","end":"2023-06-30","val":72361000000},
+              {"accn":"0001018724-24-000008","cik":1018724,"entityName":"AMAZON COM INC","loc":"US-WA","start":"2023-01-01","end":"2023-12-31","val":30425000000},
+              {"accn":"0009999999-24-000001","cik":9999999,"entityName":"NO REVENUE CORP","loc":"US-DE","start":"2023-01-01","end":"2023-12-31","val":-1000}]}
+            """;
+
+    @Test
+    void testParsesFrameSortedByCik() {
+        var frame = new FramesParser().parse(REVENUES_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("us-gaap", frame.taxonomy());
+        assertEquals("Revenues", frame.concept());
+        assertEquals("USD", frame.unit());
+        assertEquals("CY2023", frame.period());
+        assertEquals(4, frame.size());
+        assertEquals(320193, frame.cik(0));
+        assertEquals(1234567, frame.cik(3));
+        assertEquals("Apple Inc.", frame.entityName(0));
+        assertEquals("0000320193-23-000106", frame.accessionNumber(0));
+        assertEquals(LocalDate.of(2023, 9, 30), frame.periodEndDate(0));
+        assertEquals(211_915_000_000d, frame.valueOf(789019));
+        assertTrue(Double.isNaN(frame.valueOf(1)));
+    }
+
+    @Test
+    void testScreensJoinedFrames() {
+        Map<String, Frame> frames = new LinkedHashMap<>();
+        frames.put("revenues", new FramesParser().parse(REVENUES_JSON.getBytes(StandardCharsets.UTF_8)));
+        frames.put("netIncome", new FramesParser().parse(NET_INCOME_JSON.getBytes(StandardCharsets.UTF_8)));
+        var screener = FrameScreener.join(frames, List.of(
+                new CompanyTickerDto("320193", "Apple Inc.", "AAPL", "Nasdaq"),
+                new CompanyTickerDto("789019", "MICROSOFT CORP", "MSFT", "Nasdaq"),
+                new CompanyTickerDto("1018724", "AMAZON COM INC", "AMZN", "Nasdaq")));
+
+        // outer join over all companies of both frames
+        assertEquals(5, screener.size());
+        int small = screener.indexOf(1234567);
+        assertTrue(Double.isNaN(screener.value("netIncome", small)));
+        assertNull(screener.ticker(small));
+        assertEquals("AAPL", screener.ticker(screener.indexOf(320193)));
+
+        var query = screener.query()
+                .whereGreaterThan("revenues", 1e9)
+                .whereRatioGreaterThan("netIncome", "revenues", 0.2)
+                .sortBy("revenues", true);
+        assertEquals(2, query.count());
+        assertArrayEquals(new int[]{320193, 789019}, query.ciks());
+
+        assertArrayEquals(new int[]{1018724}, screener.query().sortBy("revenues", true).limit(1).ciks());
+        assertArrayEquals(new int[]{320193, 789019, 1018724}, screener.query().whereListed().ciks());
+        assertArrayEquals(new int[]{9999999}, screener.query().where("netIncome", v -> v < 0).ciks());
+        assertEquals(4, screener.query().whereReported("revenues").count());
+        assertThrows(IllegalArgumentException.class, () -> screener.query().whereGreaterThan("assets", 0));
+    }
+
+    @Test
+    void testGetFrame() {
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            assertEquals("/api/xbrl/frames/us-gaap/Revenues/USD/CY2023.json", path);
+            return SecStub.ok(MediaType.APPLICATION_JSON, REVENUES_JSON);
+        }));
+
+        var frame = filingService.getFrame("us-gaap", "Revenues", "USD", "CY2023").block();
+
+        assertEquals(4, frame.size());
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParseSchedulerTest {
+
+    private static final CompanyFilingMetadataDto METADATA = CompanyFilingMetadataDto.builder().form("10-K").build();
+
+    private ParseScheduler parseScheduler = ParseScheduler.bounded(2);
+
+    @AfterEach
+    void tearDown() {
+        parseScheduler.dispose();
+    }
+
+    @Test
+    void testParsesOnParseWorker() {
+        var filing = new CompanyFilingDto(METADATA, new ByteArrayInputStream("<html/>".getBytes(StandardCharsets.UTF_8)));
+
+        String thread = parseScheduler.parse(filing, f -> Thread.currentThread().getName()).block();
+
+        assertTrue(thread.startsWith("edgar4j-parse"), thread);
+    }
+
+    @Test
+    void testLimitsConcurrentParses() {
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+
+        var results = Flux.range(0, 8)
+                .flatMap(i -> parseScheduler.parse(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(20);
+                    running.decrementAndGet();
+                    return i;
+                }))
+                .collectList()
+                .block();
+
+        assertEquals(8, results.size());
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, parseScheduler.activeParses());
+    }
+
+    @Test
+    void testCancelStopsParseInProgress() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var stopped = new CountDownLatch(1);
+        var closed = new AtomicBoolean();
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return ' ';
+            }
+
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        var subscription = parseScheduler.parse(new CompanyFilingDto(METADATA, endless), f -> {
+            started.countDown();
+            try (InputStream in = f.file()) {
+                while (true) {
+                    in.read(new byte[1024]);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                stopped.countDown();
+            }
+        }).subscribe(result -> fail("cancelled parse must not emit"), error -> {
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        subscription.dispose();
+
+        assertTrue(stopped.await(5, TimeUnit.SECONDS));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testPausedStreamsDoNotBlockWaitingParses() throws InterruptedException {
+        parseScheduler.dispose();
+        parseScheduler = ParseScheduler.bounded(1);
+        var done = new CountDownLatch(3);
+        List<BaseSubscriber<Integer>> streams = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            var stream = new BaseSubscriber<Integer>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(1);
+                }
+
+                @Override
+                protected void hookOnComplete() {
+                    done.countDown();
+                }
+            };
+            parseScheduler.stream(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> Flux.range(0, 3))
+                    .subscribe(stream);
+            streams.add(stream);
+        }
+        // the only slot is held by the paused first stream, the second stream and the parse have to wait
+        parseScheduler.parse(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> 42)
+                .subscribe(result -> done.countDown());
+        sleep(100);
+        assertEquals(1, parseScheduler.activeParses());
+        assertEquals(3, done.getCount());
+
+        streams.forEach(stream -> stream.request(Long.MAX_VALUE));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, parseScheduler.activeParses());
+    }
+
+    @Test
+    void testCancelledStreamsReleaseTheirSlots() {
+        List<BaseSubscriber<Integer>> streams = new ArrayList<>();
+        // two streams hold the slots, the third waits for one
+        for (int i = 0; i < 3; i++) {
+            var stream = new BaseSubscriber<Integer>() {
+                @Override
+                protected void hookOnSubscribe(Subscription subscription) {
+                    request(1);
+                }
+            };
+            parseScheduler.stream(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> Flux.range(0, 3))
+                    .subscribe(stream);
+            streams.add(stream);
+        }
+
+        streams.forEach(BaseSubscriber::dispose);
+
+        assertEquals(Integer.valueOf(42), parseScheduler.parse(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> 42)
+                .block(Duration.ofSeconds(5)));
+        assertEquals(0, parseScheduler.activeParses());
+    }
+
+    @Test
+    void testCancelClosesFilingWaitingForSlot() throws InterruptedException {
+        var release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            parseScheduler.parse(new CompanyFilingDto(METADATA, InputStream.nullInputStream()), f -> {
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }).subscribe();
+        }
+        var closed = new AtomicBoolean();
+        InputStream waitingFile = new ByteArrayInputStream(new byte[0]) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        var waiting = parseScheduler.parse(new CompanyFilingDto(METADATA, waitingFile), f -> {
+            throw new AssertionError("cancelled parse must not run");
+        }).subscribe();
+        waiting.dispose();
+        release.countDown();
+
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testVirtualThreads() {
+        parseScheduler.dispose();
+        parseScheduler = ParseScheduler.virtualThreads(4);
+        var filing = new CompanyFilingDto(METADATA, new ByteArrayInputStream(new byte[0]));
+
+        assertEquals(Integer.valueOf(42), parseScheduler.parse(filing, f -> 42).block(Duration.ofSeconds(5)));
+        assertEquals(4, parseScheduler.maxConcurrentParses());
+    }
+
+    @Test
+    void testRejectsInvalidConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> ParseScheduler.bounded(0));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecRateLimiterTest {
+
+    private long now = 0;
+
+    private SecRateLimiter limiter(double maxRate) {
+        return new SecRateLimiter(maxRate, 1, 0.5, () -> now);
+    }
+
+    @Test
+    void testReserveSpacesRequestsAtConfiguredRate() {
+        var limiter = limiter(10);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), limiter.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), limiter.reserve());
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    void testThrottlingHalvesRateAndPauses() {
+        var limiter = limiter(10);
+        limiter.reserve();
+
+        limiter.onThrottled(Duration.ofSeconds(2));
+        assertEquals(5.0, limiter.currentRate());
+        assertTrue(limiter.reserve() >= TimeUnit.SECONDS.toNanos(2));
+
+        // a second throttled response within the same second does not reduce the rate again
+        limiter.onThrottled(null);
+        assertEquals(5.0, limiter.currentRate());
+    }
+
+    @Test
+    void testSuccessfulResponsesSlowlyRestoreRate() {
+        var limiter = limiter(10);
+        limiter.onThrottled(null);
+
+        limiter.onSuccess();
+        assertEquals(5.5, limiter.currentRate());
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(10.0, limiter.currentRate());
+    }
+
+    @Test
+    void testFilterReactsToTooManyRequests() {
+        var limiter = new SecRateLimiter(1000);
+        var calls = new AtomicInteger();
+        var webClient = WebClient.builder()
+                .filter(limiter.filter())
+                .exchangeFunction(request -> {
+                    calls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.TOO_MANY_REQUESTS)
+                            .header("Retry-After", "0")
+                            .build());
+                })
+                .build();
+
+        var status = webClient.get().uri("https://www.sec.gov/")
+                .exchangeToMono(response -> Mono.just(response.statusCode()))
+                .block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, status);
+        assertEquals(1, calls.get());
+        assertEquals(500.0, limiter.currentRate());
+    }
+
+    @Test
+    void testParseRetryAfter() {
+        assertEquals(Duration.ofSeconds(30), SecRateLimiter.parseRetryAfter("30"));
+        assertEquals(Duration.ZERO, SecRateLimiter.parseRetryAfter("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertNull(SecRateLimiter.parseRetryAfter("soon"));
+        assertNull(SecRateLimiter.parseRetryAfter(null));
+    }
+
+    @Test
+    void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> new SecRateLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new SecRateLimiter(5, 10, 1));
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.ckmuun.edgar4j;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Stands in for the SEC endpoints in tests: a WebClient that answers every request without
+ * network access, and the services built on top of it.
+ */
+final class SecStub {
+
+    private SecStub() {
+    }
+
+    /**
+     * A WebClient answering each request with the response for its path.
+     *
+     * @param responses Response for a request path such as {@code /submissions/CIK0000320193.json},
+     *                  or null for a 404
+     */
+    static WebClient webClient(Function<String, ClientResponse> responses) {
+        return exchange(request -> responses.apply(request.url().getPath()));
+    }
+
+    /**
+     * A WebClient answering each request with the response for the whole request, for tests
+     * that look at its headers.
+     *
+     * @param responses Response for a request, or null for a 404
+     */
+    static WebClient exchange(Function<ClientRequest, ClientResponse> responses) {
+        return WebClient.builder()
+                .exchangeFunction(request -> {
+                    ClientResponse response = responses.apply(request);
+                    return Mono.just(response != null ? response : status(HttpStatus.NOT_FOUND));
+                })
+                .build();
+    }
+
+    /**
+     * A FilingService on the given WebClient, with an in-memory ticker registry.
+     */
+    static FilingService filingService(WebClient webClient) {
+        return new FilingService(webClient, tickerRegistry(webClient));
+    }
+
+    /**
+     * A FilingService on the given WebClient, with an in-memory ticker registry and a filing cache.
+     */
+    static FilingService filingService(WebClient webClient, FilingCache filingCache) {
+        return new FilingService(webClient, tickerRegistry(webClient), filingCache);
+    }
+
+    /**
+     * A ticker registry on the given WebClient that keeps the tickers in memory only.
+     */
+    static TickerRegistry tickerRegistry(WebClient webClient) {
+        return new TickerRegistry(webClient, null, TickerRegistry.DEFAULT_TTL);
+    }
+
+    /**
+     * A 200 response with the given body.
+     */
+    static ClientResponse ok(MediaType contentType, String body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+                .body(body)
+                .build();
+    }
+
+    /**
+     * A 200 response streaming the given buffers as its body.
+     */
+    static ClientResponse ok(MediaType contentType, Flux<DataBuffer> body) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, contentType.toString())
+                .body(body)
+                .build();
+    }
+
+    /**
+     * A response with the given status and no body.
+     */
+    static ClientResponse status(HttpStatus status) {
+        return ClientResponse.create(status).build();
+    }
+}
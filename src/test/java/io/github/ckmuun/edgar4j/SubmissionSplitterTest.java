@@ -0,0 +1,131 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionSplitterTest {
+
+    static final String SUBMISSION_TXT = """
+            <SEC-DOCUMENT>0000320193-24-000123.txt : 20241101
+            <SEC-HEADER>0000320193-24-000123.hdr.sgml : 20241101
+            ACCESSION NUMBER:		0000320193-24-000123
+            CONFORMED SUBMISSION TYPE:	10-K
+            </SEC-HEADER>
+            <DOCUMENT>
+            <TYPE>10-K
+            <SEQUENCE>1
+            <FILENAME>aapl-20240928.htm
+            <DESCRIPTION>10-K
+            <TEXT>
+            <html><body>Annual report</body></html>
+            </TEXT>
+            </DOCUMENT>
+            <DOCUMENT>
+            <TYPE>EX-21.1
+            <SEQUENCE>2
+            <FILENAME>a10-kexhibit21109282024.htm
+            <TEXT>
+            <p>Apple Operations International Limited</p>
+            </TEXT>
+            </DOCUMENT>
+            <DOCUMENT>
+            <TYPE>EX-101.SCH
+            <SEQUENCE>3
+            <FILENAME>aapl-20240928.xsd
+            <DESCRIPTION>XBRL TAXONOMY EXTENSION SCHEMA DOCUMENT
+            <TEXT>
+            <XBRL>
+            <xs:schema/>
+            </XBRL>
+            </TEXT>
+            </DOCUMENT>
+            <DOCUMENT>
+            <TYPE>GRAPHIC
+            <SEQUENCE>4
+            <FILENAME>cat.jpg
+            <TEXT>
+            begin 644 cat.jpg
+            #0V%T
+            `
+            end
+            </TEXT>
+            </DOCUMENT>
+            </SEC-DOCUMENT>
+            """;
+
+    @Test
+    void testSplit() throws IOException {
+        var documents = SubmissionSplitter.split(ByteBuffer.wrap(SUBMISSION_TXT.getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(List.of("10-K", "EX-21.1", "EX-101.SCH", "GRAPHIC"),
+                documents.stream().map(SubmissionDocument::type).toList());
+
+        var form = documents.get(0);
+        assertEquals(1, form.sequence());
+        assertEquals("aapl-20240928.htm", form.filename());
+        assertEquals("10-K", form.description());
+        assertFalse(form.uuencoded());
+        assertEquals("<html><body>Annual report</body></html>\n", read(form));
+
+        var exhibit = documents.get(1);
+        assertNull(exhibit.description());
+        assertEquals("<p>Apple Operations International Limited</p>\n", read(exhibit));
+
+        assertEquals("<xs:schema/>\n", read(documents.get(2)));
+    }
+
+    @Test
+    void testUuencodedDocumentIsDecodedLazily() throws IOException {
+        var graphic = SubmissionSplitter.split(ByteBuffer.wrap(SUBMISSION_TXT.getBytes(StandardCharsets.US_ASCII))).get(3);
+
+        assertTrue(graphic.uuencoded());
+        assertTrue(StandardCharsets.US_ASCII.decode(graphic.rawContent()).toString().startsWith("begin 644 cat.jpg"));
+        assertEquals("Cat", read(graphic));
+        // every stream decodes from the start
+        assertEquals("Cat", read(graphic));
+    }
+
+    @Test
+    void testIncompleteDocumentIsSkipped() {
+        String truncated = SUBMISSION_TXT.substring(0, SUBMISSION_TXT.indexOf("<p>Apple"));
+
+        var documents = SubmissionSplitter.split(ByteBuffer.wrap(truncated.getBytes(StandardCharsets.US_ASCII)));
+
+        assertEquals(List.of("10-K"), documents.stream().map(SubmissionDocument::type).toList());
+    }
+
+    @Test
+    void testGetSubmissionDocumentsRequestsCompleteSubmission() throws IOException {
+        List<String> requestedPaths = new ArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            return SecStub.ok(MediaType.TEXT_PLAIN, SUBMISSION_TXT);
+        }));
+        var metadata = CompanyFilingMetadataDto.builder()
+                .cik("0000320193")
+                .accessionNumber("0000320193-24-000123")
+                .primaryDocument("aapl-20240928.htm")
+                .build();
+
+        var documents = filingService.getSubmissionDocuments(metadata).collectList().block();
+
+        assertEquals(List.of("/Archives/edgar/data/320193/000032019324000123/0000320193-24-000123.txt"), requestedPaths);
+        assertEquals(4, documents.size());
+        assertEquals("Cat", read(documents.get(3)));
+    }
+
+    private static String read(SubmissionDocument document) throws IOException {
+        try (InputStream in = document.openStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+    }
+}
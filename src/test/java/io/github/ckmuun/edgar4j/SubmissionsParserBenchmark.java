@@ -0,0 +1,147 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link SubmissionsParser} with the previous String + JsonNode tree implementation.
+ * Uses a real submissions file when {@code -Dedgar.bench.submissions=/path/CIK0000320193.json} is set,
+ * otherwise a generated file with the given number of filings.
+ * <p>
+ * Run with {@code mvn test-compile} and then this class's main method, or
+ * {@code -prof gc} through the JMH command line to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubmissionsParserBenchmark {
+
+    private static final int NETWORK_CHUNK_SIZE = 8 * 1024;
+
+    @Param({"1000"})
+    public int filings;
+
+    private byte[] body;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SubmissionsParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String fixture = System.getProperty("edgar.bench.submissions");
+        body = fixture != null
+                ? Files.readAllBytes(Path.of(fixture))
+                : generateSubmissions(filings).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<CompanyFilingMetadataDto> treeParser() throws IOException {
+        // what getCompanyFilings did before: decode the body into a String, then build a JsonNode tree
+        return parseWithTree(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public List<CompanyFilingMetadataDto> streamingParser() {
+        var parser = SubmissionsParser.forSubmissions();
+        List<CompanyFilingMetadataDto> rows = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += NETWORK_CHUNK_SIZE) {
+            int length = Math.min(NETWORK_CHUNK_SIZE, body.length - offset);
+            rows.addAll(parser.feed(ByteBuffer.wrap(body, offset, length)));
+        }
+        rows.addAll(parser.endOfInput());
+        return rows;
+    }
+
+    private List<CompanyFilingMetadataDto> parseWithTree(String rawResponse) throws IOException {
+        JsonNode root = objectMapper.readTree(rawResponse);
+        JsonNode recent = root.path("filings").path("recent");
+        String cik = root.path("cik").asText();
+        String name = root.path("name").asText();
+
+        List<List<String>> columns = new ArrayList<>();
+        for (var column : SubmissionsParser.Column.values()) {
+            List<String> values = new ArrayList<>();
+            for (JsonNode node : recent.path(column.fieldName())) {
+                values.add(node.asText());
+            }
+            columns.add(values);
+        }
+
+        int length = columns.get(0).size();
+        List<CompanyFilingMetadataDto> filings = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            filings.add(new CompanyFilingMetadataDto(cik, name,
+                    columns.get(0).get(i), columns.get(1).get(i), columns.get(2).get(i), columns.get(3).get(i),
+                    columns.get(4).get(i), columns.get(5).get(i), columns.get(6).get(i), columns.get(7).get(i),
+                    columns.get(8).get(i), columns.get(9).get(i), columns.get(10).get(i),
+                    "1".equals(columns.get(11).get(i)), "1".equals(columns.get(12).get(i)),
+                    columns.get(13).get(i), columns.get(14).get(i)));
+        }
+        return filings;
+    }
+
+    /**
+     * Generates a submissions file shaped like the ones SEC serves for large filers.
+     */
+    static String generateSubmissions(int filings) {
+        String[] forms = {"10-K", "10-Q", "8-K", "4", "SC 13G/A", "424B2"};
+        var json = new StringBuilder(filings * 400);
+        json.append("{\"cik\":\"320193\",\"entityType\":\"operating\",\"sic\":\"3571\",")
+                .append("\"name\":\"Apple Inc.\",\"tickers\":[\"AAPL\"],\"exchanges\":[\"Nasdaq\"],")
+                .append("\"addresses\":{\"mailing\":{\"street1\":\"ONE APPLE PARK WAY\",\"city\":\"CUPERTINO\"}},")
+                .append("\"filings\":{\"recent\":{");
+        for (var column : SubmissionsParser.Column.values()) {
+            if (column.ordinal() > 0) json.append(',');
+            json.append('"').append(column.fieldName()).append("\":[");
+            for (int i = 0; i < filings; i++) {
+                if (i > 0) json.append(',');
+                String date = "20%02d-%02d-%02d".formatted(24 - i / 365 % 24, 12 - i / 31 % 12, 28 - i % 28);
+                switch (column) {
+                    case ACCESSION_NUMBER -> json.append("\"0000320193-24-%06d\"".formatted(filings - i));
+                    case FILING_DATE, REPORT_DATE -> json.append('"').append(date).append('"');
+                    case ACCEPTANCE_DATE_TIME -> json.append('"').append(date).append("T18:04:26.000Z\"");
+                    case ACT -> json.append("\"34\"");
+                    case FORM, PRIMARY_DOC_DESCRIPTION -> json.append('"').append(forms[i % forms.length]).append('"');
+                    case FILE_NUMBER -> json.append("\"001-36743\"");
+                    case FILM_NUMBER -> json.append("\"24%07d\"".formatted(i));
+                    case ITEMS -> json.append(i % 3 == 0 ? "\"2.02,9.01\"" : "\"\"");
+                    case CORE_TYPE -> json.append('"').append(forms[i % forms.length]).append('"');
+                    case SIZE -> json.append(10_000 + i * 17);
+                    case IS_XBRL, IS_INLINE_XBRL -> json.append(i % 2);
+                    case PRIMARY_DOCUMENT -> json.append("\"aapl-2024%04d.htm\"".formatted(i));
+                }
+            }
+            json.append(']');
+        }
+        json.append("},\"files\":[]}}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,256 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SubmissionsParserTest {
+
+    static final String SUBMISSIONS_JSON = """
+            {"cik":"320193","name":"Apple Inc.","tickers":["AAPL"],
+             "addresses":{"business":{"city":"CUPERTINO"}},
+             "filings":{"recent":{
+               "accessionNumber":["0000320193-24-000123","0000320193-24-000081"],
+               "filingDate":["2024-11-01","2024-08-02"],
+               "reportDate":["2024-09-28","2024-06-29"],
+               "acceptanceDateTime":["2024-11-01T18:04:26.000Z","2024-08-02T18:03:10.000Z"],
+               "act":["34","34"],
+               "form":["10-K","10-Q"],
+               "fileNumber":["001-36743","001-36743"],
+               "filmNumber":["241416806","241168431"],
+               "items":["",""],
+               "core_type":["10-K","10-Q"],
+               "size":[9832015,5823118],
+               "isXBRL":[1,1],
+               "isInlineXBRL":[1,0],
+               "primaryDocument":["aapl-20240928.htm","aapl-20240629.htm"],
+               "primaryDocDescription":["10-K","10-Q"]},
+              "files":[]}}
+            """;
+
+    @Test
+    void testParseCompleteBody() {
+        var filings = SubmissionsParser.forSubmissions().parse(SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, filings.size());
+        var first = filings.getFirst();
+        assertEquals("320193", first.cik());
+        assertEquals("Apple Inc.", first.name());
+        assertEquals("0000320193-24-000123", first.accessionNumber());
+        assertEquals("2024-11-01", first.filingDate());
+        assertEquals("10-K", first.form());
+        assertEquals("9832015", first.size());
+        assertTrue(first.isXbrl());
+        assertTrue(first.isInlineXbrl());
+        assertEquals("aapl-20240928.htm", first.primaryDocument());
+        assertFalse(filings.get(1).isInlineXbrl());
+    }
+
+    @Test
+    void testChunkBoundariesDoNotChangeResult() {
+        byte[] body = SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8);
+        var expected = SubmissionsParser.forSubmissions().parse(body);
+
+        var parser = SubmissionsParser.forSubmissions();
+        List<CompanyFilingMetadataDto> filings = new ArrayList<>();
+        for (int i = 0; i < body.length; i++) {
+            filings.addAll(parser.feed(ByteBuffer.wrap(body, i, 1)));
+        }
+        filings.addAll(parser.endOfInput());
+
+        assertEquals(expected, filings);
+    }
+
+    @Test
+    void testParseDataBufferFlux() {
+        var bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        byte[] body = SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8);
+        int half = body.length / 2;
+        Flux<DataBuffer> buffers = Flux.just(
+                bufferFactory.wrap(ByteBuffer.wrap(body, 0, half).slice()),
+                bufferFactory.wrap(ByteBuffer.wrap(body, half, body.length - half).slice()));
+
+        var filings = SubmissionsParser.forSubmissions().parse(buffers).collectList().block();
+
+        assertEquals(SubmissionsParser.forSubmissions().parse(body), filings);
+    }
+
+    @Test
+    void testGetCompanyFilingsFetchesOlderPagesOnDemand() {
+        String main = SUBMISSIONS_JSON.replace("\"files\":[]", """
+                "files":[{"name":"CIK0000320193-submissions-002.json","filingCount":1,"filingFrom":"1994-01-26","filingTo":"2001-12-21"},
+                         {"name":"CIK0000320193-submissions-001.json","filingCount":1,"filingFrom":"2002-01-02","filingTo":"2015-06-01"}]""");
+        String page001 = """
+                {"accessionNumber":["0000320193-15-000001"],"filingDate":["2015-06-01"],"form":["8-K"]}""";
+        String page002 = """
+                {"accessionNumber":["0000320193-01-000001"],"filingDate":["2001-12-21"],"form":["10-K405"]}""";
+        List<String> requestedPaths = new ArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            String body = path.endsWith("-001.json") ? page001 : path.endsWith("-002.json") ? page002 : main;
+            return SecStub.ok(MediaType.APPLICATION_JSON, body);
+        }));
+
+        var recent = filingService.getCompanyFilings("320193").take(2).collectList().block();
+        assertEquals(2, recent.size());
+        assertEquals(1, requestedPaths.size());
+
+        // one row beyond the recent filings fetches exactly one older page
+        List<CompanyFilingMetadataDto> received = new ArrayList<>();
+        var subscriber = new BaseSubscriber<CompanyFilingMetadataDto>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(3);
+            }
+
+            @Override
+            protected void hookOnNext(CompanyFilingMetadataDto filing) {
+                received.add(filing);
+            }
+        };
+        requestedPaths.clear();
+        filingService.getCompanyFilings("320193").subscribe(subscriber);
+        assertEquals(3, received.size());
+        assertEquals(2, requestedPaths.size());
+        subscriber.request(1);
+        assertEquals(4, received.size());
+        assertEquals(3, requestedPaths.size());
+        subscriber.dispose();
+
+        requestedPaths.clear();
+        assertEquals(2, filingService.getRecentCompanyFilings("320193").collectList().block().size());
+        assertEquals(1, requestedPaths.size());
+
+        var all = filingService.getCompanyFilings("320193").collectList().block();
+        assertEquals(List.of("0000320193-24-000123", "0000320193-24-000081", "0000320193-15-000001", "0000320193-01-000001"),
+                all.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals("Apple Inc.", all.getLast().name());
+        assertEquals("320193", all.getLast().cik());
+    }
+
+    @Test
+    void testQueryFiltersWhileParsing() {
+        byte[] body = SUBMISSIONS_JSON.getBytes(StandardCharsets.UTF_8);
+
+        var tenQ = SubmissionsParser.forSubmissions().withQuery(FilingQuery.forms("10-Q"));
+        assertEquals(List.of("0000320193-24-000081"),
+                tenQ.parse(body).stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertFalse(tenQ.exhausted());
+
+        var latest = SubmissionsParser.forSubmissions().withQuery(FilingQuery.builder().limit(1).build());
+        assertEquals(List.of("0000320193-24-000123"),
+                latest.parse(body).stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertTrue(latest.exhausted());
+
+        var autumn = SubmissionsParser.forSubmissions().withQuery(FilingQuery.builder()
+                .filingDates(new DateRange(LocalDate.of(2024, 9, 1), null))
+                .build());
+        assertEquals(List.of("10-K"), autumn.parse(body).stream().map(CompanyFilingMetadataDto::form).toList());
+        assertTrue(autumn.exhausted());
+
+        var summer = FilingQuery.builder().filingDates(new DateRange(null, LocalDate.of(2024, 9, 1))).build();
+        assertEquals(List.of("10-Q"), SubmissionsParser.forSubmissions().withQuery(summer)
+                .parse(body).stream().map(CompanyFilingMetadataDto::form).toList());
+
+        var inlineXbrl = SUBMISSIONS_JSON.replace("\"isXBRL\":[1,1]", "\"isXBRL\":[0,1]");
+        assertEquals(List.of("10-Q"), SubmissionsParser.forSubmissions()
+                .withQuery(FilingQuery.builder().xbrlOnly(true).build())
+                .parse(inlineXbrl.getBytes(StandardCharsets.UTF_8)).stream().map(CompanyFilingMetadataDto::form).toList());
+    }
+
+    @Test
+    void testQuerySkipsValuesOfRejectedRows() {
+        String threeFilings = SUBMISSIONS_JSON
+                .replace("\"form\":[\"10-K\",\"10-Q\"]", "\"form\":[\"10-K\",\"10-Q\",\"10-Q\"]")
+                .replace("\"isXBRL\":[1,1]", "\"isXBRL\":[1,0,1]")
+                .replace("\"primaryDocument\":[\"aapl-20240928.htm\",\"aapl-20240629.htm\"]",
+                        "\"primaryDocument\":[\"aapl-20240928.htm\",\"aapl-20240629.htm\",\"aapl-20240330.htm\"]")
+                .replace("\"accessionNumber\":[\"0000320193-24-000123\",\"0000320193-24-000081\"]",
+                        "\"accessionNumber\":[\"0000320193-24-000123\",\"0000320193-24-000081\",\"0000320193-24-000069\"]")
+                .replace("\"filingDate\":[\"2024-11-01\",\"2024-08-02\"]", "\"filingDate\":[\"2024-11-01\",\"2024-08-02\",\"2024-05-03\"]");
+        byte[] body = threeFilings.getBytes(StandardCharsets.UTF_8);
+
+        // the first 10-Q is rejected by isXBRL, so the limit is reached with the third row
+        var parser = SubmissionsParser.forSubmissions().withQuery(FilingQuery.builder()
+                .forms(Set.of("10-Q")).xbrlOnly(true).limit(1).build());
+        var rows = parser.parse(body);
+        assertEquals(List.of("0000320193-24-000069"), rows.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals("aapl-20240330.htm", rows.getFirst().primaryDocument());
+
+        // rows older than the date range are cut off before their remaining columns are read
+        var sinceAugust = SubmissionsParser.forSubmissions().withQuery(FilingQuery.builder()
+                .filingDates(DateRange.since(LocalDate.of(2024, 8, 1))).build());
+        assertEquals(List.of("aapl-20240928.htm", "aapl-20240629.htm"),
+                sinceAugust.parse(body).stream().map(CompanyFilingMetadataDto::primaryDocument).toList());
+        assertTrue(sinceAugust.exhausted());
+
+        // a predicate column after the data columns still filters the rows
+        String formLast = "{\"accessionNumber\":[\"a\",\"b\"],\"primaryDocument\":[\"a.htm\",\"b.htm\"],\"form\":[\"8-K\",\"10-K\"]}";
+        assertEquals(List.of("b.htm"), SubmissionsParser.forPage("320193", "Apple Inc.").withQuery(FilingQuery.forms("10-K"))
+                .parse(formLast.getBytes(StandardCharsets.UTF_8)).stream().map(CompanyFilingMetadataDto::primaryDocument).toList());
+    }
+
+    @Test
+    void testGetCompanyFilingsWithQuerySkipsPages() {
+        String main = SUBMISSIONS_JSON.replace("\"files\":[]", """
+                "files":[{"name":"CIK0000320193-submissions-002.json","filingCount":1,"filingFrom":"1994-01-26","filingTo":"2001-12-21"},
+                         {"name":"CIK0000320193-submissions-001.json","filingCount":1,"filingFrom":"2002-01-02","filingTo":"2015-06-01"}]""");
+        String page001 = """
+                {"accessionNumber":["0000320193-15-000001"],"filingDate":["2015-06-01"],"form":["8-K"]}""";
+        String page002 = """
+                {"accessionNumber":["0000320193-01-000001"],"filingDate":["2001-12-21"],"form":["10-K405"]}""";
+        List<String> requestedPaths = new ArrayList<>();
+        var filingService = SecStub.filingService(SecStub.webClient(path -> {
+            requestedPaths.add(path);
+            String body = path.endsWith("-001.json") ? page001 : path.endsWith("-002.json") ? page002 : main;
+            return SecStub.ok(MediaType.APPLICATION_JSON, body);
+        }));
+
+        var latest10K = filingService.getCompanyFilings("320193", FilingQuery.latest("10-K")).collectList().block();
+        assertEquals(List.of("0000320193-24-000123"), latest10K.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals(1, requestedPaths.size());
+
+        requestedPaths.clear();
+        var since2010 = FilingQuery.builder().filingDates(new DateRange(LocalDate.of(2010, 1, 1), null)).build();
+        assertEquals(3, filingService.getCompanyFilings("320193", since2010).collectList().block().size());
+        assertEquals(2, requestedPaths.size());
+        assertTrue(requestedPaths.getLast().endsWith("-001.json"));
+
+        requestedPaths.clear();
+        var eightKs = filingService.getCompanyFilings("320193", FilingQuery.forms("8-K", "10-K405")).collectList().block();
+        assertEquals(List.of("8-K", "10-K405"), eightKs.stream().map(CompanyFilingMetadataDto::form).toList());
+        assertEquals(3, requestedPaths.size());
+    }
+
+    @Test
+    void testMalformedBody() {
+        var parser = SubmissionsParser.forSubmissions();
+        assertThrows(RuntimeException.class, () -> parser.parse("{\"filings\":{".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testGetCompanyFilingsStreamsResponse() {
+        var filingService = SecStub.filingService(SecStub.webClient(path ->
+                SecStub.ok(MediaType.APPLICATION_JSON, SUBMISSIONS_JSON)));
+
+        var forms = filingService.getCompanyFilings("320193")
+                .map(CompanyFilingMetadataDto::form)
+                .collectList()
+                .block();
+
+        assertEquals(List.of("10-K", "10-Q"), forms);
+    }
+}
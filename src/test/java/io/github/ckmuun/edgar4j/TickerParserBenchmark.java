@@ -0,0 +1,108 @@
+package io.github.ckmuun.edgar4j;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming {@link TickerParser} with the previous String + regex + JsonNode tree implementation.
+ * Uses a real tickers file when {@code -Dedgar.bench.tickers=/path/company_tickers_exchange.json} is set,
+ * otherwise a generated file with the given number of tickers.
+ * <p>
+ * Run with {@code mvn test-compile} and then this class's main method, or
+ * {@code -prof gc} through the JMH command line to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickerParserBenchmark {
+
+    private static final int NETWORK_CHUNK_SIZE = 8 * 1024;
+
+    @Param({"10000"})
+    public int tickers;
+
+    private byte[] body;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TickerParserBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        String fixture = System.getProperty("edgar.bench.tickers");
+        body = fixture != null
+                ? Files.readAllBytes(Path.of(fixture))
+                : generateTickers(tickers).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<CompanyTickerDto> treeParser() throws IOException {
+        // what TickerRegistry did before: decode the body into a String, collapse whitespace, build a JsonNode tree
+        String rawResponse = new String(body, StandardCharsets.UTF_8).trim().replaceAll("\\s+", " ");
+        JsonNode root = objectMapper.readTree(rawResponse);
+        List<CompanyTickerDto> result = new ArrayList<>();
+        for (JsonNode node : root.path("data")) {
+            var iter = ((ArrayNode) node).elements();
+            result.add(new CompanyTickerDto(iter.next().asText(), iter.next().asText(), iter.next().asText(), iter.next().asText()));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<CompanyTickerDto> streamingParser() {
+        var parser = new TickerParser(true);
+        List<CompanyTickerDto> rows = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += NETWORK_CHUNK_SIZE) {
+            int length = Math.min(NETWORK_CHUNK_SIZE, body.length - offset);
+            rows.addAll(parser.feed(ByteBuffer.wrap(body, offset, length)));
+        }
+        rows.addAll(parser.endOfInput());
+        return rows;
+    }
+
+    /**
+     * Generates a tickers file shaped like the one SEC serves.
+     */
+    static String generateTickers(int tickers) {
+        String[] exchanges = {"Nasdaq", "NYSE", "OTC", "CBOE"};
+        var json = new StringBuilder(tickers * 60);
+        json.append("{\"fields\":[\"cik\",\"name\",\"ticker\",\"exchange\"],\"data\":[");
+        for (int i = 0; i < tickers; i++) {
+            if (i > 0) json.append(',');
+            json.append('[').append(1_000_000 + i * 7)
+                    .append(",\"COMPANY NUMBER ").append(i).append(" INC\"")
+                    .append(",\"T").append(Integer.toString(i, 36).toUpperCase()).append('"')
+                    .append(",\"").append(exchanges[i % exchanges.length]).append("\"]");
+        }
+        json.append("]}");
+        return json.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerParserTest {
+
+    private static final String TICKERS_JSON = """
+            {"fields":["cik","name","ticker","exchange"],
+             "data":[[320193,"Apple Inc.","AAPL","Nasdaq"],
+                     [1067983,"BERKSHIRE HATHAWAY INC","BRK-B","NYSE"],
+                     [1067983,"BERKSHIRE HATHAWAY INC","BRK-A","NYSE"],
+                     [1750,"AAR CORP","AIR",null]]}
+            """;
+
+    @Test
+    void testParse() {
+        var tickers = new TickerParser(false).parse(TICKERS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(4, tickers.size());
+        assertEquals(new CompanyTickerDto("320193", "Apple Inc.", "AAPL", "Nasdaq"), tickers.get(0));
+        assertEquals("BRK-A", tickers.get(2).ticker());
+        assertNull(tickers.get(3).exchange());
+    }
+
+    @Test
+    void testColumnsAreMappedByFieldName() {
+        String reordered = """
+                {"fields":["ticker","exchange","sic","cik","name"],
+                 "data":[["AAPL","Nasdaq",3571,320193,"Apple Inc."]]}""";
+
+        var tickers = new TickerParser(false).parse(reordered.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of(new CompanyTickerDto("320193", "Apple Inc.", "AAPL", "Nasdaq")), tickers);
+    }
+
+    @Test
+    void testCanonicalExchangesAreShared() {
+        var tickers = new TickerParser(true).parse(TICKERS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("NYSE", tickers.get(1).exchange());
+        assertSame(tickers.get(1).exchange(), tickers.get(2).exchange());
+    }
+
+    @Test
+    void testParseSplitBuffers() {
+        var bufferFactory = DefaultDataBufferFactory.sharedInstance;
+        byte[] body = TICKERS_JSON.getBytes(StandardCharsets.UTF_8);
+        Flux<DataBuffer> buffers = Flux.range(0, body.length / 7 + 1)
+                .map(i -> bufferFactory.wrap(ByteBuffer.wrap(body, i * 7, Math.min(7, body.length - i * 7)).slice()));
+
+        var tickers = new TickerParser(true).parse(buffers).collectList().block();
+
+        assertEquals(new TickerParser(false).parse(body), tickers);
+    }
+
+    @Test
+    void testMalformedBody() {
+        var parser = new TickerParser(true);
+        assertThrows(RuntimeException.class, () -> parser.parse("{\"data\":[[1,".getBytes(StandardCharsets.UTF_8)));
+    }
+}
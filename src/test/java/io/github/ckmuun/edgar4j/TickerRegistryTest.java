@@ -0,0 +1,118 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TickerRegistryTest {
+
+    private static final String TICKERS_JSON = """
+            {"fields":["cik","name","ticker","exchange"],
+             "data":[[320193,"Apple Inc.","AAPL","Nasdaq"],
+                     [1067983,"BERKSHIRE HATHAWAY INC","BRK-B","NYSE"],
+                     [1067983,"BERKSHIRE HATHAWAY INC","BRK-A","NYSE"]]}
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private WebClient webClient(HttpStatus status) {
+        return SecStub.exchange(request -> {
+            requests.add(request);
+            return ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, "\"v1\"")
+                    .body(status == HttpStatus.OK ? TICKERS_JSON : "")
+                    .build();
+        });
+    }
+
+    @Test
+    void testRepeatedLookupsWithinTtlUseMemory() {
+        var registry = new TickerRegistry(webClient(HttpStatus.OK), null, Duration.ofHours(1));
+
+        assertEquals("320193", registry.findByTicker("aapl").block().cik());
+        assertEquals("BRK-B", registry.findByCik("0001067983").block().ticker());
+        assertNull(registry.findByTicker("UNKNOWN").block());
+        assertEquals(3, registry.getTickers().block().size());
+
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testCacheFileSurvivesRestart() {
+        Path cacheFile = tempDir.resolve("tickers.json");
+        new TickerRegistry(webClient(HttpStatus.OK), cacheFile, Duration.ofHours(1)).getTickers().block();
+        assertTrue(Files.exists(cacheFile));
+        assertEquals(1, requests.size());
+
+        var restarted = new TickerRegistry(webClient(HttpStatus.OK), cacheFile, Duration.ofHours(1));
+        assertEquals("Apple Inc.", restarted.findByTicker("AAPL").block().name());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testExpiredCacheIsRevalidatedWithEtag() {
+        Path cacheFile = tempDir.resolve("tickers.json");
+        new TickerRegistry(webClient(HttpStatus.OK), cacheFile, Duration.ZERO).getTickers().block();
+
+        var revalidating = new TickerRegistry(webClient(HttpStatus.NOT_MODIFIED), cacheFile, Duration.ZERO);
+        assertEquals(3, revalidating.getTickers().block().size());
+
+        assertEquals(2, requests.size());
+        assertEquals("\"v1\"", requests.get(1).headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void testFailedRevalidationBacksOff() {
+        Path cacheFile = tempDir.resolve("tickers.json");
+        new TickerRegistry(webClient(HttpStatus.OK), cacheFile, Duration.ofHours(1)).getTickers().block();
+
+        var now = new AtomicReference<>(Instant.now().plus(Duration.ofHours(2)));
+        var clock = new Clock() {
+            @Override
+            public ZoneId getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now.get();
+            }
+        };
+        var throttled = new TickerRegistry(webClient(HttpStatus.FORBIDDEN), cacheFile, Duration.ofHours(1), clock);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("Apple Inc.", throttled.findByTicker("AAPL").block().name());
+        }
+        assertEquals(2, requests.size());
+
+        now.set(now.get().plus(TickerRegistry.REVALIDATION_BACKOFF));
+        assertEquals("Apple Inc.", throttled.findByTicker("AAPL").block().name());
+        assertEquals(3, requests.size());
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.github.ckmuun.edgar4j.SubmissionsParserTest.SUBMISSIONS_JSON;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatchlistPollerTest {
+
+    // Apple's submissions after an 8-K and a Form 4 were accepted
+    static final String UPDATED_JSON = SUBMISSIONS_JSON
+            .replace("\"0000320193-24-000123\",", "\"0000320193-25-000001\",\"0000320193-25-000002\",\"0000320193-24-000123\",")
+            .replace("\"filingDate\":[", "\"filingDate\":[\"2025-01-31\",\"2025-01-30\",")
+            .replace("\"acceptanceDateTime\":[", "\"acceptanceDateTime\":[\"2025-01-31T16:30:45.000Z\",\"2025-01-30T21:05:12.000Z\",")
+            .replace("\"form\":[", "\"form\":[\"4\",\"8-K\",");
+
+    private final AtomicReference<String> body = new AtomicReference<>(SUBMISSIONS_JSON);
+    private final List<String> conditionalRequests = new ArrayList<>();
+
+    private final WebClient webClient = SecStub.exchange(request -> {
+        String etag = "\"" + body.get().hashCode() + "\"";
+        String ifNoneMatch = request.headers().getFirst(HttpHeaders.IF_NONE_MATCH);
+        conditionalRequests.add(ifNoneMatch);
+        if (etag.equals(ifNoneMatch)) {
+            return SecStub.status(HttpStatus.NOT_MODIFIED);
+        }
+        return SecStub.ok(MediaType.APPLICATION_JSON, body.get()).mutate()
+                .header(HttpHeaders.ETAG, etag)
+                .build();
+    });
+
+    @Test
+    void testEmitsOnlyNewFilings() {
+        var poller = new WatchlistPoller(webClient, List.of("0000320193"), Set.of("8-K", "10-Q"));
+
+        // the first poll records the latest filing
+        assertTrue(poller.pollOnce().collectList().block().isEmpty());
+        // unchanged submissions are answered with 304
+        assertTrue(poller.pollOnce().collectList().block().isEmpty());
+        assertNull(conditionalRequests.get(0));
+        assertNotNull(conditionalRequests.get(1));
+
+        body.set(UPDATED_JSON);
+        var fresh = poller.pollOnce().collectList().block();
+
+        assertEquals(List.of("0000320193-25-000002"), fresh.stream().map(CompanyFilingMetadataDto::accessionNumber).toList());
+        assertEquals("8-K", fresh.getFirst().form());
+        assertTrue(poller.pollOnce().collectList().block().isEmpty());
+        assertEquals(Set.of("320193"), poller.watchlist());
+    }
+
+    @Test
+    void testPollRespectsInterval() {
+        var poller = new WatchlistPoller(webClient, List.of("320193", "789019"), Set.of(),
+                Duration.ofHours(1), 10.0);
+
+        var fresh = poller.poll().take(Duration.ofMillis(600)).collectList().block();
+
+        assertTrue(fresh.isEmpty());
+        // both CIKs are polled once, further ticks wait for the interval
+        assertEquals(2, conditionalRequests.size());
+
+        poller.unwatch("789019");
+        assertEquals(Set.of("320193"), poller.watchlist());
+    }
+}
@@ -0,0 +1,107 @@
+package io.github.ckmuun.edgar4j;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class XbrlFactTableTest {
+
+    static final String FILING = """
+            <html><body>
+            <div style="display:none"><ix:header>
+              <ix:hidden><ix:nonNumeric name="dei:DocumentType" contextRef="c-1">10-K</ix:nonNumeric></ix:hidden>
+              <ix:resources>
+                <xbrli:context id="c-1"><xbrli:entity><xbrli:identifier scheme="http://www.sec.gov/CIK">0000320193</xbrli:identifier></xbrli:entity>
+                  <xbrli:period><xbrli:startDate>2023-10-01</xbrli:startDate><xbrli:endDate>2024-09-28</xbrli:endDate></xbrli:period></xbrli:context>
+                <xbrli:context id="c-2"><xbrli:entity><xbrli:identifier scheme="http://www.sec.gov/CIK">0000320193</xbrli:identifier></xbrli:entity>
+                  <xbrli:period><xbrli:instant>2024-09-28</xbrli:instant></xbrli:period></xbrli:context>
+                <xbrli:context id="c-3"><xbrli:entity><xbrli:identifier scheme="http://www.sec.gov/CIK">0000320193</xbrli:identifier>
+                  <xbrli:segment><xbrldi:explicitMember dimension="srt:ProductOrServiceAxis">us-gaap:ProductMember</xbrldi:explicitMember></xbrli:segment></xbrli:entity>
+                  <xbrli:period><xbrli:startDate>2023-10-01</xbrli:startDate><xbrli:endDate>2024-09-28</xbrli:endDate></xbrli:period></xbrli:context>
+                <xbrli:unit id="usd"><xbrli:measure>iso4217:USD</xbrli:measure></xbrli:unit>
+                <xbrli:unit id="usdPerShare"><xbrli:divide><xbrli:unitNumerator><xbrli:measure>iso4217:USD</xbrli:measure></xbrli:unitNumerator>
+                  <xbrli:unitDenominator><xbrli:measure>xbrli:shares</xbrli:measure></xbrli:unitDenominator></xbrli:divide></xbrli:unit>
+              </ix:resources>
+            </ix:header></div>
+            <div><span>Item 8. Financial Statements and Supplementary Data</span></div>
+            <table>
+              <tr><td>Net sales</td><td><ix:nonFraction unitRef="usd" contextRef="c-1" decimals="-6" name="us-gaap:Revenues" format="ixt:num-dot-decimal" scale="6">391,035</ix:nonFraction></td></tr>
+              <tr><td>Products</td><td><ix:nonFraction unitRef="usd" contextRef="c-3" decimals="-6" name="us-gaap:Revenues" scale="6">294,866</ix:nonFraction></td></tr>
+              <tr><td>Other income</td><td>(<ix:nonFraction unitRef="usd" contextRef="c-1" decimals="-6" name="us-gaap:NonoperatingIncomeExpense" scale="6" sign="-">269</ix:nonFraction>)</td></tr>
+              <tr><td>Diluted EPS</td><td><ix:nonFraction unitRef="usdPerShare" contextRef="c-1" decimals="2" name="us-gaap:EarningsPerShareDiluted">6.08</ix:nonFraction></td></tr>
+              <tr><td>Goodwill</td><td><ix:nonFraction unitRef="usd" contextRef="c-2" decimals="-6" name="us-gaap:Goodwill" format="ixt:fixed-zero" scale="6">&#8212;</ix:nonFraction></td></tr>
+            </table>
+            </body></html>
+            """;
+
+    @Test
+    void testExtractsFactsWhileParsing() {
+        var metadata = CompanyFilingMetadataDto.builder().form("10-K").accessionNumber("0000320193-24-000123").build();
+        var document = new ParsingService().parseEdgarForm(
+                new CompanyFilingDto(metadata, new ByteArrayInputStream(FILING.getBytes(StandardCharsets.UTF_8))));
+        var facts = document.facts();
+
+        assertEquals(5, facts.size());
+        int revenues = facts.rows("us-gaap:Revenues").filter(row -> !facts.isDimensional(row)).findFirst().orElseThrow();
+        assertEquals(391_035_000_000d, facts.value(revenues));
+        assertEquals(-6, facts.decimals(revenues));
+        assertEquals("iso4217:USD", facts.unit(revenues));
+        assertEquals("0000320193-24-000123", facts.filing(revenues));
+        assertEquals(LocalDate.of(2023, 10, 1), facts.periodStartDate(revenues));
+        assertEquals(LocalDate.of(2024, 9, 28), facts.periodEndDate(revenues));
+        assertEquals(2, facts.rows("us-gaap:Revenues").count());
+
+        int other = facts.rows("us-gaap:NonoperatingIncomeExpense").findFirst().orElseThrow();
+        assertEquals(-269_000_000d, facts.value(other));
+
+        int eps = facts.rows("us-gaap:EarningsPerShareDiluted").findFirst().orElseThrow();
+        assertEquals(6.08, facts.value(eps));
+        assertEquals("iso4217:USD/xbrli:shares", facts.unit(eps));
+
+        int goodwill = facts.rows("us-gaap:Goodwill").findFirst().orElseThrow();
+        assertTrue(facts.isInstant(goodwill));
+        assertEquals(0d, facts.value(goodwill));
+        assertEquals(LocalDate.of(2024, 9, 28), facts.periodEndDate(goodwill));
+
+        // extracting the facts does not change the text chunks
+        assertEquals("Item 8. Financial Statements and Supplementary Data",
+                document.chunks().getFirst().getMetadata().get("itemTitle"));
+    }
+
+    @Test
+    void testAddAllRemapsDictionaries() {
+        var first = new XbrlFactTable();
+        first.add(first.filings().intern("a"), first.concepts().intern("us-gaap:Assets"), first.contexts().intern("c-1"),
+                first.units().intern("iso4217:USD"), 1, 0);
+        var second = new XbrlFactTable();
+        second.add(second.filings().intern("b"), second.concepts().intern("us-gaap:Revenues"), second.contexts().intern("c-1"),
+                StringDictionary.NOT_FOUND, 2, XbrlFactTable.DECIMALS_INF);
+        second.add(second.filings().intern("b"), second.concepts().intern("us-gaap:Assets"), second.contexts().intern("c-2"),
+                StringDictionary.NOT_FOUND, 3, XbrlFactTable.DECIMALS_INF);
+
+        var all = new XbrlFactTable();
+        all.addAll(first);
+        all.addAll(second);
+
+        assertEquals(3, all.size());
+        assertEquals(2, all.rows("us-gaap:Assets").count());
+        assertEquals(all.conceptId(0), all.conceptId(2));
+        assertEquals(all.contextId(0), all.contextId(1));
+        assertNotEquals(all.filingId(0), all.filingId(1));
+        assertNull(all.unit(1));
+        assertEquals(3d, all.value(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> all.value(3));
+    }
+
+    @Test
+    void testParseValue() {
+        assertEquals(1234.5, XbrlFactExtractor.parseValue("1.234,5", "ixt:num-comma-decimal", 0));
+        assertEquals(1_200_000d, XbrlFactExtractor.parseValue("$ 1.2", "ixt:num-dot-decimal", 6));
+        assertEquals(0d, XbrlFactExtractor.parseValue("-", "ixt:fixed-zero", 0));
+        assertTrue(Double.isNaN(XbrlFactExtractor.parseValue("five", "ixt-sec:numwordsen", 0)));
+    }
+}